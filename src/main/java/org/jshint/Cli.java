@@ -10,6 +10,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -17,7 +21,6 @@ import com.github.jshaptic.js4j.ContainerFactory;
 import com.github.jshaptic.js4j.JsonParser;
 import com.github.jshaptic.js4j.UniversalContainer;
 import com.github.jshaptic.js4j.ValueCustomizer;
-import com.github.jshaptic.minimatch.Minimatch;
 import com.google.common.base.Splitter;
 
 import org.apache.commons.cli.CommandLine;
@@ -30,8 +33,10 @@ import org.jshint.reporters.CheckstyleReporter;
 import org.jshint.reporters.DefaultReporter;
 import org.jshint.reporters.JSHintReporter;
 import org.jshint.reporters.JslintXmlReporter;
+import org.jshint.reporters.NdjsonReporter;
 import org.jshint.reporters.NonErrorReporter;
 import org.jshint.reporters.ReporterResult;
+import org.jshint.reporters.StreamingReporter;
 import org.jshint.reporters.UnixReporter;
 import org.jshint.utils.IOUtils;
 import org.jshint.utils.Lodash;
@@ -53,7 +58,7 @@ public class Cli {
 		OPTIONS.addOption(Option.builder()
 				.longOpt("reporter")
 				.hasArg()
-				.desc("Custom reporter (<PATH>|jslint|checkstyle|unix)")
+				.desc("Custom reporter (<PATH>|jslint|checkstyle|unix|ndjson)")
 				.argName("name")
 				.build());
 
@@ -109,6 +114,25 @@ public class Cli {
 				.argName("when")
 				.build());
 
+		OPTIONS.addOption(Option.builder()
+				.longOpt("cache")
+				.desc("Only lint files, which were changed since the last run")
+				.build());
+
+		OPTIONS.addOption(Option.builder()
+				.longOpt("cache-location")
+				.hasArg()
+				.desc("Path to the cache directory (default is " + LintCache.DEFAULT_LOCATION + ")")
+				.argName("path")
+				.build());
+
+		OPTIONS.addOption(Option.builder("j")
+				.longOpt("jobs")
+				.hasArg()
+				.desc("Number of files linted in parallel (default is number of processors)")
+				.argName("number")
+				.build());
+
 		OPTIONS.addOption(Option.builder("v")
 				.longOpt("version")
 				.desc("Display the current version")
@@ -158,6 +182,17 @@ public class Cli {
 	// lookups when liniting an entire project
 	private Map<String, String> findFileResults = new HashMap<String, String>();
 
+	// Resolved configs by directory of the linted file, so that files from
+	// the same directory don't read and merge the same config files again
+	private Map<String, ResolvedConfig> configCache = new HashMap<String, ResolvedConfig>();
+	// Files read while config is being resolved, null when nothing is resolved
+	private List<String> configReads = null;
+	// Cached configs are checked for changes once per run
+	private int runCount = 0;
+
+	// Version of the linter, which is part of every cache key
+	private String version = null;
+
 	public Cli() {
 		setShellUtils(IOUtils.getShellUtils());
 		setPathUtils(IOUtils.getPathUtils());
@@ -222,6 +257,10 @@ public class Cli {
 			return ContainerFactory.nullContainer();
 		}
 
+		if (configReads != null) {
+			configReads.add(fp);
+		}
+
 		try {
 			return JsonParser.parse(shell.cat(fp)).get("jshintConfig");
 		} catch (Exception e) {
@@ -239,6 +278,10 @@ public class Cli {
 				return new NonErrorReporter();
 			case UNIX:
 				return new UnixReporter();
+			case NDJSON:
+				return new NdjsonReporter();
+			case NDJSON_NON_ERROR:
+				return new NdjsonReporter(true);
 			default:
 				return null;
 		}
@@ -322,33 +365,6 @@ public class Cli {
 		}).collect(Collectors.toList());
 	}
 
-	/**
-	 * Checks whether we should ignore a file or not.
-	 *
-	 * @param fp       a path to a file
-	 * @param patterns a list of patterns for files to ignore
-	 *
-	 * @return 'true' if file should be ignored, 'false' otherwise.
-	 */
-	private boolean isIgnored(String fp, List<String> patterns) {
-		return patterns.stream().anyMatch(ip -> {
-			if (Minimatch.minimatch(path.resolve(fp), ip, Minimatch.NO_CASE | Minimatch.DOT)) {
-				return true;
-			}
-
-			if (path.resolve(fp).equals(ip)) {
-				return true;
-			}
-
-			if (shell.isDirectory(fp) && Reg.isEndsWithOneOrZeroSlash(ip) && // PORT INFO: match regexp was moved to Reg
-																				// class
-					fp.startsWith(ip)) {
-				return true;
-			}
-			return false;
-		});
-	}
-
 	/**
 	 * Crude version of source maps: extract how much JavaSscript in HTML
 	 * was shifted based on first JS line. For example if first js line
@@ -413,8 +429,8 @@ public class Cli {
 	 * @param ignores a list of patterns for files to ignore
 	 * @param ext     a list of non-dot-js extensions to lint
 	 */
-	private void collect(String fp, List<String> files, List<String> ignores, Pattern ext) {
-		if (ignores != null && isIgnored(fp, ignores)) {
+	private void collect(String fp, List<String> files, IgnoreMatcher ignores, Pattern ext) {
+		if (!ignores.isEmpty() && ignores.isIgnored(path.resolve(fp), fp, () -> shell.isDirectory(fp))) {
 			return;
 		}
 
@@ -423,18 +439,38 @@ public class Cli {
 			return;
 		}
 
-		if (shell.isDirectory(fp)) {
-			for (String item : shell.ls(fp)) {
-				String itempath = path.join(fp, item);
-				if (shell.isDirectory(itempath) || Reg.test(ext, itempath)) {
-					collect(itempath, files, ignores, ext);
+		if (!shell.isDirectory(fp)) {
+			files.add(fp);
+			return;
+		}
+
+		// Ignored entries are skipped before anything else is done with them, so
+		// ignored directories are never listed
+		shell.walk(fp, new IOUtils.TreeVisitor() {
+			@Override
+			public boolean visitDirectory(String dir) {
+				return ignores.isEmpty() || !ignores.isIgnored(path.resolve(dir), dir, () -> true);
+			}
+
+			@Override
+			public void visitFile(String file) {
+				if (isCollected(file)) {
+					files.add(file);
 				}
 			}
 
-			return;
-		}
+			@Override
+			public void visitFailed(String file) {
+				if (isCollected(file)) {
+					cli.error("Can't open " + file);
+				}
+			}
 
-		files.add(fp);
+			private boolean isCollected(String file) {
+				return Reg.test(ext, file)
+						&& (ignores.isEmpty() || !ignores.isIgnored(path.resolve(file), file, () -> false));
+			}
+		});
 	}
 
 	/**
@@ -443,58 +479,31 @@ public class Cli {
 	 * @param code    code that needs to be linted
 	 * @param results a pointer to an object with results
 	 * @param config  an object with JSHint configuration
+	 * @param prereq  (optional) comma-separated list of prerequisites from CLI
 	 * @param data    a pointer to an object with extra data
 	 * @param file    (optional) file name that is being linted
+	 * @param jshint  linter, which isn't used by other threads
 	 * @throws IOException     if there is issue reading files from filesystem
 	 * @throws JSHintException if <b>code</b> cannot be linted for some reason
 	 */
-	private void lint(String code, List<ReporterResult> results, UniversalContainer config, List<DataSummary> data,
-			String file) throws IOException, JSHintException {
-		LinterGlobals globals = new LinterGlobals();
+	private void lint(String code, List<ReporterResult> results, LayeredConfig config, String prereq,
+			List<DataSummary> data, String file, JSHint jshint) throws IOException, JSHintException {
 		List<String> buffer = new ArrayList<String>();
 
-		config = JsonParser.parse(JsonParser.stringify(config));
-
-		if (config.test("prereq")) {
-			for (UniversalContainer v : config.get("prereq")) {
-				String fp = path.join(config.asString("dirname"), v.asString());
-				if (shell.exists(fp))
-					buffer.add(shell.cat(fp));
-			}
-			config.delete("prereq");
+		for (String fp : getPrereqs(config, prereq)) {
+			if (shell.exists(fp))
+				buffer.add(shell.cat(fp));
 		}
 
-		if (config.test("globals")) {
-			globals.putAll(config.get("globals"));
-			config.delete("globals");
+		if (StringUtils.isNotEmpty(file)) {
+			config = config.forFile(path.normalize(file));
 		}
 
-		if (config.test("overrides")) {
-			if (StringUtils.isNotEmpty(file)) {
-				for (String pattern : config.get("overrides").keys()) {
-					UniversalContainer options = config.get("overrides").get(pattern);
-					if (Minimatch.minimatch(path.normalize(file), pattern, Minimatch.NO_CASE | Minimatch.MATCH_BASE)) {
-						if (options.test("globals")) {
-							globals.putAll(options.get("globals"));
-							options.delete("globals");
-						}
-						Lodash.extend(config, options);
-					}
-				}
-			}
-
-			config.delete("overrides");
-		}
-
-		config.delete("dirname");
-
 		buffer.add(code);
 		code = StringUtils.join(buffer, "\n");
 		code = StringUtils.removeStart(code, "\uFEFF"); // Remove potential Unicode BOM.
 
-		JSHint jshint = new JSHint();
-
-		if (!jshint.lint(code, new LinterOptions(config), globals)) {
+		if (!jshint.lint(code, config.getLinterConfig())) {
 			for (LinterWarning err : jshint.getErrors()) {
 				results.add(new ReporterResult(StringUtils.defaultIfEmpty(file, "stdin"), err));
 			}
@@ -588,8 +597,65 @@ public class Cli {
 	 * @throws ExitException if config cannot be resolved due to any reason.
 	 */
 	public UniversalContainer getConfig(String fp) throws ExitException {
-		UniversalContainer ret = loadNpmConfig(fp);
-		return ret.test() ? ret : loadConfig(findConfig(fp));
+		UniversalContainer config = resolveConfig(fp).getBase();
+
+		// Resolved config is shared by all files from the same directory
+		return config.isObject() ? Lodash.extend(ContainerFactory.createObject(), config) : config;
+	}
+
+	private LayeredConfig resolveConfig(String fp) throws ExitException {
+		String dir = path.dirname(path.resolve(fp));
+		String home = StringUtils.defaultString(getHomeDir());
+		ResolvedConfig cached = configCache.get(dir);
+
+		if (cached != null && cached.checkedAt != runCount) {
+			if (!cached.home.equals(home) || !isUnchanged(cached.modified)) {
+				// Memoized lookups could point to the removed files as well
+				configCache.clear();
+				findFileResults.clear();
+				cached = null;
+			} else {
+				cached.checkedAt = runCount;
+			}
+		}
+
+		if (cached == null) {
+			configReads = new ArrayList<String>();
+			try {
+				UniversalContainer ret = loadNpmConfig(fp);
+				ret = ret.test() ? ret : loadConfig(findConfig(fp));
+
+				// Creating or removing config file changes modification time of its directory
+				Map<String, Long> modified = new HashMap<String, Long>();
+				for (String d = dir;; d = path.resolve(d, "../")) {
+					modified.put(d, shell.lastModified(d));
+					if (d.equals(path.resolve(d, "../")))
+						break;
+				}
+				if (StringUtils.isNotEmpty(home)) {
+					modified.put(home, shell.lastModified(home));
+				}
+				for (String read : configReads) {
+					modified.put(read, shell.lastModified(read));
+				}
+
+				cached = new ResolvedConfig(ret, home, modified, runCount);
+				configCache.put(dir, cached);
+			} finally {
+				configReads = null;
+			}
+		}
+
+		return cached.config;
+	}
+
+	private boolean isUnchanged(Map<String, Long> modified) {
+		for (Map.Entry<String, Long> entry : modified.entrySet()) {
+			if (shell.lastModified(entry.getKey()) != entry.getValue()) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -609,6 +675,10 @@ public class Cli {
 			exit(1);
 		}
 
+		if (configReads != null) {
+			configReads.add(fp);
+		}
+
 		try {
 			UniversalContainer config = JsonParser.parse(shell.cat(fp));
 			config.set("dirname", path.dirname(fp));
@@ -662,19 +732,56 @@ public class Cli {
 			}
 		}
 
+		IgnoreMatcher matcher = new IgnoreMatcher(ignores);
 		for (String target : opts.args) {
-			collect(target, files, ignores, reg);
+			collect(target, files, matcher, reg);
 		}
 
 		return files;
 	}
 
-	private void mergeCliPrereq(RunOptions opts, UniversalContainer config) {
-		if (StringUtils.isNotEmpty(opts.prereq)) {
+	/**
+	 * Returns paths to the prerequisites from the config file and CLI options.
+	 */
+	private List<String> getPrereqs(LayeredConfig config, String cliPrereq) {
+		UniversalContainer base = config.getBase();
+		List<String> result = new ArrayList<String>();
+
+		UniversalContainer prereq = ContainerFactory.createArrayIfFalse(base.get("prereq"));
+		if (StringUtils.isNotEmpty(cliPrereq)) {
 			// PORT INFO: split regexp was moved to Reg class
-			config.set("prereq", ContainerFactory.createArrayIfFalse(config.get("prereq"))
-					.concat(new UniversalContainer(Reg.splitByComma(opts.prereq))));
+			prereq = prereq.concat(new UniversalContainer(Reg.splitByComma(cliPrereq)));
+		}
+
+		for (UniversalContainer v : prereq) {
+			result.add(path.join(base.asString("dirname"), v.asString()));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Reads content of the prerequisites the same way as lint() does, so that
+	 * cached result is invalidated when any of them changes.
+	 */
+	private String readPrereqs(LayeredConfig config, String cliPrereq) throws IOException {
+		List<String> buffer = new ArrayList<String>();
+
+		for (String fp : getPrereqs(config, cliPrereq)) {
+			if (shell.exists(fp))
+				buffer.add(fp + "\n" + shell.cat(fp));
 		}
+
+		return StringUtils.join(buffer, "\n");
+	}
+
+	private String getVersion() throws IOException {
+		if (version == null) {
+			Properties prop = new Properties();
+			prop.load(getClass().getResourceAsStream("/package.properties"));
+			version = StringUtils.defaultString(prop.getProperty("version"));
+		}
+		return version;
 	}
 
 	/**
@@ -688,9 +795,10 @@ public class Cli {
 	 * @throws JSHintException if there is issue during code linting.
 	 */
 	public boolean run(RunOptions opts) throws ExitException, JSHintException, IOException {
+		runCount++;
+
 		List<String> files = gather(opts);
-		List<ReporterResult> results = new ArrayList<ReporterResult>();
-		List<DataSummary> data = new ArrayList<DataSummary>();
+		Report report = new Report(opts.reporter != null ? opts.reporter : new DefaultReporter(), opts.verbose);
 
 		String filename = "";
 
@@ -701,58 +809,158 @@ public class Cli {
 		if (StringUtils.isNotEmpty(opts.filename)) {
 			filename = path.resolve(opts.filename);
 		}
-		if (opts.useStdin && opts.ignores.indexOf(filename) == -1) {
+		if (opts.useStdin && (opts.ignores == null || opts.ignores.indexOf(filename) == -1)) {
 			String code = cli.readFromStdin();
+			List<ReporterResult> results = new ArrayList<ReporterResult>();
+			List<DataSummary> data = new ArrayList<DataSummary>();
 
-			UniversalContainer config = ContainerFactory.undefinedContainerIfFalse(opts.config);
+			LayeredConfig config;
 
-			if (StringUtils.isNotEmpty(filename) && !config.test()) {
-				config = getConfig(filename);
+			if (ContainerFactory.undefinedContainerIfFalse(opts.config).test()) {
+				config = new LayeredConfig(opts.config);
+			} else if (StringUtils.isNotEmpty(filename)) {
+				config = resolveConfig(filename);
+			} else {
+				config = new LayeredConfig(null);
 			}
 
-			config = ContainerFactory.createObjectIfFalse(config);
-
-			mergeCliPrereq(opts, config);
-
-			lint(extract(code, opts.extract), results, config, data, filename);
+			lint(extract(code, opts.extract), results, config, opts.prereq, data, filename, new JSHint());
+			report.add(StringUtils.defaultIfEmpty(filename, "stdin"), results, data);
 		} else {
+			LintCache cache = StringUtils.isNotEmpty(opts.cacheLocation) ? new LintCache(opts.cacheLocation) : null;
+			// Config from CLI options is shared by all files
+			LayeredConfig cliConfig = ContainerFactory.undefinedContainerIfFalse(opts.config).test()
+					? new LayeredConfig(opts.config)
+					: null;
+
+			if (cache != null) {
+				getVersion();
+			}
+
+			// Configs are resolved here, since their lookup caches are not thread-safe
+			List<LintedFile> linted = new ArrayList<LintedFile>();
 			for (String file : files) {
-				UniversalContainer config = ContainerFactory.undefinedContainerIfFalse(opts.config);
-				String code = "";
-				List<ReporterResult> errors = new ArrayList<ReporterResult>();
+				linted.add(new LintedFile(file, cliConfig != null ? cliConfig : resolveConfig(file)));
+			}
 
-				config = config.test() ? config : getConfig(file);
+			// Every worker thread reuses its own linter
+			ThreadLocal<JSHint> linters = ThreadLocal.withInitial(JSHint::new);
 
-				try {
-					code = shell.cat(file);
-				} catch (IOException e) {
-					cli.error("Can't open " + file);
-					exit(1);
+			ExecutorService executor = null;
+			List<Future<?>> tasks = null;
+			if (opts.jobs > 1 && linted.size() > 1) {
+				executor = Executors.newWorkStealingPool(opts.jobs);
+				tasks = new ArrayList<Future<?>>();
+				for (LintedFile file : linted) {
+					tasks.add(executor.submit(() -> lintFile(file, opts, cache, linters.get())));
 				}
+			}
 
-				mergeCliPrereq(opts, config);
+			boolean completed = false;
+			try {
+				// Files are reported in order as soon as they and all files before them are linted,
+				// so output doesn't depend on the number of jobs
+				for (int i = 0; i < linted.size(); i++) {
+					LintedFile file = linted.get(i);
+
+					if (tasks != null) {
+						tasks.get(i).get();
+					} else {
+						lintFile(file, opts, cache, linters.get());
+					}
 
-				lint(extract(code, opts.extract), errors, config, data, file);
+					if (file.unreadable) {
+						cli.error("Can't open " + file.file);
+						exit(1);
+					}
+					if (file.failure instanceof IOException)
+						throw (IOException) file.failure;
+					if (file.failure instanceof JSHintException)
+						throw (JSHintException) file.failure;
+
+					report.add(file.file, file.results, file.data);
+					file.results.clear();
+					file.data.clear();
+				}
+				completed = true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Linting was interrupted", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException)
+					throw (RuntimeException) e.getCause();
+				throw new IllegalStateException(e.getCause());
+			} finally {
+				if (executor != null)
+					executor.shutdownNow();
+				// Files reported before the failure still make a complete report
+				if (!completed)
+					report.abort();
+			}
+		}
 
-				if (errors.size() > 0) {
-					Map<Integer, Integer> offsets = extractOffsets(code, opts.extract);
-					if (offsets != null && offsets.size() > 0) {
-						for (ReporterResult errorInfo : errors) {
-							int line = errorInfo.getError().getLine();
-							if (line >= 0 && offsets.containsKey(line) && offsets.get(line) != 0) {
-								errorInfo.getError().shiftCharacter(offsets.get(line));
-							}
-						}
+		return report.end();
+	}
+
+	/**
+	 * Reads, extracts and lints a single file, it can be called from several
+	 * threads at once for different files.
+	 */
+	private void lintFile(LintedFile file, RunOptions opts, LintCache cache, JSHint linter) {
+		String code = "";
+		List<ReporterResult> errors = new ArrayList<ReporterResult>();
+		String cacheKey = null;
+
+		try {
+			code = shell.cat(file.file);
+		} catch (IOException e) {
+			file.unreadable = true;
+			return;
+		}
+
+		try {
+			if (cache != null) {
+				cacheKey = LintCache.key(getVersion(), path.normalize(file.file), opts.extract,
+						JsonParser.stringify(file.config.getBase()), opts.prereq, readPrereqs(file.config, opts.prereq),
+						code);
+
+				LintCache.Entry cached = cache.get(cacheKey);
+				if (cached != null) {
+					for (LinterWarning err : cached.getErrors()) {
+						file.results.add(new ReporterResult(file.file, err));
 					}
+					file.data.add(cached.getData());
+					return;
+				}
+			}
 
-					results.addAll(errors);
+			lint(extract(code, opts.extract), errors, file.config, opts.prereq, file.data, file.file, linter);
+		} catch (IOException | JSHintException e) {
+			file.failure = e;
+			return;
+		}
+
+		if (errors.size() > 0) {
+			Map<Integer, Integer> offsets = extractOffsets(code, opts.extract);
+			if (offsets != null && offsets.size() > 0) {
+				for (ReporterResult errorInfo : errors) {
+					int line = errorInfo.getError().getLine();
+					if (line >= 0 && offsets.containsKey(line) && offsets.get(line) != 0) {
+						errorInfo.getError().shiftCharacter(offsets.get(line));
+					}
 				}
 			}
+
+			file.results.addAll(errors);
 		}
 
-		JSHintReporter reporter = opts.reporter != null ? opts.reporter : new DefaultReporter();
-		reporter.generate(results, data, opts.verbose);
-		return results.size() == 0;
+		if (cache != null && file.data.size() > 0) {
+			List<LinterWarning> warnings = new ArrayList<LinterWarning>();
+			for (ReporterResult errorInfo : errors) {
+				warnings.add(errorInfo.getError());
+			}
+			cache.put(cacheKey, warnings, file.data.get(file.data.size() - 1));
+		}
 	}
 
 	/**
@@ -807,6 +1015,13 @@ public class Cli {
 					reporter = loadReporter(ReporterType.UNIX);
 				}
 
+				// Newline-delimited JSON reporter, which adds JSHint data with --show-non-errors
+				else if (options.hasOption("reporter") && options.getOptionValue("reporter").equals("ndjson")) {
+					reporter = loadReporter(options.hasOption("show-non-errors")
+							? ReporterType.NDJSON_NON_ERROR
+							: ReporterType.NDJSON);
+				}
+
 				// Reporter that displays additional JSHint data
 				else if (options.hasOption("show-non-errors")) {
 					reporter = loadReporter(ReporterType.NON_ERROR);
@@ -824,7 +1039,7 @@ public class Cli {
 
 				boolean passed = true;
 
-				passed = run(new RunOptions(
+				RunOptions runOptions = new RunOptions(
 						ArrayUtils.removeElement(options.getArgs(), "-"),
 						config,
 						reporter,
@@ -835,7 +1050,26 @@ public class Cli {
 						options.getOptionValue("filename"),
 						options.getOptionValue("prereq"),
 						args.length > 0
-								&& (args[args.length - 1].equals("-") || args[args.length - 1].equals("/dev/stdin"))));
+								&& (args[args.length - 1].equals("-") || args[args.length - 1].equals("/dev/stdin")));
+
+				runOptions.setJobs(Runtime.getRuntime().availableProcessors());
+				if (options.hasOption("jobs")) {
+					try {
+						runOptions.setJobs(Integer.parseInt(options.getOptionValue("jobs")));
+					} catch (NumberFormatException e) {
+						runOptions.setJobs(0);
+					}
+					if (runOptions.getJobs() < 1) {
+						cli.error("Invalid number of jobs: " + options.getOptionValue("jobs"));
+						exit(1);
+					}
+				}
+
+				if (options.hasOption("cache")) {
+					runOptions.setCacheLocation(path.resolve(options.getOptionValue("cache-location", LintCache.DEFAULT_LOCATION)));
+				}
+
+				passed = run(runOptions);
 
 				exit(passed ? 0 : 2);
 
@@ -867,6 +1101,8 @@ public class Cli {
 		private String prereq;
 		private boolean useStdin;
 		private String cwd;
+		private String cacheLocation; // Cache directory, caching is disabled if it's empty
+		private int jobs; // Number of files linted in parallel
 
 		public RunOptions() {
 			setArgs(null);
@@ -879,6 +1115,8 @@ public class Cli {
 			setFilename(null);
 			setUseStdin(false);
 			setCwd(null);
+			setCacheLocation(null);
+			setJobs(1);
 		}
 
 		public RunOptions(String[] args, UniversalContainer config, JSHintReporter reporter, List<String> ignores,
@@ -894,6 +1132,8 @@ public class Cli {
 			setPrereq(prereq);
 			setUseStdin(useStdin);
 			setCwd(null);
+			setCacheLocation(null);
+			setJobs(1);
 		}
 
 		public void setArgs(String[] args) {
@@ -909,7 +1149,8 @@ public class Cli {
 		}
 
 		public void setIgnores(List<String> ignores) {
-			this.ignores = ignores != null ? ignores : new ArrayList<String>();
+			// null means that ignores are loaded from .jshintignore by gather()
+			this.ignores = ignores;
 		}
 
 		public void setExtensions(String extensions) {
@@ -940,6 +1181,14 @@ public class Cli {
 			this.cwd = StringUtils.defaultString(cwd);
 		}
 
+		public void setCacheLocation(String cacheLocation) {
+			this.cacheLocation = StringUtils.defaultString(cacheLocation);
+		}
+
+		public void setJobs(int jobs) {
+			this.jobs = jobs;
+		}
+
 		public String[] getArgs() {
 			return args;
 		}
@@ -983,6 +1232,109 @@ public class Cli {
 		public String getCwd() {
 			return cwd;
 		}
+
+		public String getCacheLocation() {
+			return cacheLocation;
+		}
+
+		public int getJobs() {
+			return jobs;
+		}
+	}
+
+	private static class LintedFile {
+		private final String file;
+		private final LayeredConfig config;
+		private final List<ReporterResult> results = new ArrayList<ReporterResult>();
+		private final List<DataSummary> data = new ArrayList<DataSummary>();
+		private boolean unreadable = false;
+		private Exception failure = null;
+
+		private LintedFile(String file, LayeredConfig config) {
+			this.file = file;
+			this.config = config;
+		}
+	}
+
+	/**
+	 * Passes results to the reporter, streaming reporter gets them file by file,
+	 * while others get all of them at the end. Streaming reporter is started only
+	 * when the first file is reported, so nothing is written if linting fails
+	 * before it.
+	 */
+	private static class Report {
+		private final JSHintReporter reporter;
+		private final StreamingReporter streaming;
+		private final String verbose;
+		private final List<ReporterResult> results = new ArrayList<ReporterResult>();
+		private final List<DataSummary> data = new ArrayList<DataSummary>();
+		private int errorCount = 0;
+		private boolean started = false;
+		private boolean ended = false;
+
+		private Report(JSHintReporter reporter, String verbose) {
+			this.reporter = reporter;
+			this.streaming = reporter instanceof StreamingReporter ? (StreamingReporter) reporter : null;
+			this.verbose = verbose;
+		}
+
+		private void start() {
+			if (!started) {
+				started = true;
+				streaming.start(verbose);
+			}
+		}
+
+		private void add(String file, List<ReporterResult> fileResults, List<DataSummary> fileData) {
+			errorCount += fileResults.size();
+
+			if (streaming != null) {
+				start();
+				streaming.fileResult(file, new ArrayList<ReporterResult>(fileResults),
+						fileData.isEmpty() ? null : fileData.get(fileData.size() - 1));
+			} else {
+				results.addAll(fileResults);
+				data.addAll(fileData);
+			}
+		}
+
+		/**
+		 * @return true if there are no errors.
+		 */
+		private boolean end() {
+			ended = true;
+			if (streaming != null) {
+				start();
+				streaming.end();
+			} else {
+				reporter.generate(results, data, verbose);
+			}
+			return errorCount == 0;
+		}
+
+		/**
+		 * Closes streaming reporter, which was started, but won't be ended normally.
+		 */
+		private void abort() {
+			if (started && !ended) {
+				ended = true;
+				streaming.end();
+			}
+		}
+	}
+
+	private static class ResolvedConfig {
+		private final LayeredConfig config;
+		private final String home;
+		private final Map<String, Long> modified; // Modification times of the read files and looked up directories
+		private int checkedAt;
+
+		private ResolvedConfig(UniversalContainer config, String home, Map<String, Long> modified, int checkedAt) {
+			this.config = new LayeredConfig(config);
+			this.home = home;
+			this.modified = modified;
+			this.checkedAt = checkedAt;
+		}
 	}
 
 	public static class ExitException extends Exception {
@@ -1002,6 +1354,8 @@ public class Cli {
 		JSLINT_XML,
 		CHECKSTYLE,
 		UNIX,
-		NON_ERROR
+		NON_ERROR,
+		NDJSON,
+		NDJSON_NON_ERROR
 	}
 }
\ No newline at end of file
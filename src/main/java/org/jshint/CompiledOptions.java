@@ -0,0 +1,171 @@
+package org.jshint;
+
+import java.util.Map;
+
+import com.github.jshaptic.js4j.UniversalContainer;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Typed snapshot of the options, which are checked for every token, line or
+ * identifier.
+ *
+ * PORT INFO: original JSHint reads options directly from the `state.option`
+ * object, here the most frequently checked ones are compiled into boolean flags
+ * and integer fields, so that the hot path doesn't need string-keyed lookups.
+ * Snapshot is immutable: changing an option creates a copy only when the option
+ * is compiled, so the snapshot of the outer function can be restored as is.
+ * Options with non-boolean values (e.g. `shadow` or `strict`) are still read
+ * from the container.
+ */
+final class CompiledOptions {
+
+	static final int ASI = 1 << 0;
+	static final int BITWISE = 1 << 1;
+	static final int BOSS = 1 << 2;
+	static final int BROWSERIFY = 1 << 3;
+	static final int CAMELCASE = 1 << 4;
+	static final int EVIL = 1 << 5;
+	static final int FORIN = 1 << 6;
+	static final int FUNCSCOPE = 1 << 7;
+	static final int GLOBALSTRICT = 1 << 8;
+	static final int ITERATOR = 1 << 9;
+	static final int LATEDEF = 1 << 10;
+	static final int MAXERR = 1 << 11;
+	static final int MAXLEN = 1 << 12;
+	static final int MODULE = 1 << 13;
+	static final int MOZ = 1 << 14;
+	static final int MULTISTR = 1 << 15;
+	static final int NODE = 1 << 16;
+	static final int NONBSP = 1 << 17;
+	static final int PHANTOM = 1 << 18;
+	static final int PLUSPLUS = 1 << 19;
+	static final int PROTO = 1 << 20;
+	static final int REGEXPU = 1 << 21;
+	static final int SCRIPTURL = 1 << 22;
+	static final int TRAILINGCOMMA = 1 << 23;
+	static final int UNDEF = 1 << 24;
+
+	private static final Map<String, Integer> flagNames = ImmutableMap.<String, Integer>builder()
+			.put("asi", ASI)
+			.put("bitwise", BITWISE)
+			.put("boss", BOSS)
+			.put("browserify", BROWSERIFY)
+			.put("camelcase", CAMELCASE)
+			.put("evil", EVIL)
+			.put("forin", FORIN)
+			.put("funcscope", FUNCSCOPE)
+			.put("globalstrict", GLOBALSTRICT)
+			.put("iterator", ITERATOR)
+			.put("latedef", LATEDEF)
+			.put("maxerr", MAXERR)
+			.put("maxlen", MAXLEN)
+			.put("module", MODULE)
+			.put("moz", MOZ)
+			.put("multistr", MULTISTR)
+			.put("node", NODE)
+			.put("nonbsp", NONBSP)
+			.put("phantom", PHANTOM)
+			.put("plusplus", PLUSPLUS)
+			.put("proto", PROTO)
+			.put("regexpu", REGEXPU)
+			.put("scripturl", SCRIPTURL)
+			.put("trailingcomma", TRAILINGCOMMA)
+			.put("undef", UNDEF)
+			.build();
+
+	private int flags;
+	private int indent;
+	private int maxerr;
+	private int maxlen;
+
+	private CompiledOptions() {
+	}
+
+	private CompiledOptions(CompiledOptions original) {
+		this.flags = original.flags;
+		this.indent = original.indent;
+		this.maxerr = original.maxerr;
+		this.maxlen = original.maxlen;
+	}
+
+	/**
+	 * Compiles all options from the container.
+	 *
+	 * @param option container with the options.
+	 * @return compiled options.
+	 */
+	static CompiledOptions compile(UniversalContainer option) {
+		CompiledOptions result = new CompiledOptions();
+
+		for (Map.Entry<String, Integer> flag : flagNames.entrySet()) {
+			if (option.test(flag.getKey())) {
+				result.flags |= flag.getValue();
+			}
+		}
+
+		result.indent = option.asInt("indent");
+		result.maxerr = option.asInt("maxerr");
+		result.maxlen = option.asInt("maxlen");
+
+		return result;
+	}
+
+	/**
+	 * Returns options with the new value of the option, which was already set in
+	 * the container.
+	 *
+	 * @param name   name of the changed option.
+	 * @param option container with the options.
+	 * @return this object if option isn't compiled, updated copy otherwise.
+	 */
+	CompiledOptions update(String name, UniversalContainer option) {
+		Integer flag = flagNames.get(name);
+		boolean isNumber = name.equals("indent") || name.equals("maxerr") || name.equals("maxlen");
+
+		if (flag == null && !isNumber) {
+			return this;
+		}
+
+		CompiledOptions result = new CompiledOptions(this);
+
+		if (flag != null) {
+			result.flags = option.test(name) ? result.flags | flag : result.flags & ~flag;
+		}
+
+		switch (name) {
+			case "indent":
+				result.indent = option.asInt(name);
+				break;
+			case "maxerr":
+				result.maxerr = option.asInt(name);
+				break;
+			case "maxlen":
+				result.maxlen = option.asInt(name);
+				break;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Checks if option is enabled, i.e. it has truthy value.
+	 *
+	 * @param flag one of the option flags or several flags combined with `|`.
+	 * @return true if any of the options is enabled.
+	 */
+	boolean test(int flag) {
+		return (flags & flag) != 0;
+	}
+
+	int getIndent() {
+		return indent;
+	}
+
+	int getMaxerr() {
+		return maxerr;
+	}
+
+	int getMaxlen() {
+		return maxlen;
+	}
+}
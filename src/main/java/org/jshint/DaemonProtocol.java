@@ -0,0 +1,159 @@
+package org.jshint;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Wire format shared by {@link LintDaemon} and {@link LintClient}.
+ *
+ * Client sends a single request: magic number, protocol version, token from
+ * the info file, version of the linter, working directory, CLI arguments and
+ * content of the standard input, if it's used. Daemon answers with frames:
+ * chunks of the standard output and error as soon as they are written and
+ * then exit code. Request is rejected, if token or any version doesn't match
+ * the daemon, so client can run the CLI by itself. Token is sent before the
+ * rest of the request, so daemon reads nothing else from unknown clients, and
+ * all lengths are limited, so the peer can't make the other side allocate
+ * arbitrary memory.
+ *
+ * This class only depends on the JDK, so the client doesn't load the linter,
+ * when the daemon is available.
+ */
+final class DaemonProtocol {
+	static final int MAGIC = 0x4A534844; // "JSHD"
+	static final int VERSION = 1;
+
+	// Response frames
+	static final int STDOUT = 1;
+	static final int STDERR = 2;
+	static final int EXIT = 3;
+	static final int REJECT = 4;
+
+	// Limits of the request and response
+	static final int MAX_TOKEN_LENGTH = 256;
+	static final int MAX_STRING_LENGTH = 64 * 1024;
+	static final int MAX_ARGS = 10000;
+	static final int MAX_STDIN_LENGTH = 64 * 1024 * 1024;
+	static final int MAX_FRAME_LENGTH = 64 * 1024;
+
+	// System property, which overrides location of the info file
+	static final String INFO_FILE_PROPERTY = "jshint.daemon.info";
+	static final String DEFAULT_INFO_FILE = ".jshintd";
+
+	private DaemonProtocol() {
+	}
+
+	/**
+	 * @return location of the file, where running daemon stores its port and token.
+	 */
+	static Path defaultInfoFile() {
+		String location = System.getProperty(INFO_FILE_PROPERTY);
+		if (location != null && !location.isEmpty()) {
+			return Paths.get(location);
+		}
+		return Paths.get(System.getProperty("user.home"), DEFAULT_INFO_FILE);
+	}
+
+	/**
+	 * @return info of the running daemon or null if it can't be read.
+	 */
+	static Properties readInfo(Path file) {
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+
+		Properties info = new Properties();
+		try (InputStream in = Files.newInputStream(file)) {
+			info.load(in);
+		} catch (IOException e) {
+			return null;
+		}
+		return info;
+	}
+
+	/**
+	 * @return version of the linter from the package properties.
+	 */
+	static String linterVersion() {
+		Properties prop = new Properties();
+		try (InputStream in = DaemonProtocol.class.getResourceAsStream("/package.properties")) {
+			if (in != null) {
+				prop.load(in);
+			}
+		} catch (IOException e) {
+			// version stays empty
+		}
+		return prop.getProperty("version", "");
+	}
+
+	static void writeString(DataOutputStream out, String s) throws IOException {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * @param maxLength maximal length of the string in bytes.
+	 * @return string or null.
+	 * @throws IOException if string can't be read or its length is invalid.
+	 */
+	static String readString(DataInputStream in, int maxLength) throws IOException {
+		int length = in.readInt();
+		if (length == -1) {
+			return null;
+		}
+		if (length < 0 || length > maxLength) {
+			throw new IOException("Invalid string length " + length);
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Stream, which sends everything written to it as frames of the given type.
+	 * Frames of different streams are written to the same connection, so every
+	 * frame is written at once. Long writes are split into several frames.
+	 */
+	static final class FrameOutputStream extends OutputStream {
+		private final DataOutputStream out;
+		private final int type;
+
+		FrameOutputStream(DataOutputStream out, int type) {
+			this.out = out;
+			this.type = type;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				int frame = Math.min(len, MAX_FRAME_LENGTH);
+				synchronized (out) {
+					out.writeByte(type);
+					out.writeInt(frame);
+					out.write(b, off, frame);
+					out.flush();
+				}
+				off += frame;
+				len -= frame;
+			}
+		}
+	}
+}
@@ -2,6 +2,8 @@ package org.jshint;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -10,6 +12,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import com.github.jshaptic.js4j.ContainerFactory;
+import com.github.jshaptic.js4j.JsonParser;
 import com.github.jshaptic.js4j.UniversalContainer;
 
 public class DataSummary
@@ -126,6 +129,39 @@ public class DataSummary
 		this.file = StringUtils.defaultString(file);
 	}
 	
+	/**
+	 * Creates copy of the summary, which shares nothing with the linter or with this summary:
+	 * options are copied and unused variables are reduced to their name and position, so no
+	 * parser tokens are kept.
+	 * 
+	 * @return detached copy of the summary.
+	 */
+	DataSummary snapshot()
+	{
+		DataSummary copy = new DataSummary(JsonParser.parse(JsonParser.stringify(options)));
+		copy.functions.addAll(functions);
+		copy.errors = errors != null ? new ArrayList<LinterWarning>(errors) : null;
+		copy.json = json;
+		copy.implieds = implieds != null ? new ArrayList<ImpliedGlobal>(implieds) : null;
+		copy.urls = urls != null ? new ArrayList<String>(urls) : null;
+		copy.globals = globals != null ? new HashSet<String>(globals) : null;
+		copy.member = member != null ? new HashMap<String, Integer>(member) : null;
+		copy.file = file;
+		
+		if (unused != null) {
+			copy.unused = new ArrayList<Token>(unused.size());
+			for (Token token : unused) {
+				Token t = new Token();
+				t.setName(token.getName());
+				t.setLine(token.getLine());
+				t.setCharacter(token.getCharacter());
+				copy.unused.add(t);
+			}
+		}
+		
+		return copy;
+	}
+	
 	@Override
 	public String toString()
 	{
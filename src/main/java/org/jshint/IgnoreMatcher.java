@@ -0,0 +1,98 @@
+package org.jshint;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+
+import com.github.jshaptic.minimatch.Minimatch;
+
+/**
+ * Patterns from the .jshintignore file and --exclude option, which are
+ * prepared once for all paths.
+ *
+ * PORT INFO: original JSHint CLI calls minimatch for every pattern and every
+ * path, so every pattern is parsed and turned into regexp again and again.
+ * Here patterns without glob syntax, which are most of the ignored paths, are
+ * looked up in a hash set, while other patterns are compiled only once. Also
+ * directory is checked only if there are patterns, which can match it as a
+ * prefix.
+ */
+final class IgnoreMatcher {
+	// Characters, which make pattern a glob, "#" starts a comment, which matches nothing
+	private static final Pattern globChars = Pattern.compile("[*?\\[\\]{}()!+@#\\\\]");
+	private static final Pattern slashes = Pattern.compile("/+");
+
+	private final Set<String> exact = new HashSet<String>();
+	private final Set<String> literals = new HashSet<String>();
+	private final List<Minimatch> globs = new ArrayList<Minimatch>();
+	private final Set<String> prefixes = new HashSet<String>();
+	private final TreeSet<Integer> prefixLengths = new TreeSet<Integer>();
+
+	/**
+	 * @param patterns resolved paths or glob patterns.
+	 */
+	IgnoreMatcher(List<String> patterns) {
+		for (String ip : patterns) {
+			exact.add(ip);
+
+			if (globChars.matcher(ip).find()) {
+				globs.add(new Minimatch(ip, Minimatch.NO_CASE | Minimatch.DOT));
+			} else {
+				literals.add(normalize(ip));
+			}
+
+			// PORT INFO: match regexp was moved to Reg class
+			if (Reg.isEndsWithOneOrZeroSlash(ip)) {
+				prefixes.add(ip);
+				prefixLengths.add(ip.length());
+			}
+		}
+	}
+
+	/**
+	 * @return true if there are no patterns.
+	 */
+	boolean isEmpty() {
+		return exact.isEmpty();
+	}
+
+	/**
+	 * Checks if the path is ignored.
+	 *
+	 * @param resolved    resolved path.
+	 * @param fp          path as it was given.
+	 * @param isDirectory checks if the path is a directory, it's called only when needed.
+	 * @return true if path matches any pattern.
+	 */
+	boolean isIgnored(String resolved, String fp, BooleanSupplier isDirectory) {
+		if (exact.contains(resolved) || literals.contains(normalize(resolved))) {
+			return true;
+		}
+
+		for (Minimatch glob : globs) {
+			if (glob.match(resolved)) {
+				return true;
+			}
+		}
+
+		if (!prefixes.isEmpty() && isDirectory.getAsBoolean()) {
+			for (int length : prefixLengths.headSet(fp.length(), true)) {
+				if (prefixes.contains(fp.substring(0, length))) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	// Minimatch ignores repeated slashes and case of the names
+	private static String normalize(String path) {
+		return slashes.matcher(path).replaceAll("/").toLowerCase(Locale.ROOT);
+	}
+}
@@ -22,7 +22,6 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.jshint.LinterOptions.Delimiter;
 import org.jshint.utils.EventContext;
 import org.jshint.utils.EventEmitter;
 import org.jshint.utils.JSHintModule;
@@ -65,17 +64,27 @@ public class JSHint {
 
 	private boolean inblock = false;
 	private int indent = 0;
-	private List<Token> lookahead = null;
+	private TokenBuffer lookahead = null;
 	private Lexer lex = null;
 	private Map<String, Integer> member = null;
 	private Map<String, Boolean> membersOnly = null;
-	private Map<String, Boolean> predefined = null; // Global variables defined by option
+	private PredefinedGlobals predefined = null; // Global variables defined by option
 
 	private List<String> urls = null;
 
 	private List<JSHintModule> extraModules = new ArrayList<JSHintModule>();
+	private JSHintModule style = new Style();
 	private EventEmitter emitter = new EventEmitter();
 
+	public JSHint() {
+		// Syntax table doesn't depend on linting options, so it's built only once per
+		// instance and then reused by every lint() call, same as in original JSHint,
+		// where table is built when module is loaded.
+		buildSyntaxTable();
+		ecmaScriptParser();
+		buildStatementTable();
+	}
+
 	private Boolean checkOption(String name, boolean isStable, Token t) {
 		String type;
 		Set<String> validNames;
@@ -141,8 +150,8 @@ public class JSHint {
 				}
 			}
 		}
-		if (token.getId().equals("await")
-				&& ((context & ProdParams.ASYNC) == 0 && !state.getOption().test("module"))) {
+		if (token.getKindId() == TokenIds.AWAIT
+				&& ((context & ProdParams.ASYNC) == 0 && !state.getCompiledOption().test(CompiledOptions.MODULE))) {
 			return false;
 		}
 
@@ -154,25 +163,17 @@ public class JSHint {
 		return Reg.replaceMessageSupplant(str, data);
 	}
 
-	private void combine(Map<String, Boolean> dest, Map<String, Boolean> src) {
-		for (String name : src.keySet()) {
-			if (!blacklist.contains(name)) {
-				dest.put(name, src.get(name));
-			}
-		}
-	}
-
 	private void processenforceall() {
 		if (state.getOption().test("enforceall")) {
 			for (String enforceopt : Options.bool.get("enforcing").keySet()) {
 				if (state.getOption().isUndefined(enforceopt) &&
 						BooleanUtils.isNotTrue(Options.noenforceall.get(enforceopt))) {
-					state.getOption().set(enforceopt, true);
+					state.setOptionValue(enforceopt, true);
 				}
 			}
 			for (String relaxopt : Options.bool.get("relaxing").keySet()) {
 				if (!state.getOption().has(relaxopt)) {
-					state.getOption().set(relaxopt, false);
+					state.setOptionValue(relaxopt, false);
 				}
 			}
 		}
@@ -194,15 +195,15 @@ public class JSHint {
 		}
 
 		if (state.inES5()) {
-			combine(predefined, Vars.ecmaIdentifiers.get(5));
+			predefined.addLayer(Vars.ecmaIdentifiers.get(5));
 		}
 
 		if (state.inES6()) {
-			combine(predefined, Vars.ecmaIdentifiers.get(6));
+			predefined.addLayer(Vars.ecmaIdentifiers.get(6));
 		}
 
 		if (state.inES8()) {
-			combine(predefined, Vars.ecmaIdentifiers.get(8));
+			predefined.addLayer(Vars.ecmaIdentifiers.get(8));
 		}
 
 		/**
@@ -213,7 +214,7 @@ public class JSHint {
 			quit("E059", state.nextToken(), "strict", "globalstrict");
 		}
 
-		if (state.getOption().test("module")) {
+		if (state.getCompiledOption().test(CompiledOptions.MODULE)) {
 			/**
 			 * JSHINT_TODO: Extend this restriction to *all* ES6-specific options.
 			 */
@@ -222,7 +223,7 @@ public class JSHint {
 			}
 		}
 
-		if (state.getOption().test("regexpu")) {
+		if (state.getCompiledOption().test(CompiledOptions.REGEXPU)) {
 			/**
 			 * JSHINT_TODO: Extend this restriction to *all* ES6-specific options.
 			 */
@@ -232,89 +233,89 @@ public class JSHint {
 		}
 
 		if (state.getOption().test("couch")) {
-			combine(predefined, Vars.couch);
+			predefined.addLayer(Vars.couch);
 		}
 
 		if (state.getOption().test("qunit")) {
-			combine(predefined, Vars.qunit);
+			predefined.addLayer(Vars.qunit);
 		}
 
 		if (state.getOption().test("rhino")) {
-			combine(predefined, Vars.rhino);
+			predefined.addLayer(Vars.rhino);
 		}
 
 		if (state.getOption().test("shelljs")) {
-			combine(predefined, Vars.shelljs);
-			combine(predefined, Vars.node);
+			predefined.addLayer(Vars.shelljs);
+			predefined.addLayer(Vars.node);
 		}
 
 		if (state.getOption().test("typed")) {
-			combine(predefined, Vars.typed);
+			predefined.addLayer(Vars.typed);
 		}
 
-		if (state.getOption().test("phantom")) {
-			combine(predefined, Vars.phantom);
+		if (state.getCompiledOption().test(CompiledOptions.PHANTOM)) {
+			predefined.addLayer(Vars.phantom);
 		}
 
 		if (state.getOption().test("prototypejs")) {
-			combine(predefined, Vars.prototypejs);
+			predefined.addLayer(Vars.prototypejs);
 		}
 
-		if (state.getOption().test("node")) {
-			combine(predefined, Vars.node);
-			combine(predefined, Vars.typed);
+		if (state.getCompiledOption().test(CompiledOptions.NODE)) {
+			predefined.addLayer(Vars.node);
+			predefined.addLayer(Vars.typed);
 		}
 
 		if (state.getOption().test("devel")) {
-			combine(predefined, Vars.devel);
+			predefined.addLayer(Vars.devel);
 		}
 
 		if (state.getOption().test("dojo")) {
-			combine(predefined, Vars.dojo);
+			predefined.addLayer(Vars.dojo);
 		}
 
 		if (state.getOption().test("browser")) {
-			combine(predefined, Vars.browser);
-			combine(predefined, Vars.typed);
+			predefined.addLayer(Vars.browser);
+			predefined.addLayer(Vars.typed);
 		}
 
-		if (state.getOption().test("browserify")) {
-			combine(predefined, Vars.browser);
-			combine(predefined, Vars.typed);
-			combine(predefined, Vars.browserify);
+		if (state.getCompiledOption().test(CompiledOptions.BROWSERIFY)) {
+			predefined.addLayer(Vars.browser);
+			predefined.addLayer(Vars.typed);
+			predefined.addLayer(Vars.browserify);
 		}
 
 		if (state.getOption().test("nonstandard")) {
-			combine(predefined, Vars.nonstandard);
+			predefined.addLayer(Vars.nonstandard);
 		}
 
 		if (state.getOption().test("jasmine")) {
-			combine(predefined, Vars.jasmine);
+			predefined.addLayer(Vars.jasmine);
 		}
 
 		if (state.getOption().test("jquery")) {
-			combine(predefined, Vars.jquery);
+			predefined.addLayer(Vars.jquery);
 		}
 
 		if (state.getOption().test("mootools")) {
-			combine(predefined, Vars.mootools);
+			predefined.addLayer(Vars.mootools);
 		}
 
 		if (state.getOption().test("worker")) {
-			combine(predefined, Vars.worker);
+			predefined.addLayer(Vars.worker);
 		}
 
 		if (state.getOption().test("wsh")) {
-			combine(predefined, Vars.wsh);
+			predefined.addLayer(Vars.wsh);
 		}
 		if (state.getOption().test("yui"))
 
 		{
-			combine(predefined, Vars.yui);
+			predefined.addLayer(Vars.yui);
 		}
 
 		if (state.getOption().test("mocha")) {
-			combine(predefined, Vars.mocha);
+			predefined.addLayer(Vars.mocha);
 		}
 	}
 
@@ -372,7 +373,7 @@ public class JSHint {
 		}
 
 		t = (t != null ? t : (state.nextToken() != null ? state.nextToken() : new Token()));
-		if (t.getId().equals("(end)")) // `~
+		if (t.getKindId() == TokenIds.END) // `~
 		{
 			t = state.currToken();
 		}
@@ -395,7 +396,8 @@ public class JSHint {
 
 		removeIgnoredMessages();
 
-		if (state.getOption().test("maxerr") && errors.size() >= state.getOption().asInt("maxerr")) {
+		if (state.getCompiledOption().test(CompiledOptions.MAXERR) &&
+				errors.size() >= state.getCompiledOption().getMaxerr()) {
 			quit("E043", t);
 		}
 
@@ -477,7 +479,7 @@ public class JSHint {
 				}
 			}
 
-			combine(predefined, predef);
+			predefined.addLayer(predef);
 
 			for (String key : predef.keySet()) {
 				declared.put(key, directiveToken);
@@ -552,9 +554,9 @@ public class JSHint {
 							continue;
 						}
 
-						state.getOption().set(key, numval);
+						state.setOptionValue(key, numval);
 					} else {
-						state.getOption().set(key, key.equals("indent") ? 4 : false);
+						state.setOptionValue(key, key.equals("indent") ? 4 : false);
 					}
 
 					continue;
@@ -573,7 +575,7 @@ public class JSHint {
 						continue;
 					}
 
-					state.getOption().set("validthis", val.equals("true"));
+					state.setOptionValue("validthis", val.equals("true"));
 					continue;
 				}
 
@@ -581,11 +583,11 @@ public class JSHint {
 					switch (val) {
 						case "true":
 						case "false":
-							state.getOption().set("quotmark", val.equals("true"));
+							state.setOptionValue("quotmark", val.equals("true"));
 							break;
 						case "double":
 						case "single":
-							state.getOption().set("quotmark", val);
+							state.setOptionValue("quotmark", val);
 							break;
 						default:
 							error("E002", directiveToken);
@@ -596,14 +598,14 @@ public class JSHint {
 				if (key.equals("shadow")) {
 					switch (val) {
 						case "true":
-							state.getOption().set("shadow", true);
+							state.setOptionValue("shadow", true);
 							break;
 						case "outer":
-							state.getOption().set("shadow", "outer");
+							state.setOptionValue("shadow", "outer");
 							break;
 						case "false":
 						case "inner":
-							state.getOption().set("shadow", "inner");
+							state.setOptionValue("shadow", "inner");
 							break;
 						default:
 							error("E002", directiveToken);
@@ -614,14 +616,14 @@ public class JSHint {
 				if (key.equals("unused")) {
 					switch (val) {
 						case "true":
-							state.getOption().set("unused", true);
+							state.setOptionValue("unused", true);
 							break;
 						case "false":
-							state.getOption().set("unused", false);
+							state.setOptionValue("unused", false);
 							break;
 						case "vars":
 						case "strict":
-							state.getOption().set("unused", val);
+							state.setOptionValue("unused", val);
 							break;
 						default:
 							error("E002", directiveToken);
@@ -632,13 +634,13 @@ public class JSHint {
 				if (key.equals("latedef")) {
 					switch (val) {
 						case "true":
-							state.getOption().set("latedef", true);
+							state.setOptionValue("latedef", true);
 							break;
 						case "false":
-							state.getOption().set("latedef", false);
+							state.setOptionValue("latedef", false);
 							break;
 						case "nofunc":
-							state.getOption().set("latedef", "nofunc");
+							state.setOptionValue("latedef", "nofunc");
 							break;
 						default:
 							error("E002", directiveToken);
@@ -661,14 +663,14 @@ public class JSHint {
 				if (key.equals("strict")) {
 					switch (val) {
 						case "true":
-							state.getOption().set("strict", true);
+							state.setOptionValue("strict", true);
 							break;
 						case "false":
-							state.getOption().set("strict", false);
+							state.setOptionValue("strict", false);
 							break;
 						case "global":
 						case "implied":
-							state.getOption().set("strict", val);
+							state.setOptionValue("strict", val);
 							break;
 						default:
 							error("E002", directiveToken);
@@ -693,16 +695,16 @@ public class JSHint {
 						case "7":
 						case "8":
 						case "9":
-							state.getOption().set("moz", false);
-							state.getOption().set("esversion", Ints.tryParse(val));
+							state.setOptionValue("moz", false);
+							state.setOptionValue("esversion", Ints.tryParse(val));
 							break;
 						case "2015":
 						case "2016":
 						case "2017":
 						case "2018":
-							state.getOption().set("moz", false);
+							state.setOptionValue("moz", false);
 							// Translate specification publication year to version number.
-							state.getOption().set("esversion", Ints.tryParse(val) - 2009);
+							state.setOptionValue("esversion", Ints.tryParse(val) - 2009);
 							break;
 						default:
 							error("E002", directiveToken);
@@ -725,15 +727,15 @@ public class JSHint {
 						String tn = Options.renamed.get(key);
 						if (tn == null)
 							tn = key;
-						state.getOption().set(tn, val.equals("true"));
+						state.setOptionValue(tn, val.equals("true"));
 
 						if (Options.inverted.get(tn) != null) {
-							state.getOption().set(tn, !state.getOption().get(tn).test());
+							state.setOptionValue(tn, !state.getOption().get(tn).test());
 						}
 					} else if (directiveToken.getType() == Token.Type.JSHINT_UNSTABLE) {
 						state.getOption().get("unstable").set(key, val.equals("true"));
 					} else {
-						state.getOption().set(key, val.equals("true"));
+						state.setOptionValue(key, val.equals("true"));
 					}
 
 					continue;
@@ -811,7 +813,7 @@ public class JSHint {
 		Token t = null;
 		do {
 			t = peek(i++);
-		} while (t != null && t.getId().equals("(endline)"));
+		} while (t != null && t.getKindId() == TokenIds.ENDLINE);
 
 		return t;
 	}
@@ -820,78 +822,95 @@ public class JSHint {
 	 * Consume the next token.
 	 */
 	private void advance() {
-		advance(null, null);
+		advance(TokenIds.NONE, null, null);
 	}
 
 	/**
 	 * Consume the next token.
 	 *
-	 * @param expected - the expected value of the next token's `id`
-	 *                 property (in the case of punctuators) or
-	 *                 `value` property (in the case of identifiers
-	 *                 and literals); if unspecified, any token will
-	 *                 be accepted
+	 * @param expected - the expected kind of the next token (in the case
+	 *                 of punctuators) or of the `value` property (in the
+	 *                 case of identifiers and literals); if
+	 *                 {@link TokenIds#NONE}, any token will be accepted
 	 */
-	private void advance(String expected) {
-		advance(expected, null);
+	private void advance(int expected) {
+		advance(expected, null, null);
 	}
 
 	/**
 	 * Consume the next token.
 	 *
-	 * @param expected     - the expected value of the next token's `id`
-	 *                     property (in the case of punctuators) or
-	 *                     `value` property (in the case of identifiers
-	 *                     and literals); if unspecified, any token will
-	 *                     be accepted
+	 * @param expected     - the expected kind of the next token (in the case
+	 *                     of punctuators) or of the `value` property (in the
+	 *                     case of identifiers and literals); if
+	 *                     {@link TokenIds#NONE}, any token will be accepted
 	 * @param relatedToken - the token that informed the expected
 	 *                     value, if any (for example: the opening
 	 *                     brace when a closing brace is expected);
 	 *                     used to produce more meaningful errors
 	 */
-	private void advance(String expected, Token relatedToken) {
+	private void advance(int expected, Token relatedToken) {
+		advance(expected, null, relatedToken);
+	}
+
+	/**
+	 * Consume the next token, which is expected to have `id` known only at
+	 * runtime.
+	 *
+	 * @param expected - the expected value of the next token's `id`
+	 *                 property (in the case of punctuators) or
+	 *                 `value` property (in the case of identifiers
+	 *                 and literals); if unspecified, any token will
+	 *                 be accepted
+	 */
+	private void advance(String expected) {
+		int kind = StringUtils.isNotEmpty(expected) ? TokenIds.of(expected) : TokenIds.NONE;
+		// Ids, which aren't registered, share the same kind, so they are compared as strings
+		advance(kind, kind == TokenIds.OTHER ? expected : null, null);
+	}
+
+	private void advance(int expected, String otherId, Token relatedToken) {
 		Token nextToken = state.nextToken();
 
-		switch (state.currToken().getId()) {
-			case "(number)":
-				if (nextToken.getId().equals(".")) {
-					warning("W005", state.currToken());
-				}
-				break;
-			case "-":
-				if (nextToken.getId().equals("-") || nextToken.getId().equals("--")) {
-					warning("W006");
-				}
-				break;
-			case "+":
-				if (nextToken.getId().equals("+") || nextToken.getId().equals("++")) {
-					warning("W007");
-				}
-				break;
+		int currKind = state.currToken().getKindId();
+		if (currKind == TokenIds.NUMBER) {
+			if (nextToken.getKindId() == TokenIds.DOT) {
+				warning("W005", state.currToken());
+			}
+		} else if (currKind == TokenIds.MINUS) {
+			if (nextToken.getKindId() == TokenIds.MINUS || nextToken.getKindId() == TokenIds.DECREMENT) {
+				warning("W006");
+			}
+		} else if (currKind == TokenIds.PLUS) {
+			if (nextToken.getKindId() == TokenIds.PLUS || nextToken.getKindId() == TokenIds.INCREMENT) {
+				warning("W007");
+			}
 		}
 
-		if (StringUtils.isNotEmpty(expected) && !nextToken.getId().equals(expected)) {
+		if (otherId != null ? !nextToken.getId().equals(otherId)
+				: expected != TokenIds.NONE && nextToken.getKindId() != expected) {
+			// String id is needed only for reporting
+			String expectedId = otherId != null ? otherId : TokenIds.idOf(expected);
 			if (relatedToken != null) {
-				if (nextToken.getId().equals("(end)")) {
+				if (nextToken.getKindId() == TokenIds.END) {
 					error("E019", relatedToken, relatedToken.getId());
 				} else {
 					error(
 							"E020",
 							nextToken,
-							expected,
+							expectedId,
 							relatedToken.getId(),
 							String.valueOf(relatedToken.getLine()),
 							nextToken.getValue());
 				}
-			} else if (nextToken.getType() != Token.Type.IDENTIFIER || !nextToken.getValue().equals(expected)) {
-				warning("E021", nextToken, expected, nextToken.getValue());
+			} else if (nextToken.getType() != Token.Type.IDENTIFIER || !nextToken.getValue().equals(expectedId)) {
+				warning("E021", nextToken, expectedId, nextToken.getValue());
 			}
 		}
-
 		state.setPrevToken(state.currToken());
 		state.setCurrToken(state.nextToken());
 		for (;;) {
-			state.setNextToken(lookahead.size() > 0 ? lookahead.remove(0) : null);
+			state.setNextToken(lookahead.poll());
 			if (state.nextToken() == null)
 				state.setNextToken(lex.token());
 
@@ -900,7 +919,7 @@ public class JSHint {
 				quit("E041", state.currToken());
 			}
 
-			if (state.nextToken().getId().equals("(end)") || state.nextToken().getId().equals("(error)")) {
+			if (state.nextToken().getKindId() == TokenIds.END || state.nextToken().getKindId() == TokenIds.ERROR) {
 				return;
 			}
 
@@ -911,7 +930,7 @@ public class JSHint {
 			if (state.nextToken().isSpecial()) {
 				lintingDirective(state.nextToken(), state.currToken());
 			} else {
-				if (!state.nextToken().getId().equals("(endline)")) {
+				if (state.nextToken().getKindId() != TokenIds.ENDLINE) {
 					break;
 				}
 			}
@@ -926,7 +945,7 @@ public class JSHint {
 	 */
 	private boolean isOperator(Token token) {
 		return token.getFirstToken() != null || token.getRight() != null || token.getLeft() != null
-				|| token.getId().equals("yield") || token.getId().equals("await");
+				|| token.getKindId() == TokenIds.YIELD || token.getKindId() == TokenIds.AWAIT;
 	}
 
 	private boolean isEndOfExpr() {
@@ -938,11 +957,11 @@ public class JSHint {
 	}
 
 	private boolean isEndOfExpr(int context, Token curr, Token next) {
-		if (next.getId().equals("in") && (context & ProdParams.NOIN) != 0) {
+		if (next.getKindId() == TokenIds.IN && (context & ProdParams.NOIN) != 0) {
 			return true;
 		}
 
-		if (next.getId().equals(";") || next.getId().equals("}") || next.getId().equals(":")) {
+		if (next.getKindId() == TokenIds.SEMICOLON || next.getKindId() == TokenIds.RBRACE || next.getKindId() == TokenIds.COLON) {
 			return true;
 		}
 		if (next.isInfix() == curr.isInfix() || curr.getLtBoundary() == Token.BoundaryType.AFTER ||
@@ -987,7 +1006,7 @@ public class JSHint {
 
 		state.getNameStack().push();
 
-		if (state.nextToken().getId().equals("(end)"))
+		if (state.nextToken().getKindId() == TokenIds.END)
 			error("E006", state.currToken());
 
 		advance();
@@ -1034,13 +1053,13 @@ public class JSHint {
 
 				advance();
 
-				if (isArray && state.currToken().getId().equals("(")
-						&& state.nextToken().getId().equals(")")) {
+				if (isArray && state.currToken().getKindId() == TokenIds.LPAREN
+						&& state.nextToken().getKindId() == TokenIds.RPAREN) {
 					warning("W009", state.currToken());
 				}
 
-				if (isObject && state.currToken().getId().equals("(")
-						&& state.nextToken().getId().equals(")")) {
+				if (isObject && state.currToken().getKindId() == TokenIds.LPAREN
+						&& state.nextToken().getKindId() == TokenIds.RPAREN) {
 					warning("W010", state.currToken());
 				}
 
@@ -1097,7 +1116,7 @@ public class JSHint {
 	private boolean parseComma(boolean peek, boolean property, boolean allowTrailing) {
 		if (!peek) {
 			nobreakcomma(state.currToken(), state.nextToken());
-			advance(",");
+			advance(TokenIds.COMMA);
 		} else {
 			nobreakcomma(state.prevToken(), state.currToken());
 		}
@@ -1276,8 +1295,8 @@ public class JSHint {
 			_this.setArity(Token.ArityType.UNARY);
 			_this.setRight(expression(context, 150));
 
-			if (_this.getId().equals("++") || _this.getId().equals("--")) {
-				if (state.getOption().test("plusplus")) {
+			if (_this.getKindId() == TokenIds.INCREMENT || _this.getKindId() == TokenIds.DECREMENT) {
+				if (state.getCompiledOption().test(CompiledOptions.PLUSPLUS)) {
 					warning("W016", _this, _this.getId());
 				}
 
@@ -1508,7 +1527,7 @@ public class JSHint {
 			if (!w) {
 				nobreaknonadjacent(state.prevToken(), state.currToken());
 			}
-			if ((s.equals("in") || s.equals("instanceof")) && left.getId().equals("!")) {
+			if ((s.equals("in") || s.equals("instanceof")) && left.getKindId() == TokenIds.NOT) {
 				warning("W018", left, "!");
 			}
 			if (f != null) {
@@ -1597,11 +1616,11 @@ public class JSHint {
 				quit("E041", state.currToken());
 			}
 
-			if (left.getId().equals("!")) {
+			if (left.getKindId() == TokenIds.NOT) {
 				warning("W018", left, "!");
 			}
 
-			if (right.getId().equals("!")) {
+			if (right.getKindId() == TokenIds.NOT) {
 				warning("W018", right, "!");
 			}
 
@@ -1619,7 +1638,7 @@ public class JSHint {
 	 * @return
 	 */
 	private boolean beginsUnaryExpression(Token token) {
-		return token.getArity() == Token.ArityType.UNARY && !token.getId().equals("++") && !token.getId().equals("--");
+		return token.getArity() == Token.ArityType.UNARY && token.getKindId() != TokenIds.INCREMENT && token.getKindId() != TokenIds.DECREMENT;
 	}
 
 	private static Map<String, List<String>> typeofValues = new HashMap<String, List<String>>();
@@ -1700,7 +1719,7 @@ public class JSHint {
 
 		// permit use of "eval" members of objects
 		else if (left.getType() == Token.Type.IDENTIFIER) {
-			if (state.getOption().test("node") && left.getValue().equals("global")) {
+			if (state.getCompiledOption().test(CompiledOptions.NODE) && left.getValue().equals("global")) {
 				isGlobal = true;
 			}
 
@@ -1845,23 +1864,23 @@ public class JSHint {
 			state.getFunct().getScope().getBlock().reassign(left.getValue(), left);
 		}
 
-		if (left.getId().equals(".")) {
+		if (left.getKindId() == TokenIds.DOT) {
 			if (left.getLeft() == null || left.getLeft().getValue().equals("arguments") && !state.isStrict()) {
 				warning("W143", assignToken);
 			}
 
 			state.getNameStack().set(state.prevToken());
 			return true;
-		} else if (left.getId().equals("{") || left.getId().equals("[")) {
+		} else if (left.getKindId() == TokenIds.LBRACE || left.getKindId() == TokenIds.LBRACKET) {
 			if (!allowDestructuring || left.getDestructAssign() == null) {
-				if (left.getId().equals("{") || left.getLeft() == null) {
+				if (left.getKindId() == TokenIds.LBRACE || left.getLeft() == null) {
 					warning("E031", assignToken);
 				} else if (left.getLeft().getValue().equals("arguments") && !state.isStrict()) {
 					warning("W143", assignToken);
 				}
 			}
 
-			if (left.getId().equals("[")) {
+			if (left.getKindId() == TokenIds.LBRACKET) {
 				state.getNameStack().set(left.getRight());
 			}
 
@@ -1937,7 +1956,7 @@ public class JSHint {
 	 */
 	private Token bitwise(String s, String f, int p) {
 		return bitwise(s, _this -> context -> left -> {
-			if (state.getOption().test("bitwise")) {
+			if (state.getCompiledOption().test(CompiledOptions.BITWISE)) {
 				warning("W016", _this, _this.getId());
 			}
 			_this.setLeft(left);
@@ -1977,7 +1996,7 @@ public class JSHint {
 	 */
 	private Token bitwiseassignop(String s) {
 		return assignop(s, context -> (left, that) -> {
-			if (state.getOption().test("bitwise")) {
+			if (state.getCompiledOption().test(CompiledOptions.BITWISE)) {
 				warning("W016", that, that.getId());
 			}
 
@@ -2003,7 +2022,7 @@ public class JSHint {
 		x.setLed(_this -> context -> left -> {
 			// this = suffix e.g. "++" punctuator
 			// left = symbol operated e.g. "a" identifier or "a.b" punctuator
-			if (state.getOption().test("plusplus")) {
+			if (state.getCompiledOption().test(CompiledOptions.PLUSPLUS)) {
 				warning("W016", _this, _this.getId());
 			}
 
@@ -2134,7 +2153,7 @@ public class JSHint {
 		// can continue as though an identifier were found. The semicolon token
 		// should not be consumed in this way so that the parser interprets it as
 		// a statement delimeter;
-		if (!state.nextToken().getId().equals(";")) {
+		if (state.nextToken().getKindId() != TokenIds.SEMICOLON) {
 			advance();
 		}
 
@@ -2151,20 +2170,20 @@ public class JSHint {
 		int i = 0;
 		Token t = null;
 
-		if (!state.nextToken().getId().equals(";") || controlToken.inBracelessBlock()) {
+		if (state.nextToken().getKindId() != TokenIds.SEMICOLON || controlToken.inBracelessBlock()) {
 			return;
 		}
 		for (;;) {
 			do {
 				t = peek(i);
 				i += 1;
-			} while (!t.getId().equals("(end)") && t.getId().equals("(comment)"));
+			} while (t.getKindId() != TokenIds.END && t.getKindId() == TokenIds.COMMENT);
 
 			if (t.isReach()) {
 				return;
 			}
-			if (!t.getId().equals("(endline)")) {
-				if (t.getId().equals("function")) {
+			if (t.getKindId() != TokenIds.ENDLINE) {
+				if (t.getKindId() == TokenIds.FUNCTION) {
 					if (state.getOption().get("latedef").equals(true)) {
 						warning("W026", t);
 					}
@@ -2184,7 +2203,7 @@ public class JSHint {
 	 * @param stmt token describing the statement under consideration
 	 */
 	private void parseFinalSemicolon(Token stmt) {
-		if (!state.nextToken().getId().equals(";")) {
+		if (state.nextToken().getKindId() != TokenIds.SEMICOLON) {
 			// don't complain about unclosed templates / strings
 			if (state.nextToken().isUnclosed()) {
 				advance();
@@ -2192,12 +2211,12 @@ public class JSHint {
 			}
 
 			boolean sameLine = startLine(state.nextToken()) == state.currToken().getLine() &&
-					!state.nextToken().getId().equals("(end)");
+					state.nextToken().getKindId() != TokenIds.END;
 			boolean blockEnd = checkPunctuator(state.nextToken(), "}");
 
-			if (sameLine && !blockEnd && !(stmt.getId().equals("do") && state.inES6(true))) {
+			if (sameLine && !blockEnd && !(stmt.getKindId() == TokenIds.DO && state.inES6(true))) {
 				errorAt("E058", state.currToken().getLine(), state.currToken().getCharacter());
-			} else if (!state.getOption().test("asi")) {
+			} else if (!state.getCompiledOption().test(CompiledOptions.ASI)) {
 
 				// If this is the last statement in a block that ends on the same line
 				// *and* option lastsemic is on, ignore the warning. Otherwise, issue
@@ -2207,7 +2226,7 @@ public class JSHint {
 				}
 			}
 		} else {
-			advance(";");
+			advance(TokenIds.SEMICOLON);
 		}
 	}
 
@@ -2226,8 +2245,8 @@ public class JSHint {
 
 		context |= ProdParams.INITIAL;
 
-		if (t.getId().equals(";")) {
-			advance(";");
+		if (t.getKindId() == TokenIds.SEMICOLON) {
+			advance(TokenIds.SEMICOLON);
 			return null;
 		}
 
@@ -2243,9 +2262,9 @@ public class JSHint {
 			res = false;
 		}
 
-		if (t.isIdentifier() && !res && peek().getId().equals(":")) {
+		if (t.isIdentifier() && !res && peek().getKindId() == TokenIds.COLON) {
 			advance();
-			advance(":");
+			advance(TokenIds.COLON);
 
 			hasOwnScope = true;
 			state.getFunct().getScope().stack();
@@ -2260,7 +2279,7 @@ public class JSHint {
 
 		// Is it a lonely block?
 
-		if (t.getId().equals("{")) {
+		if (t.getKindId() == TokenIds.LBRACE) {
 			// Is it a switch case block?
 			//
 			// switch (foo) {
@@ -2296,7 +2315,7 @@ public class JSHint {
 			if (!state.getOption().get("expr").test() && (r == null || !r.isExps())) {
 				warning("W030", state.currToken());
 			} else if (state.getOption().get("nonew").test() && r != null && r.getLeft() != null
-					&& r.getId().equals("(") && r.getLeft().getId().equals("new")) {
+					&& r.getKindId() == TokenIds.LPAREN && r.getLeft().getKindId() == TokenIds.NEW) {
 				warning("W031", t);
 			}
 			parseFinalSemicolon(t);
@@ -2324,15 +2343,15 @@ public class JSHint {
 		List<Token> a = new ArrayList<Token>();
 		Token p;
 
-		while (!state.nextToken().isReach() && !state.nextToken().getId().equals("(end)")) {
-			if (state.nextToken().getId().equals(";")) {
+		while (!state.nextToken().isReach() && state.nextToken().getKindId() != TokenIds.END) {
+			if (state.nextToken().getKindId() == TokenIds.SEMICOLON) {
 				p = peek();
 
-				if (p == null || (!p.getId().equals("(") && !p.getId().equals("["))) {
+				if (p == null || (p.getKindId() != TokenIds.LPAREN && p.getKindId() != TokenIds.LBRACKET)) {
 					warning("W032");
 				}
 
-				advance(";");
+				advance(TokenIds.SEMICOLON);
 			} else {
 				a.add(statement(context));
 			}
@@ -2347,7 +2366,7 @@ public class JSHint {
 	private void directives() {
 		Token current = state.nextToken();
 
-		while (state.nextToken().getId().equals("(string)")) {
+		while (state.nextToken().getKindId() == TokenIds.STRING) {
 			Token next = peekIgnoreEOL();
 			if (!isEndOfExpr(0, current, next)) {
 				break;
@@ -2380,7 +2399,7 @@ public class JSHint {
 		}
 
 		if (state.isStrict()) {
-			state.getOption().set("undef", true);
+			state.setOptionValue("undef", true);
 		}
 	}
 
@@ -2466,16 +2485,16 @@ public class JSHint {
 		metrics.nestedBlockDepth += 1;
 		metrics.verifyMaxNestedBlockDepthPerFunction();
 
-		if (state.nextToken().getId().equals("{")) {
-			advance("{");
+		if (state.nextToken().getKindId() == TokenIds.LBRACE) {
+			advance(TokenIds.LBRACE);
 
 			// create a new block scope
 			state.getFunct().getScope().stack();
 
-			if (!state.nextToken().getId().equals("}")) {
-				indent += state.getOption().asInt("indent");
+			if (state.nextToken().getKindId() != TokenIds.RBRACE) {
+				indent += state.getCompiledOption().getIndent();
 				while (!ordinary && state.nextToken().getFrom() > indent) {
-					indent += state.getOption().asInt("indent");
+					indent += state.getCompiledOption().getIndent();
 				}
 
 				if (isfunc) {
@@ -2498,13 +2517,13 @@ public class JSHint {
 
 				metrics.statementCount += a.size();
 
-				indent -= state.getOption().asInt("indent");
+				indent -= state.getCompiledOption().getIndent();
 			} else if (isfunc) {
 				// Ensure property is set for functions with empty bodies.
 				state.getFunct().setStrict(state.isStrict());
 			}
 
-			advance("}", t);
+			advance(TokenIds.RBRACE, t);
 
 			if (isfunc) {
 				state.getFunct().getScope().validateParams(isfatarrow);
@@ -2556,16 +2575,16 @@ public class JSHint {
 			// where function declarations are permitted in the statement positions
 			// of IfStatements.
 			boolean supportsFnDecl = state.getFunct().getVerb().equals("if") ||
-					state.currToken().getId().equals("else");
+					state.currToken().getKindId() == TokenIds.ELSE;
 
 			state.nextToken().setInBracelessBlock(true);
-			indent += state.getOption().asInt("indent");
+			indent += state.getCompiledOption().getIndent();
 			// test indentation only if statement is in new line
 			a.add(statement(context));
-			indent -= state.getOption().asInt("indent");
+			indent -= state.getCompiledOption().getIndent();
 
 			if (a.size() > 0 && a.get(0) != null && a.get(0).isDeclaration() &&
-					!(supportsFnDecl && a.get(0).getId().equals("function"))) {
+					!(supportsFnDecl && a.get(0).getKindId() == TokenIds.FUNCTION)) {
 				error("E048", a.get(0), StringUtils.capitalize(a.get(0).getId()));
 			}
 
@@ -2635,7 +2654,7 @@ public class JSHint {
 			// ...it should not be considered as a variable in the current scope. It
 			// will be added to the scope of the new function when the next token is
 			// parsed, so it can be safely ignored for now.
-			if (state.nextToken().getId().equals("=>")) {
+			if (state.nextToken().getKindId() == TokenIds.ARROW) {
 				return _this;
 			}
 
@@ -2786,7 +2805,7 @@ public class JSHint {
 			increaseComplexityCount();
 			that.setLeft(left);
 			that.setRight(expression(context & ~ProdParams.NOIN, 10));
-			advance(":");
+			advance(TokenIds.COLON);
 			expression(context, 10);
 			return that;
 		}, 30);
@@ -2890,19 +2909,19 @@ public class JSHint {
 				return token;
 			}
 
-			if (right.getId().equals("(number)") ||
-					right.getId().equals("(string)") ||
+			if (right.getKindId() == TokenIds.NUMBER ||
+					right.getKindId() == TokenIds.STRING ||
 					right.getValue().equals("null") ||
 					(right.getValue().equals("undefined") && !scope.has("undefined")) ||
 					right.getArity() == Token.ArityType.UNARY ||
-					right.getId().equals("{") ||
-					(right.getId().equals("[") && right.getRight() == null) ||
-					right.getId().equals("(regexp)") ||
-					(right.getId().equals("(template)") && right.getTag() == null)) {
+					right.getKindId() == TokenIds.LBRACE ||
+					(right.getKindId() == TokenIds.LBRACKET && right.getRight() == null) ||
+					right.getKindId() == TokenIds.REGEXP ||
+					(right.getKindId() == TokenIds.TEMPLATE && right.getTag() == null)) {
 				error("E060");
 			}
 
-			if (right.getId().equals("function")) {
+			if (right.getKindId() == TokenIds.FUNCTION) {
 				warning("W139");
 			}
 
@@ -2913,10 +2932,11 @@ public class JSHint {
 			that.setLeft(left);
 			that.setRight(right = expression(context, 130));
 
-			if (left != null && right != null && left.getId().equals("(string)") && right.getId().equals("(string)")) {
+			if (left != null && right != null && left.getKindId() == TokenIds.STRING && right.getKindId() == TokenIds.STRING) {
 				left.setValue(left.getValue() + right.getValue());
 				left.setCharacter(right.getCharacter());
-				if (!state.getOption().test("scripturl") && Reg.isJavascriptUrl(left.getValue())) {
+				if (!state.getCompiledOption().test(CompiledOptions.SCRIPTURL) &&
+						Reg.isJavascriptUrl(left.getValue())) {
 					warning("W050", left);
 				}
 				return left;
@@ -2948,7 +2968,7 @@ public class JSHint {
 				return _this;
 			}
 
-			if (!p.getId().equals(".") && !p.getId().equals("[")) {
+			if (p.getKindId() != TokenIds.DOT && p.getKindId() != TokenIds.LBRACKET) {
 				warning("W051");
 			}
 			_this.setFirstTokens(p);
@@ -2962,7 +2982,7 @@ public class JSHint {
 		}).setExps(true);
 
 		prefix("~", _this -> context -> rbp -> {
-			if (state.getOption().test("bitwise")) {
+			if (state.getCompiledOption().test(CompiledOptions.BITWISE)) {
 				warning("W016", _this, "~");
 			}
 			_this.setArity(Token.ArityType.UNARY);
@@ -3028,7 +3048,7 @@ public class JSHint {
 			}
 
 			Token c = expression(context, 155);
-			if (c != null && !c.getId().equals("function")) {
+			if (c != null && c.getKindId() != TokenIds.FUNCTION) {
 				if (c.isIdentifier()) {
 					switch (c.getValue()) {
 						case "Number":
@@ -3044,7 +3064,7 @@ public class JSHint {
 							}
 							break;
 						case "Function":
-							if (!state.getOption().test("evil")) {
+							if (!state.getCompiledOption().test(CompiledOptions.EVIL)) {
 								warning("W054");
 							}
 							break;
@@ -3053,7 +3073,7 @@ public class JSHint {
 						case "this":
 							break;
 						default:
-							if (!c.getId().equals("function")) {
+							if (c.getKindId() != TokenIds.FUNCTION) {
 								char i = c.getValue().charAt(0);
 								if (state.getOption().get("newcap").test() && (i < 'A' || i > 'Z') &&
 										!state.getFunct().getScope().isPredefined(c.getValue())) {
@@ -3062,7 +3082,7 @@ public class JSHint {
 							}
 					}
 				} else {
-					if (!c.getId().equals(".") && !c.getId().equals("[") && !c.getId().equals("(")) {
+					if (c.getKindId() != TokenIds.DOT && c.getKindId() != TokenIds.LBRACKET && c.getKindId() != TokenIds.LPAREN) {
 						warning("W056", state.currToken());
 					}
 				}
@@ -3070,7 +3090,7 @@ public class JSHint {
 				if (!state.getOption().get("supernew").test())
 					warning("W057", _this);
 			}
-			if (!state.nextToken().getId().equals("(") && !state.getOption().get("supernew").test()) {
+			if (state.nextToken().getKindId() != TokenIds.LPAREN && !state.getOption().get("supernew").test()) {
 				warning("W058", state.currToken(), state.currToken().getValue());
 			}
 			_this.setRight(c);
@@ -3102,7 +3122,7 @@ public class JSHint {
 
 			// Class Declaration: 'class <Classname> extends <Superclass>'
 			if (state.nextToken().getValue().equals("extends")) {
-				advance("extends");
+				advance(TokenIds.EXTENDS);
 				expression(context, 0);
 			}
 
@@ -3144,7 +3164,7 @@ public class JSHint {
 
 			// Class Declaration: 'class <Classname> extends <Superclass>'
 			if (state.nextToken().getValue().equals("extends")) {
-				advance("extends");
+				advance(TokenIds.EXTENDS);
 				expression(context, 0);
 			}
 
@@ -3181,12 +3201,12 @@ public class JSHint {
 					warning("W059", left, m);
 				else if (state.isStrict())
 					error("E008");
-			} else if (!state.getOption().test("evil") && left != null && left.getValue().equals("document") &&
-					(m.equals("write") || m.equals("writeln"))) {
+			} else if (!state.getCompiledOption().test(CompiledOptions.EVIL) && left != null &&
+					left.getValue().equals("document") && (m.equals("write") || m.equals("writeln"))) {
 				warning("W060", left);
 			}
 
-			if (!state.getOption().test("evil") && (m.equals("eval") || m.equals("execScript"))) {
+			if (!state.getCompiledOption().test(CompiledOptions.EVIL) && (m.equals("eval") || m.equals("execScript"))) {
 				if (isGlobalEval(left)) {
 					warning("W061");
 				}
@@ -3197,11 +3217,11 @@ public class JSHint {
 
 		infix("(", context -> (left, that) -> {
 			if (state.getOption().test("immed") && left != null && !left.isImmed()
-					&& left.getId().equals("function")) {
+					&& left.getKindId() == TokenIds.FUNCTION) {
 				warning("W062");
 			}
 
-			if (state.getOption().test("asi") && checkPunctuators(state.prevToken(), ")", "]") &&
+			if (state.getCompiledOption().test(CompiledOptions.ASI) && checkPunctuators(state.prevToken(), ")", "]") &&
 					state.prevToken().getLine() != startLine(state.currToken())) {
 				warning("W014", state.currToken(), state.currToken().getId());
 			}
@@ -3225,18 +3245,18 @@ public class JSHint {
 				}
 			}
 
-			if (!state.nextToken().getId().equals(")")) {
+			if (state.nextToken().getKindId() != TokenIds.RPAREN) {
 				for (;;) {
 					spreadrest("spread");
 
 					p.add(expression(context, 10));
 					n += 1;
-					if (!state.nextToken().getId().equals(",")) {
+					if (state.nextToken().getKindId() != TokenIds.COMMA) {
 						break;
 					}
 					parseComma(false, false, true);
 
-					if (state.nextToken().getId().equals(")")) {
+					if (state.nextToken().getKindId() == TokenIds.RPAREN) {
 						if (!state.inES8()) {
 							warning("W119", state.currToken(), "Trailing comma in arguments lists", "8");
 						}
@@ -3246,13 +3266,13 @@ public class JSHint {
 				}
 			}
 
-			advance(")");
+			advance(TokenIds.RPAREN);
 
 			if (left != null) {
 				if (!state.inES5() && left.getValue().equals("parseInt") && n == 1) {
 					warning("W065", state.currToken());
 				}
-				if (!state.getOption().test("evil")) {
+				if (!state.getCompiledOption().test(CompiledOptions.EVIL)) {
 					if (left.getValue().equals("eval") || left.getValue().equals("Function") ||
 							left.getValue().equals("execScript")) {
 						warning("W061", left);
@@ -3264,11 +3284,11 @@ public class JSHint {
 						// also technically incompatable with prior versions of JSHint (due
 						// to the fact that the behavior was never formally documented). This
 						// branch should be enabled as part of a major release.
-						// if (p.size() > 0 && p.get(0) != null && p.get(0).getId().equals("(string)"))
+						// if (p.size() > 0 && p.get(0) != null && p.get(0).getKindId() == TokenIds.STRING)
 						// {
 						// addEvalCode(left, p.get(0));
 						// }
-					} else if (p.size() > 0 && p.get(0) != null && p.get(0).getId().equals("(string)") &&
+					} else if (p.size() > 0 && p.get(0) != null && p.get(0).getKindId() == TokenIds.STRING &&
 							(left.getValue().equals("setTimeout") ||
 									left.getValue().equals("setInterval"))) {
 						warning("W066", left);
@@ -3276,7 +3296,7 @@ public class JSHint {
 					}
 
 					// window.setTimeout/setInterval
-					else if (p.size() > 0 && p.get(0) != null && p.get(0).getId().equals("(string)") &&
+					else if (p.size() > 0 && p.get(0) != null && p.get(0).getKindId() == TokenIds.STRING &&
 							left.getValue().equals(".") &&
 							left.getLeft().getValue().equals("window") &&
 							(left.getRight() != null && (left.getRight().getValue().equals("setTimeout") || // JSHINT_BUG:
@@ -3293,10 +3313,10 @@ public class JSHint {
 						addEvalCode(left, p.get(0));
 					}
 				}
-				if (!left.isIdentifier() && !left.getId().equals(".") && !left.getId().equals("[")
-						&& !left.getId().equals("=>") &&
-						!left.getId().equals("(") && !left.getId().equals("&&") && !left.getId().equals("||")
-						&& !left.getId().equals("?") &&
+				if (!left.isIdentifier() && left.getKindId() != TokenIds.DOT && left.getKindId() != TokenIds.LBRACKET
+						&& left.getKindId() != TokenIds.ARROW &&
+						left.getKindId() != TokenIds.LPAREN && left.getKindId() != TokenIds.AND && left.getKindId() != TokenIds.OR
+						&& left.getKindId() != TokenIds.QUESTION &&
 						!(state.inES6() && left.isFunctor())) {
 					warning("W067", that);
 				}
@@ -3316,7 +3336,7 @@ public class JSHint {
 			boolean isNecessary = !state.getOption().test("singleGroups");
 			Token pn = peekThroughParens(1);
 
-			if (state.nextToken().getId().equals("function")) {
+			if (state.nextToken().getKindId() == TokenIds.FUNCTION) {
 				state.nextToken().setImmed(true);
 				triggerFnExpr = true;
 			}
@@ -3341,11 +3361,11 @@ public class JSHint {
 
 			List<Token> exprs = new ArrayList<Token>();
 
-			if (!state.nextToken().getId().equals(")")) {
+			if (state.nextToken().getKindId() != TokenIds.RPAREN) {
 				for (;;) {
 					exprs.add(expression(context, 10));
 
-					if (!state.nextToken().getId().equals(",")) {
+					if (state.nextToken().getKindId() != TokenIds.COMMA) {
 						break;
 					}
 
@@ -3357,11 +3377,11 @@ public class JSHint {
 				}
 			}
 
-			advance(")", _this);
+			advance(TokenIds.RPAREN, _this);
 			if (state.getOption().test("immed") && exprs.size() > 0 && exprs.get(0) != null
-					&& exprs.get(0).getId().equals("function")) {
-				if (!state.nextToken().getId().equals("(") &&
-						!state.nextToken().getId().equals(".") && !state.nextToken().getId().equals("[")) {
+					&& exprs.get(0).getKindId() == TokenIds.FUNCTION) {
+				if (state.nextToken().getKindId() != TokenIds.LPAREN &&
+						state.nextToken().getKindId() != TokenIds.DOT && state.nextToken().getKindId() != TokenIds.LBRACKET) {
 					warning("W068", _this);
 				}
 			}
@@ -3382,7 +3402,7 @@ public class JSHint {
 					isNecessary =
 							// Used to distinguish from an ExpressionStatement which may not
 							// begin with the `{` and `function` tokens
-							(opening.isBeginsStmt() && (ret.getId().equals("{") || triggerFnExpr)) ||
+							(opening.isBeginsStmt() && (ret.getKindId() == TokenIds.LBRACE || triggerFnExpr)) ||
 					// Used to signal that a function expression is being supplied to
 					// some other operator.
 									(triggerFnExpr &&
@@ -3390,24 +3410,24 @@ public class JSHint {
 					// necessary, the grouping operator should be the left-hand-side of
 					// some other operator--either within the parenthesis or directly
 					// following them.
-											(!isEndOfExpr() || !state.prevToken().getId().equals("}")))
+											(!isEndOfExpr() || state.prevToken().getKindId() != TokenIds.RBRACE))
 									||
 					// Used to demarcate an arrow function as the left-hand side of some
 					// operator.
-									(ret.getId().equals("=>") && !isEndOfExpr()) ||
+									(ret.getKindId() == TokenIds.ARROW && !isEndOfExpr()) ||
 					// Used as the return value of a single-statement arrow function
-									(ret.getId().equals("{") && preceeding.getId().equals("=>")) ||
+									(ret.getKindId() == TokenIds.LBRACE && preceeding.getKindId() == TokenIds.ARROW) ||
 					// Used to cover a unary expression as the left-hand side of the
 					// exponentiation operator
-									(beginsUnaryExpression(ret) && state.nextToken().getId().equals("**")) ||
+									(beginsUnaryExpression(ret) && state.nextToken().getKindId() == TokenIds.EXPONENT) ||
 					// Used to delineate an integer number literal from a dereferencing
 					// punctuator (otherwise interpreted as a decimal point)
 									(ret.getType() == Token.Type.NUMBER &&
 											checkPunctuator(pn, ".") && StringUtils.isNumeric(ret.getValue()))
 									|| // PORT INFO: test regexp /^\d+$/ was replaced with StringUtils method
 					// Used to wrap object destructuring assignment
-									(opening.isBeginsStmt() && ret.getId().equals("=")
-											&& ret.getLeft().getId().equals("{"));
+									(opening.isBeginsStmt() && ret.getKindId() == TokenIds.ASSIGN
+											&& ret.getLeft().getKindId() == TokenIds.LBRACE);
 				}
 			}
 
@@ -3436,7 +3456,7 @@ public class JSHint {
 		infix("[", context -> (left, that) -> {
 			boolean canUseDot = false;
 
-			if (state.getOption().test("asi") && checkPunctuators(state.prevToken(), ")", "]") &&
+			if (state.getCompiledOption().test(CompiledOptions.ASI) && checkPunctuators(state.prevToken(), ")", "]") &&
 					state.prevToken().getLine() != startLine(state.currToken())) {
 				warning("W014", state.currToken(), state.currToken().getId());
 			}
@@ -3444,7 +3464,7 @@ public class JSHint {
 			Token e = expression(context & ~ProdParams.NOIN, 10);
 
 			if (e != null && e.getType() == Token.Type.STRING) {
-				if (!state.getOption().test("evil")
+				if (!state.getCompiledOption().test(CompiledOptions.EVIL)
 						&& (e.getValue().equals("eval") || e.getValue().equals("execScript"))) {
 					if (isGlobalEval(left)) {
 						warning("W061");
@@ -3471,7 +3491,7 @@ public class JSHint {
 					}
 				}
 			}
-			advance("]", that);
+			advance(TokenIds.RBRACKET, that);
 
 			if (e != null && e.getValue().equals("hasOwnProperty") && state.nextToken().getValue().equals("=")) {
 				warning("W001");
@@ -3496,13 +3516,13 @@ public class JSHint {
 			boolean b = state.currToken().getLine() != startLine(state.nextToken());
 			_this.setFirstTokens();
 			if (b) {
-				indent += state.getOption().asInt("indent");
-				if (state.nextToken().getFrom() == indent + state.getOption().asInt("indent")) {
-					indent += state.getOption().asInt("indent");
+				indent += state.getCompiledOption().getIndent();
+				if (state.nextToken().getFrom() == indent + state.getCompiledOption().getIndent()) {
+					indent += state.getCompiledOption().getIndent();
 				}
 			}
-			while (!state.nextToken().getId().equals("(end)")) {
-				while (state.nextToken().getId().equals(",")) {
+			while (state.nextToken().getKindId() != TokenIds.END) {
+				while (state.nextToken().getKindId() == TokenIds.COMMA) {
 					if (!state.getOption().get("elision").test()) {
 						if (!state.inES5()) {
 							// Maintain compat with old options --- ES5 mode without
@@ -3511,38 +3531,38 @@ public class JSHint {
 						} else {
 							warning("W128");
 							do {
-								advance(",");
-							} while (state.nextToken().getId().equals(","));
+								advance(TokenIds.COMMA);
+							} while (state.nextToken().getKindId() == TokenIds.COMMA);
 							continue;
 						}
 					}
-					advance(",");
+					advance(TokenIds.COMMA);
 				}
 
-				if (state.nextToken().getId().equals("]")) {
+				if (state.nextToken().getKindId() == TokenIds.RBRACKET) {
 					break;
 				}
 
 				spreadrest("spread");
 
 				_this.addFirstTokens(expression(context, 10));
-				if (state.nextToken().getId().equals(",")) {
+				if (state.nextToken().getKindId() == TokenIds.COMMA) {
 					parseComma(false, false, true);
-					if (state.nextToken().getId().equals("]") && !state.inES5()) {
+					if (state.nextToken().getKindId() == TokenIds.RBRACKET && !state.inES5()) {
 						warning("W070", state.currToken());
 						break;
 					}
 				} else {
-					if (state.getOption().test("trailingcomma") && state.inES5()) {
+					if (state.getCompiledOption().test(CompiledOptions.TRAILINGCOMMA) && state.inES5()) {
 						warningAt("W140", state.currToken().getLine(), state.currToken().getCharacter());
 					}
 					break;
 				}
 			}
 			if (b) {
-				indent -= state.getOption().asInt("indent");
+				indent -= state.getCompiledOption().getIndent();
 			}
-			advance("]", _this);
+			advance(TokenIds.RBRACKET, _this);
 			return _this;
 		});
 
@@ -3556,9 +3576,9 @@ public class JSHint {
 
 			boolean b = state.currToken().getLine() != startLine(state.nextToken());
 			if (b) {
-				indent += state.getOption().asInt("indent");
-				if (state.nextToken().getFrom() == indent + state.getOption().asInt("indent")) {
-					indent += state.getOption().asInt("indent");
+				indent += state.getCompiledOption().getIndent();
+				if (state.nextToken().getFrom() == indent + state.getCompiledOption().getIndent()) {
+					indent += state.getCompiledOption().getIndent();
 				}
 			}
 
@@ -3571,13 +3591,13 @@ public class JSHint {
 			// state.setInObjectBody(true); //JSHINT_BUG: this property is not used
 			// anywhere
 			for (;;) {
-				if (state.nextToken().getId().equals("}")) {
+				if (state.nextToken().getKindId() == TokenIds.RBRACE) {
 					break;
 				}
 
 				String nextVal = state.nextToken().getValue();
 				if (state.nextToken().isIdentifier() &&
-						(peekIgnoreEOL().getId().equals(",") || peekIgnoreEOL().getId().equals("}"))) {
+						(peekIgnoreEOL().getKindId() == TokenIds.COMMA || peekIgnoreEOL().getKindId() == TokenIds.RBRACE)) {
 					if (!state.inES6()) {
 						warning("W104", state.nextToken(), "object short notation", "6");
 					}
@@ -3585,14 +3605,14 @@ public class JSHint {
 					saveProperty(props, i, state.nextToken(), false, false, false);
 
 					expression(context, 10);
-				} else if (!peek().getId().equals(":") && (nextVal.equals("get") || nextVal.equals("set"))) {
+				} else if (peek().getKindId() != TokenIds.COLON && (nextVal.equals("get") || nextVal.equals("set"))) {
 					advance(nextVal);
 
 					if (!state.inES5()) {
 						error("E034");
 					}
 
-					if (state.nextToken().getId().equals("[")) {
+					if (state.nextToken().getKindId() == TokenIds.LBRACKET) {
 						// JSHINT_BUG: this returns Token not string
 						// JSHINT_BUG: context isn't passed
 						i = computedPropertyName(0) != null ? "TOKEN" : "";
@@ -3639,7 +3659,7 @@ public class JSHint {
 
 					expression(context, 10);
 				} else {
-					if (state.nextToken().getId().equals("async") && !checkPunctuators(peek(), "(", ":")) {
+					if (state.nextToken().getKindId() == TokenIds.ASYNC && !checkPunctuators(peek(), "(", ":")) {
 						if (!state.inES8()) {
 							warning("W119", state.nextToken(), "async functions", "8");
 						}
@@ -3660,13 +3680,13 @@ public class JSHint {
 							warning("W104", state.nextToken(), "generator functions", "6");
 						}
 
-						advance("*");
+						advance(TokenIds.MULTIPLY);
 						isGeneratorMethod = true;
 					} else {
 						isGeneratorMethod = false;
 					}
 
-					if (state.nextToken().getId().equals("[")) {
+					if (state.nextToken().getKindId() == TokenIds.LBRACKET) {
 						state.getNameStack().set(computedPropertyName(context));
 					} else {
 						state.getNameStack().set(state.nextToken());
@@ -3693,31 +3713,31 @@ public class JSHint {
 								true,
 								false);
 					} else {
-						advance(":");
+						advance(TokenIds.COLON);
 						expression(context, 10);
 					}
 				}
 
 				countMember(i);
 
-				if (state.nextToken().getId().equals(",")) {
+				if (state.nextToken().getKindId() == TokenIds.COMMA) {
 					parseComma(false, true, true);
-					if (state.nextToken().getId().equals(",")) {
+					if (state.nextToken().getKindId() == TokenIds.COMMA) {
 						warning("W070", state.currToken());
-					} else if (state.nextToken().getId().equals("}") && !state.inES5()) {
+					} else if (state.nextToken().getKindId() == TokenIds.RBRACE && !state.inES5()) {
 						warning("W070", state.currToken());
 					}
 				} else {
-					if (state.getOption().test("trailingcomma") && state.inES5()) {
+					if (state.getCompiledOption().test(CompiledOptions.TRAILINGCOMMA) && state.inES5()) {
 						warningAt("W140", state.currToken().getLine(), state.currToken().getCharacter());
 					}
 					break;
 				}
 			}
 			if (b) {
-				indent -= state.getOption().asInt("indent");
+				indent -= state.getCompiledOption().getIndent();
 			}
-			advance("}", _this);
+			advance(TokenIds.RBRACE, _this);
 
 			checkProperties(props);
 			// state.setInObjectBody(false); //JSHINT_BUG: this property is not used
@@ -3737,7 +3757,7 @@ public class JSHint {
 		boolean hasConstructor = false;
 
 		if (state.nextToken().getValue().equals("{")) {
-			advance("{");
+			advance(TokenIds.LBRACE);
 		} else {
 			warning("W116", state.currToken(), "identifier", state.nextToken().getType().toString()); // ?
 			advance();
@@ -3762,7 +3782,7 @@ public class JSHint {
 
 					if (checkPunctuator(state.nextToken(), "*")) {
 						inGenerator = true;
-						advance("*");
+						advance(TokenIds.MULTIPLY);
 
 						if (!state.inES9()) {
 							warning("W119", state.nextToken(), "async generators", "9");
@@ -3848,7 +3868,7 @@ public class JSHint {
 					break;
 			}
 		}
-		advance("}");
+		advance(TokenIds.RBRACE);
 		checkProperties(props);
 
 		state.setInClassBody(false);
@@ -3911,14 +3931,14 @@ public class JSHint {
 			res.setRight(expression(context, 10));
 		}
 
-		advance("for");
+		advance(TokenIds.FOR);
 		if (state.nextToken().getValue().equals("each")) {
-			advance("each");
+			advance(TokenIds.EACH);
 			if (!state.inMoz()) {
 				warning("W118", state.currToken(), "for each");
 			}
 		}
-		advance("(");
+		advance(TokenIds.LPAREN);
 		state.getFunct().getComparray().setState("define");
 		res.setLeft(expression(context, 130));
 		if (state.nextToken().getValue().equals("in") || state.nextToken().getValue().equals("of")) {
@@ -3929,13 +3949,13 @@ public class JSHint {
 		state.getFunct().getComparray().setState("generate");
 		expression(context, 10);
 
-		advance(")");
+		advance(TokenIds.RPAREN);
 		if (state.nextToken().getValue().equals("if")) {
-			advance("if");
-			advance("(");
+			advance(TokenIds.IF);
+			advance(TokenIds.LPAREN);
 			state.getFunct().getComparray().setState("filter");
 			expression(context, 10);
-			advance(")");
+			advance(TokenIds.RPAREN);
 		}
 
 		if (!reversed) {
@@ -3943,7 +3963,7 @@ public class JSHint {
 			res.setRight(expression(context, 10));
 		}
 
-		advance("]");
+		advance(TokenIds.RBRACKET);
 		state.getFunct().getComparray().unstack();
 		return res;
 	}
@@ -3988,21 +4008,21 @@ public class JSHint {
 		}
 
 		if (id == null) {
-			if (state.nextToken().getId().equals("(string)")) {
+			if (state.nextToken().getKindId() == TokenIds.STRING) {
 				id = state.nextToken().getValue();
 				if (!preserve) {
 					advance();
 				}
-			} else if (state.nextToken().getId().equals("(number)")) {
+			} else if (state.nextToken().getKindId() == TokenIds.NUMBER) {
 				id = state.nextToken().getValue();
 				if (!preserve) {
 					advance();
 				}
 			}
 		} else if (id instanceof Token) {
-			if (((Token) id).getId().equals("(string)") || ((Token) id).getId().equals("(identifier)"))
+			if (((Token) id).getKindId() == TokenIds.STRING || ((Token) id).getKindId() == TokenIds.IDENTIFIER)
 				id = ((Token) id).getValue();
-			else if (((Token) id).getId().equals("(number)"))
+			else if (((Token) id).getKindId() == TokenIds.NUMBER)
 				id = ((Token) id).getValue();
 		}
 
@@ -4046,11 +4066,11 @@ public class JSHint {
 		Token next = state.nextToken();
 
 		if (!parsedOpening) {
-			advance("(");
+			advance(TokenIds.LPAREN);
 		}
 
-		if (state.nextToken().getId().equals(")")) {
-			advance(")");
+		if (state.nextToken().getKindId() == TokenIds.RPAREN) {
+			advance(TokenIds.RPAREN);
 			return ContainerFactory.undefinedContainer();
 		}
 
@@ -4059,7 +4079,7 @@ public class JSHint {
 			// are added to the param scope
 			UniversalContainer currentParams = ContainerFactory.createArray();
 
-			if (state.nextToken().getId().equals("{") || state.nextToken().getId().equals("[")) {
+			if (state.nextToken().getKindId() == TokenIds.LBRACE || state.nextToken().getKindId() == TokenIds.LBRACKET) {
 				hasDestructuring = true;
 				List<Token> tokens = destructuringPattern(context, false, false);
 				for (Token t : tokens) {
@@ -4088,11 +4108,11 @@ public class JSHint {
 			// since undefined can be used for missing parameters. Still warn as it is
 			// a possible code smell.
 			if (pastDefault) {
-				if (!state.nextToken().getId().equals("=")) {
+				if (state.nextToken().getKindId() != TokenIds.ASSIGN) {
 					error("W138", state.currToken());
 				}
 			}
-			if (state.nextToken().getId().equals("=")) {
+			if (state.nextToken().getKindId() == TokenIds.ASSIGN) {
 				if (!state.inES6()) {
 					warning("W119", state.nextToken(), "default parameters", "6");
 				}
@@ -4101,7 +4121,7 @@ public class JSHint {
 					error("E062", state.nextToken());
 				}
 
-				advance("=");
+				advance(TokenIds.ASSIGN);
 				pastDefault = true;
 				expression(context, 10);
 			}
@@ -4112,19 +4132,19 @@ public class JSHint {
 				state.getFunct().getScope().addParam(p.asString(0), p.<Token>valueOf(1));
 			}
 
-			if (state.nextToken().getId().equals(",")) {
+			if (state.nextToken().getKindId() == TokenIds.COMMA) {
 				if (pastRest) {
 					warning("W131", state.nextToken());
 				}
 				parseComma(false, false, true);
 			}
 
-			if (state.nextToken().getId().equals(")")) {
-				if (state.currToken().getId().equals(",") && !state.inES8()) {
+			if (state.nextToken().getKindId() == TokenIds.RPAREN) {
+				if (state.currToken().getKindId() == TokenIds.COMMA && !state.inES8()) {
 					warning("W119", state.currToken(), "Trailing comma in function parameters", "8");
 				}
 
-				advance(")", next);
+				advance(TokenIds.RPAREN, next);
 				return ContainerFactory.createObject(
 						"arity",
 						arity,
@@ -4627,6 +4647,7 @@ public class JSHint {
 		boolean isGenerator = type == FunctionType.GENERATOR;
 		boolean isArrow = type == FunctionType.ARROW;
 		UniversalContainer oldOption = state.getOption();
+		CompiledOptions oldCompiledOption = state.getCompiledOption();
 		UniversalContainer oldIgnored = state.getIgnored();
 		boolean isAsync = (context & ProdParams.PRE_ASYNC) != 0;
 
@@ -4640,7 +4661,8 @@ public class JSHint {
 		}
 		context &= ~ProdParams.PRE_ASYNC;
 
-		state.setOption(state.getOption().create());
+		// function options inherit everything from the outer ones until they are changed
+		state.setOption(state.getOption().create(), oldCompiledOption);
 		state.setIgnored(state.getIgnored().create());
 
 		state.setFunct(
@@ -4699,7 +4721,7 @@ public class JSHint {
 			}
 
 			if (loneArg == null) {
-				advance("=>");
+				advance(TokenIds.ARROW);
 			}
 		}
 
@@ -4713,7 +4735,7 @@ public class JSHint {
 		state.getFunct().getMetrics().verifyMaxStatementsPerFunction();
 		state.getFunct().getMetrics().verifyMaxComplexityPerFunction();
 		state.getFunct().setUnusedOption(state.getOption().get("unused"));
-		state.setOption(oldOption);
+		state.setOption(oldOption, oldCompiledOption);
 		state.setIgnored(oldIgnored);
 		state.getFunct().setLast(state.currToken().getLine());
 		state.getFunct().setLastCharacter(state.currToken().getCharacter());
@@ -4844,7 +4866,7 @@ public class JSHint {
 	private Token metaProperty(int context, String name, Runnable c) {
 		if (checkPunctuator(state.nextToken(), ".")) {
 			String left = state.currToken().getId();
-			advance(".");
+			advance(TokenIds.DOT);
 			String id = identifier(context);
 			state.currToken().setMetaProperty(true);
 			if (!name.equals(id)) {
@@ -4884,9 +4906,9 @@ public class JSHint {
 		} else if (checkPunctuator(state.nextToken(), ",")) {
 			identifiers.add(new Token(null, state.currToken()));
 		} else if (checkPunctuator(state.nextToken(), "(")) {
-			advance("(");
+			advance(TokenIds.LPAREN);
 			nextInnerDE(context, openingParsed, isAssignment, identifiers);
-			advance(")");
+			advance(TokenIds.RPAREN);
 		} else {
 			if (isAssignment) {
 				Token assignTarget = expression(context, 20);
@@ -4914,15 +4936,15 @@ public class JSHint {
 		IntConsumer assignmentProperty = c -> {
 			String id = null;
 			if (checkPunctuator(state.nextToken(), "[")) {
-				advance("[");
+				advance(TokenIds.LBRACKET);
 				expression(c, 10);
-				advance("]");
-				advance(":");
+				advance(TokenIds.RBRACKET);
+				advance(TokenIds.COLON);
 				nextInnerDE(context, openingParsed, isAssignment, identifiers);
-			} else if (state.nextToken().getId().equals("(string)") ||
-					state.nextToken().getId().equals("(number)")) {
+			} else if (state.nextToken().getKindId() == TokenIds.STRING ||
+					state.nextToken().getKindId() == TokenIds.NUMBER) {
 				advance();
-				advance(":");
+				advance(TokenIds.COLON);
 				nextInnerDE(context, openingParsed, isAssignment, identifiers);
 			} else {
 				// this id will either be the property name or the property name and the
@@ -4949,7 +4971,7 @@ public class JSHint {
 				}
 
 				if (!isRest && checkPunctuator(state.nextToken(), ":")) {
-					advance(":");
+					advance(TokenIds.COLON);
 					nextInnerDE(context, openingParsed, isAssignment, identifiers);
 				} else if (StringUtils.isNotEmpty(id)) {
 					// in this case we are assigning (not declaring), so check assignment
@@ -4968,7 +4990,7 @@ public class JSHint {
 		Token id, value;
 		if (checkPunctuator(firstToken, "[")) {
 			if (!openingParsed) {
-				advance("[");
+				advance(TokenIds.LBRACKET);
 			}
 			if (checkPunctuator(state.nextToken(), "]")) {
 				warning("W137", state.currToken());
@@ -4986,9 +5008,9 @@ public class JSHint {
 				}
 				if (!isRest && checkPunctuator(state.nextToken(), "=")) {
 					if (checkPunctuator(state.prevToken(), "...")) {
-						advance("]");
+						advance(TokenIds.RBRACKET);
 					} else {
-						advance("=");
+						advance(TokenIds.ASSIGN);
 					}
 					id = state.prevToken();
 					value = expression(context, 10);
@@ -4997,13 +5019,13 @@ public class JSHint {
 					}
 				}
 				if (!checkPunctuator(state.nextToken(), "]")) {
-					advance(",");
+					advance(TokenIds.COMMA);
 				}
 			}
-			advance("]");
+			advance(TokenIds.RBRACKET);
 		} else if (checkPunctuator(firstToken, "{")) {
 			if (!openingParsed) {
-				advance("{");
+				advance(TokenIds.LBRACE);
 			}
 			if (checkPunctuator(state.nextToken(), "}")) {
 				warning("W137", state.currToken());
@@ -5011,7 +5033,7 @@ public class JSHint {
 			while (!checkPunctuator(state.nextToken(), "}")) {
 				assignmentProperty.accept(context);
 				if (checkPunctuator(state.nextToken(), "=")) {
-					advance("=");
+					advance(TokenIds.ASSIGN);
 					id = state.prevToken();
 					value = expression(context, 10);
 					if (value != null && value.isIdentifier() && value.getValue().equals("undefined")) {
@@ -5019,7 +5041,7 @@ public class JSHint {
 					}
 				}
 				if (!checkPunctuator(state.nextToken(), "}")) {
-					advance(",");
+					advance(TokenIds.COMMA);
 					if (checkPunctuator(state.nextToken(), "}")) {
 						// Trailing comma
 						// ObjectBindingPattern: { BindingPropertyList , }
@@ -5027,7 +5049,7 @@ public class JSHint {
 					}
 				}
 			}
-			advance("}");
+			advance(TokenIds.RBRACE);
 		}
 		return identifiers;
 	}
@@ -5068,7 +5090,7 @@ public class JSHint {
 		}
 
 		if (isLet && isMozillaLet()) {
-			advance("(");
+			advance(TokenIds.LPAREN);
 			state.getFunct().getScope().stack();
 			letblock = true;
 			statement.setDeclaration(false);
@@ -5092,14 +5114,14 @@ public class JSHint {
 			// to be omitted. Although this may erroneously allow such forms from
 			// "C-style" `for` statements (i.e. `for (;;) {}`, the `for` statement
 			// logic includes dedicated logic to issue the error for such cases.
-			if (!noin && isConst && !state.nextToken().getId().equals("=")) {
+			if (!noin && isConst && state.nextToken().getKindId() != TokenIds.ASSIGN) {
 				warning("E012", state.currToken(), state.currToken().getValue());
 			}
 
 			for (Token t : tokens) {
 				// It is a Syntax Error if the BoundNames of BindingList contains
 				// "let".
-				if (t.getId().equals("let")) {
+				if (t.getKindId() == TokenIds.LET) {
 					warning("W024", t.getToken(), t.getId());
 				}
 
@@ -5114,11 +5136,11 @@ public class JSHint {
 				}
 			}
 
-			if (state.nextToken().getId().equals("=")) {
+			if (state.nextToken().getKindId() == TokenIds.ASSIGN) {
 				statement.setHasInitializer(true);
 
-				advance("=");
-				if (!noin && peek(0).getId().equals("=") && state.nextToken().isIdentifier()) {
+				advance(TokenIds.ASSIGN);
+				if (!noin && peek(0).getKindId() == TokenIds.ASSIGN && state.nextToken().isIdentifier()) {
 					warning("W120", state.nextToken(), state.nextToken().getValue());
 				}
 				Token id = state.prevToken();
@@ -5146,7 +5168,7 @@ public class JSHint {
 
 			statement.addFirstTokens(names);
 
-			if (!state.nextToken().getId().equals(",")) {
+			if (state.nextToken().getKindId() != TokenIds.COMMA) {
 				break;
 			}
 
@@ -5154,7 +5176,7 @@ public class JSHint {
 			parseComma();
 		}
 		if (letblock) {
-			advance(")");
+			advance(TokenIds.RPAREN);
 			block(context, true, true);
 			statement.setBlock(true);
 			state.getFunct().getScope().unstack();
@@ -5186,7 +5208,7 @@ public class JSHint {
 	 * @return
 	 */
 	private boolean isMozillaLet() {
-		return state.nextToken().getId().equals("(") && state.inMoz();
+		return state.nextToken().getKindId() == TokenIds.LPAREN && state.inMoz();
 	}
 
 	/**
@@ -5207,12 +5229,13 @@ public class JSHint {
 
 		if (state.nextToken().getValue().equals("*")) {
 			delegatingYield = true;
-			advance("*");
+			advance(TokenIds.MULTIPLY);
 		}
 
 		if (_this.getLine() == startLine(state.nextToken())) {
 			if (delegatingYield ||
-					(!state.nextToken().getId().equals(";") && !state.getOption().test("asi") &&
+					(state.nextToken().getKindId() != TokenIds.SEMICOLON &&
+							!state.getCompiledOption().test(CompiledOptions.ASI) &&
 							!state.nextToken().isReach() && state.nextToken().getNud() != null)) {
 				nobreaknonadjacent(state.currToken(), state.nextToken());
 
@@ -5220,16 +5243,16 @@ public class JSHint {
 				_this.setFirstTokens(first);
 
 				if (first.getType() == Token.Type.PUNCTUATOR && first.getValue().equals("=") && !first.isParen()
-						&& !state.getOption().test("boss")) {
+						&& !state.getCompiledOption().test(CompiledOptions.BOSS)) {
 					warningAt("W093", first.getLine(), first.getCharacter());
 				}
 			}
 
-			if (!state.nextToken().getId().equals(")") &&
-					(prev.getLbp() > 30 || (!prev.isAssign() && !isEndOfExpr()) || prev.getId().equals("yield"))) {
+			if (state.nextToken().getKindId() != TokenIds.RPAREN &&
+					(prev.getLbp() > 30 || (!prev.isAssign() && !isEndOfExpr()) || prev.getKindId() == TokenIds.YIELD)) {
 				error("E050", _this);
 			}
-		} else if (!state.getOption().test("asi")) {
+		} else if (!state.getCompiledOption().test(CompiledOptions.ASI)) {
 			nolinebreak(_this); // always warn (Line breaking error)
 		}
 		return _this;
@@ -5249,9 +5272,9 @@ public class JSHint {
 			if (isMozillaLet()) {
 				// create a new block scope we use only for the current expression
 				state.getFunct().getScope().stack();
-				advance("(");
+				advance(TokenIds.LPAREN);
 				state.prevToken().fud(context);
-				advance(")");
+				advance(TokenIds.RPAREN);
 				expression(context, rbp);
 				state.getFunct().getScope().unstack();
 			} else {
@@ -5281,7 +5304,7 @@ public class JSHint {
 			// consideration, the code above would be parsed as two
 			// IdentifierReferences.)
 			boolean nextIsBindingName = next.isIdentifier() && (!isReserved(context, next) ||
-					next.getId().equals("let"));
+					next.getKindId() == TokenIds.LET);
 
 			return nextIsBindingName || checkPunctuators(next, "{", "[") ||
 					isMozillaLet();
@@ -5339,13 +5362,13 @@ public class JSHint {
 					}
 				}
 
-				if (state.nextToken().getId().equals("=")) {
+				if (state.nextToken().getKindId() == TokenIds.ASSIGN) {
 					_this.setHasInitializer(true);
 
 					state.getNameStack().set(state.currToken());
 
-					advance("=");
-					if (peek(0).getId().equals("=") && state.nextToken().isIdentifier()) {
+					advance(TokenIds.ASSIGN);
+					if (peek(0).getKindId() == TokenIds.ASSIGN && state.nextToken().isIdentifier()) {
 						if (!noin &&
 								state.getFunct().getParams() == null ||
 								!state.getFunct().getParams().contains(state.nextToken().getValue())) {
@@ -5366,7 +5389,7 @@ public class JSHint {
 
 				_this.addFirstTokens(names);
 
-				if (!state.nextToken().getId().equals(",")) {
+				if (state.nextToken().getKindId() != TokenIds.COMMA) {
 					break;
 				}
 				_this.setHasComma(true);
@@ -5394,7 +5417,7 @@ public class JSHint {
 					warning("W119", state.nextToken(), "function*", "6");
 				}
 
-				advance("*");
+				advance(TokenIds.MULTIPLY);
 				labelType += "generator ";
 				generator = true;
 			}
@@ -5442,7 +5465,7 @@ public class JSHint {
 					enablesStrictMode) {
 				error("E008", nameToken);
 			}
-			if (state.nextToken().getId().equals("(")
+			if (state.nextToken().getKindId() == TokenIds.LPAREN
 					&& state.nextToken().getLine() == state.currToken().getLine()) {
 				error("E039");
 			}
@@ -5460,7 +5483,7 @@ public class JSHint {
 					warning("W119", state.currToken(), "function*", "6");
 				}
 
-				advance("*");
+				advance(TokenIds.MULTIPLY);
 				generator = true;
 			}
 
@@ -5493,7 +5516,7 @@ public class JSHint {
 			Token t = state.nextToken();
 			increaseComplexityCount();
 			state.setCondition(true);
-			advance("(");
+			advance(TokenIds.LPAREN);
 			Token expr = expression(context, 0);
 
 			if (expr == null) {
@@ -5505,7 +5528,7 @@ public class JSHint {
 			// When the if is within a for-in loop, check if the condition
 			// starts with a negation operator
 			Token forinifcheck = null;
-			if (state.getOption().test("forin") && state.isForinifcheckneeded()) {
+			if (state.getCompiledOption().test(CompiledOptions.FORIN) && state.isForinifcheckneeded()) {
 				state.setForinifcheckneeded(false); // We only need to analyze the first if inside the loop
 				forinifcheck = state.getForinifchecks().size() > 0
 						? state.getForinifchecks().get(state.getForinifchecks().size() - 1)
@@ -5517,7 +5540,7 @@ public class JSHint {
 				}
 			}
 
-			advance(")", t);
+			advance(TokenIds.RPAREN, t);
 			state.setCondition(false);
 			List<Token> s = block(context, true, true);
 
@@ -5530,9 +5553,9 @@ public class JSHint {
 				}
 			}
 
-			if (state.nextToken().getId().equals("else")) {
-				advance("else");
-				if (state.nextToken().getId().equals("if") || state.nextToken().getId().equals("switch")) {
+			if (state.nextToken().getKindId() == TokenIds.ELSE) {
+				advance(TokenIds.ELSE);
+				if (state.nextToken().getKindId() == TokenIds.IF || state.nextToken().getKindId() == TokenIds.SWITCH) {
 					statement(context);
 				} else {
 					block(context, true, true);
@@ -5545,8 +5568,8 @@ public class JSHint {
 			boolean b = false;
 
 			Runnable doCatch = () -> {
-				advance("catch");
-				advance("(");
+				advance(TokenIds.CATCH);
+				advance(TokenIds.LPAREN);
 
 				state.getFunct().getScope().stack("catchparams");
 
@@ -5569,11 +5592,11 @@ public class JSHint {
 					if (!state.inMoz()) {
 						warning("W118", state.currToken(), "catch filter");
 					}
-					advance("if");
+					advance(TokenIds.IF);
 					expression(context, 0);
 				}
 
-				advance(")");
+				advance(TokenIds.RPAREN);
 
 				block(context, false);
 
@@ -5582,7 +5605,7 @@ public class JSHint {
 
 			block(context | ProdParams.TRY_CLAUSE, true);
 
-			while (state.nextToken().getId().equals("catch")) {
+			while (state.nextToken().getKindId() == TokenIds.CATCH) {
 				increaseComplexityCount();
 				if (b && (!state.inMoz())) {
 					warning("W118", state.nextToken(), "multiple catch blocks");
@@ -5591,8 +5614,8 @@ public class JSHint {
 				b = true;
 			}
 
-			if (state.nextToken().getId().equals("finally")) {
-				advance("finally");
+			if (state.nextToken().getKindId() == TokenIds.FINALLY) {
+				advance(TokenIds.FINALLY);
 				block(context, true);
 				return null;
 			}
@@ -5609,9 +5632,9 @@ public class JSHint {
 			state.getFunct().increaseBreakage();
 			state.getFunct().increaseLoopage();
 			increaseComplexityCount();
-			advance("(");
+			advance(TokenIds.LPAREN);
 			checkCondAssignment(expression(context, 0));
-			advance(")", t);
+			advance(TokenIds.RPAREN, t);
 			block(context, true, true);
 			state.getFunct().decreaseBreakage();
 			state.getFunct().decreaseLoopage();
@@ -5626,9 +5649,9 @@ public class JSHint {
 				warning("W085", state.currToken());
 			}
 
-			advance("(");
+			advance(TokenIds.LPAREN);
 			expression(context, 0);
-			advance(")", t);
+			advance(TokenIds.RPAREN, t);
 			block(context, true, true);
 
 			return _this;
@@ -5640,18 +5663,18 @@ public class JSHint {
 			boolean noindent = false;
 
 			state.getFunct().increaseBreakage();
-			advance("(");
+			advance(TokenIds.LPAREN);
 			checkCondAssignment(expression(context, 0));
-			advance(")", t);
+			advance(TokenIds.RPAREN, t);
 			t = state.nextToken();
-			advance("{");
+			advance(TokenIds.LBRACE);
 			state.getFunct().getScope().stack();
 
 			if (state.nextToken().getFrom() == indent)
 				noindent = true;
 
 			if (!noindent)
-				indent += state.getOption().asInt("indent");
+				indent += state.getCompiledOption().getIndent();
 
 			_this.setCases(new ArrayList<Token>());
 
@@ -5682,11 +5705,11 @@ public class JSHint {
 								}
 						}
 
-						advance("case");
+						advance(TokenIds.CASE);
 						_this.getCases().add(expression(context, 0));
 						increaseComplexityCount();
 						g = true;
-						advance(":");
+						advance(TokenIds.COLON);
 						state.getFunct().setVerb("case");
 						break;
 					case "default":
@@ -5713,16 +5736,16 @@ public class JSHint {
 								}
 						}
 
-						advance("default");
+						advance(TokenIds.DEFAULT);
 						g = true;
-						advance(":");
+						advance(TokenIds.COLON);
 						state.getFunct().setVerb("default");
 						break;
 					case "}":
 						if (!noindent)
-							indent -= state.getOption().asInt("indent");
+							indent -= state.getCompiledOption().getIndent();
 
-						advance("}", t);
+						advance(TokenIds.RBRACE, t);
 						state.getFunct().getScope().unstack();
 						state.getFunct().decreaseBreakage();
 						state.getFunct().setVerb("");
@@ -5731,7 +5754,7 @@ public class JSHint {
 						error("E023", state.nextToken(), "}");
 						return null;
 					default:
-						indent += state.getOption().asInt("indent");
+						indent += state.getCompiledOption().getIndent();
 						if (g) {
 							switch (state.currToken().getId()) {
 								case ",":
@@ -5746,8 +5769,8 @@ public class JSHint {
 									return null;
 							}
 						} else {
-							if (state.currToken().getId().equals(":")) {
-								advance(":");
+							if (state.currToken().getKindId() == TokenIds.COLON) {
+								advance(TokenIds.COLON);
 								error("E024", state.currToken(), ":");
 								statements(context);
 							} else {
@@ -5755,7 +5778,7 @@ public class JSHint {
 								return null;
 							}
 						}
-						indent -= state.getOption().asInt("indent");
+						indent -= state.getCompiledOption().getIndent();
 				}
 			}
 		}).setLabelled(true);
@@ -5774,11 +5797,11 @@ public class JSHint {
 				increaseComplexityCount();
 
 				_this.setFirstTokens(block(context, true, true));
-				advance("while");
+				advance(TokenIds.WHILE);
 				Token t = state.nextToken();
-				advance("(");
+				advance(TokenIds.LPAREN);
 				checkCondAssignment(expression(context, 0));
-				advance(")", t);
+				advance(TokenIds.RPAREN, t);
 				state.getFunct().decreaseBreakage();
 				state.getFunct().decreaseLoopage();
 				return _this;
@@ -5795,14 +5818,14 @@ public class JSHint {
 
 			if (t.getValue().equals("each")) {
 				foreachtok = t;
-				advance("each");
+				advance(TokenIds.EACH);
 				if (!state.inMoz()) {
 					warning("W118", state.currToken(), "for each");
 				}
 			}
 
 			if (state.nextToken().isIdentifier() && state.nextToken().getValue().equals("await")) {
-				advance("await");
+				advance(TokenIds.AWAIT);
 				isAsync = true;
 
 				if ((context & ProdParams.ASYNC) == 0) {
@@ -5813,7 +5836,7 @@ public class JSHint {
 			}
 
 			increaseComplexityCount();
-			advance("(");
+			advance(TokenIds.LPAREN);
 
 			// what kind of for(…) statement it is? for(…of…)? for(…in…)? for(…;…;…)?
 			Token nextop = null; // contains the token of the "in" or "of" operator
@@ -5826,17 +5849,17 @@ public class JSHint {
 
 			int headContext = context | ProdParams.NOIN;
 
-			if (state.nextToken().getId().equals("var")) {
-				advance("var");
+			if (state.nextToken().getKindId() == TokenIds.VAR) {
+				advance(TokenIds.VAR);
 				decl = state.currToken().fud(headContext);
 				comma = decl.hasComma() ? decl : null;
 				initializer = decl.hasInitializer() ? decl : null;
-			} else if (state.nextToken().getId().equals("const") ||
+			} else if (state.nextToken().getKindId() == TokenIds.CONST ||
 			// The "let" keyword only signals a lexical binding if it is followed by
 			// an identifier, `{`, or `[`. Otherwise, it should be parsed as an
 			// IdentifierReference (i.e. in a subsquent branch).
-					(state.nextToken().getId().equals("let") &&
-							((afterNext.isIdentifier() && !afterNext.getId().equals("in")) ||
+					(state.nextToken().getKindId() == TokenIds.LET &&
+							((afterNext.isIdentifier() && afterNext.getKindId() != TokenIds.IN) ||
 									checkPunctuators(afterNext, "{", "[")))) {
 				advance(state.nextToken().getId());
 				// create a new block scope
@@ -5857,7 +5880,7 @@ public class JSHint {
 							targets.add(elem.getToken());
 						}
 						if (checkPunctuator(state.nextToken(), "=")) {
-							advance("=");
+							advance(TokenIds.ASSIGN);
 							initializer = state.currToken();
 							expression(headContext, 10);
 						}
@@ -5875,7 +5898,7 @@ public class JSHint {
 					}
 
 					if (checkPunctuator(state.nextToken(), ",")) {
-						advance(",");
+						advance(TokenIds.COMMA);
 
 						if (comma == null) {
 							comma = state.currToken();
@@ -5932,9 +5955,9 @@ public class JSHint {
 				// for ( LeftHandSideExpression in Expression ) Statement
 				// for ( LeftHandSideExpression of AssignmentExpression ) Statement
 				expression(context, bindingPower);
-				advance(")", t);
+				advance(TokenIds.RPAREN, t);
 
-				if (nextop.getValue().equals("in") && state.getOption().test("forin")) {
+				if (nextop.getValue().equals("in") && state.getCompiledOption().test(CompiledOptions.FORIN)) {
 					state.setForinifcheckneeded(true);
 
 					if (state.getForinifchecks() == null) {
@@ -5951,7 +5974,7 @@ public class JSHint {
 
 				List<Token> s = block(context, true, true);
 
-				if (nextop.getValue().equals("in") && state.getOption().test("forin")) {
+				if (nextop.getValue().equals("in") && state.getCompiledOption().test(CompiledOptions.FORIN)) {
 					if (state.getForinifchecks() != null && state.getForinifchecks().size() > 0) {
 						Token check = state.getForinifchecks().remove(state.getForinifchecks().size() - 1);
 
@@ -5976,7 +5999,7 @@ public class JSHint {
 					error("E045", foreachtok);
 				}
 				nolinebreak(state.currToken());
-				advance(";");
+				advance(TokenIds.SEMICOLON);
 				if (decl != null) {
 					for (Token token : decl.getFirstTokens()) {
 						state.getFunct().getScope().initialize(token.getValue());
@@ -5986,24 +6009,24 @@ public class JSHint {
 				// start loopage after the first ; as the next two expressions are executed
 				// on every loop
 				state.getFunct().increaseLoopage();
-				if (!state.nextToken().getId().equals(";")) {
+				if (state.nextToken().getKindId() != TokenIds.SEMICOLON) {
 					checkCondAssignment(expression(context, 0));
 				}
 				nolinebreak(state.currToken());
-				advance(";");
-				if (state.nextToken().getId().equals(";")) {
+				advance(TokenIds.SEMICOLON);
+				if (state.nextToken().getKindId() == TokenIds.SEMICOLON) {
 					error("E021", state.nextToken(), ")", ";");
 				}
-				if (!state.nextToken().getId().equals(")")) {
+				if (state.nextToken().getKindId() != TokenIds.RPAREN) {
 					for (;;) {
 						expression(context, 0);
-						if (!state.nextToken().getId().equals(",")) {
+						if (state.nextToken().getKindId() != TokenIds.COMMA) {
 							break;
 						}
 						parseComma();
 					}
 				}
-				advance(")", t);
+				advance(TokenIds.RPAREN, t);
 				state.getFunct().increaseBreakage();
 				block(context, true, true);
 				state.getFunct().decreaseBreakage();
@@ -6020,10 +6043,10 @@ public class JSHint {
 		stmt("break", _this -> context -> {
 			String v = state.nextToken().getValue();
 
-			if (!state.getOption().test("asi"))
+			if (!state.getCompiledOption().test(CompiledOptions.ASI))
 				nolinebreak(_this);
 
-			if (!state.nextToken().getId().equals(";") && !state.nextToken().isReach() &&
+			if (state.nextToken().getKindId() != TokenIds.SEMICOLON && !state.nextToken().isReach() &&
 					state.currToken().getLine() == startLine(state.nextToken())) {
 				if (!state.getFunct().getScope().getFunct().hasBreakLabel(v)) {
 					warning("W090", state.nextToken(), v);
@@ -6047,10 +6070,10 @@ public class JSHint {
 				warning("W052", state.nextToken(), _this.getValue());
 			}
 
-			if (!state.getOption().test("asi"))
+			if (!state.getCompiledOption().test(CompiledOptions.ASI))
 				nolinebreak(_this);
 
-			if (!state.nextToken().getId().equals(";") && !state.nextToken().isReach()) {
+			if (state.nextToken().getKindId() != TokenIds.SEMICOLON && !state.nextToken().isReach()) {
 				if (state.currToken().getLine() == startLine(state.nextToken())) {
 					if (!state.getFunct().getScope().getFunct().hasBreakLabel(v)) {
 						warning("W090", state.nextToken(), v);
@@ -6067,12 +6090,12 @@ public class JSHint {
 
 		stmt("return", _this -> context -> {
 			if (_this.getLine() == startLine(state.nextToken())) {
-				if (!state.nextToken().getId().equals(";") && !state.nextToken().isReach()) {
+				if (state.nextToken().getKindId() != TokenIds.SEMICOLON && !state.nextToken().isReach()) {
 					Token first = expression(context, 0);
 					_this.setFirstTokens(first);
 
 					if (first != null && first.getType() == Token.Type.PUNCTUATOR && first.getValue().equals("=") &&
-							!first.isParen() && !state.getOption().test("boss")) {
+							!first.isParen() && !state.getCompiledOption().test(CompiledOptions.BOSS)) {
 						warningAt("W093", first.getLine(), first.getCharacter());
 					}
 
@@ -6139,18 +6162,18 @@ public class JSHint {
 					return false;
 				}
 
-				if (next.getId().equals("function")) {
+				if (next.getKindId() == TokenIds.FUNCTION) {
 					return true;
 				}
 
-				if (next.getId().equals("(")) {
+				if (next.getKindId() == TokenIds.LPAREN) {
 					Token afterParens = peekThroughParens(0);
 
-					return afterParens.getId().equals("=>");
+					return afterParens.getKindId() == TokenIds.ARROW;
 				}
 
 				if (next.isIdentifier()) {
-					return peek().getId().equals("=>");
+					return peek().getKindId() == TokenIds.ARROW;
 				}
 
 				return false;
@@ -6203,22 +6226,23 @@ public class JSHint {
 				state.getFunct().setGenerator("yielded");
 
 				if (state.nextToken().getValue().equals("*")) {
-					advance("*");
+					advance(TokenIds.MULTIPLY);
 				}
 
 				// Parse operand
-				if (!isEndOfExpr() && !state.nextToken().getId().equals(",")) {
+				if (!isEndOfExpr() && state.nextToken().getKindId() != TokenIds.COMMA) {
 					if (state.nextToken().getNud() != null) {
 						nobreaknonadjacent(state.currToken(), state.nextToken());
 						_this.setFirstTokens(expression(context, 10));
 
 						if (_this.getFirstToken().getType() == Token.Type.PUNCTUATOR
 								&& _this.getFirstToken().getValue().equals("=") &&
-								!_this.getFirstToken().isParen() && !state.getOption().test("boss")) {
+								!_this.getFirstToken().isParen() &&
+								!state.getCompiledOption().test(CompiledOptions.BOSS)) {
 							warningAt("W093", _this.getFirstToken().getLine(), _this.getFirstToken().getCharacter());
 						}
 					} else if (state.nextToken().getLed() != null) {
-						if (!state.nextToken().getId().equals(",")) {
+						if (state.nextToken().getKindId() != TokenIds.COMMA) {
 							error("W017", state.nextToken());
 						}
 					}
@@ -6252,7 +6276,7 @@ public class JSHint {
 
 			if (state.nextToken().getType() == Token.Type.STRING) {
 				// ModuleSpecifier :: StringLiteral
-				advance("(string)");
+				advance(TokenIds.STRING);
 				return _this;
 			}
 
@@ -6265,22 +6289,22 @@ public class JSHint {
 				if (state.nextToken().getValue().equals(",")) {
 					// ImportClause :: ImportedDefaultBinding , NameSpaceImport
 					// ImportClause :: ImportedDefaultBinding , NamedImports
-					advance(",");
+					advance(TokenIds.COMMA);
 					// At this point, we intentionally fall through to continue matching
 					// either NameSpaceImport or NamedImports.
 					// Discussion:
 					// https://github.com/jshint/jshint/pull/2144#discussion_r23978406
 				} else {
-					advance("from");
-					advance("(string)");
+					advance(TokenIds.FROM);
+					advance(TokenIds.STRING);
 					return _this;
 				}
 			}
 
-			if (state.nextToken().getId().equals("*")) {
+			if (state.nextToken().getKindId() == TokenIds.MULTIPLY) {
 				// ImportClause :: NameSpaceImport
-				advance("*");
-				advance("as");
+				advance(TokenIds.MULTIPLY);
+				advance(TokenIds.AS);
 				if (state.nextToken().isIdentifier()) {
 					_this.setName(identifier(context));
 					// Import bindings are immutable (see ES6 8.1.1.5.5)
@@ -6288,21 +6312,21 @@ public class JSHint {
 				}
 			} else {
 				// ImportClause :: NamedImports
-				advance("{");
+				advance(TokenIds.LBRACE);
 				for (;;) {
 					if (state.nextToken().getValue().equals("}")) {
-						advance("}");
+						advance(TokenIds.RBRACE);
 						break;
 					}
 					String importName;
 					if (state.nextToken().getType() == Token.Type.DEFAULT) {
 						importName = "default";
-						advance("default");
+						advance(TokenIds.DEFAULT);
 					} else {
 						importName = identifier(context);
 					}
 					if (state.nextToken().getValue().equals("as")) {
-						advance("as");
+						advance(TokenIds.AS);
 						importName = identifier(context);
 					}
 
@@ -6310,9 +6334,9 @@ public class JSHint {
 					state.getFunct().getScope().addlabel(importName, "import", state.currToken(), true);
 
 					if (state.nextToken().getValue().equals(",")) {
-						advance(",");
+						advance(TokenIds.COMMA);
 					} else if (state.nextToken().getValue().equals("}")) {
-						advance("}");
+						advance(TokenIds.RBRACE);
 						break;
 					} else {
 						error("E024", state.nextToken(), state.nextToken().getValue());
@@ -6322,8 +6346,8 @@ public class JSHint {
 			}
 
 			// FromClause
-			advance("from");
-			advance("(string)");
+			advance(TokenIds.FROM);
+			advance(TokenIds.STRING);
 
 			// Support for ES2015 modules was released without warning for `import`
 			// declarations that lack bindings. Issuing a warning would therefor
@@ -6354,9 +6378,9 @@ public class JSHint {
 
 			if (state.nextToken().getValue().equals("*")) {
 				// ExportDeclaration :: export * FromClause
-				advance("*");
-				advance("from");
-				advance("(string)");
+				advance(TokenIds.MULTIPLY);
+				advance(TokenIds.FROM);
+				advance(TokenIds.STRING);
 				return _this;
 			}
 
@@ -6370,15 +6394,15 @@ public class JSHint {
 				// see https://bocoup.com/blog/whats-in-a-function-name
 				state.getNameStack().set(state.nextToken());
 
-				advance("default");
+				advance(TokenIds.DEFAULT);
 				String exportType = state.nextToken().getId();
 				if (exportType.equals("function")) {
 					_this.setBlock(true);
-					advance("function");
+					advance(TokenIds.FUNCTION);
 					state.getSyntax().get("function").fud(context);
 				} else if (exportType.equals("class")) {
 					_this.setBlock(true);
-					advance("class");
+					advance(TokenIds.CLASS);
 					state.getSyntax().get("class").fud(context);
 				} else {
 					Token token = expression(context, 10);
@@ -6391,7 +6415,7 @@ public class JSHint {
 			}
 			if (state.nextToken().getValue().equals("{")) {
 				// ExportDeclaration :: export ExportClause
-				advance("{");
+				advance(TokenIds.LBRACE);
 				List<Token> exportedTokens = new ArrayList<Token>();
 				while (!checkPunctuator(state.nextToken(), "}")) {
 					if (!state.nextToken().isIdentifier()) {
@@ -6402,7 +6426,7 @@ public class JSHint {
 					exportedTokens.add(state.currToken());
 
 					if (state.nextToken().getValue().equals("as")) {
-						advance("as");
+						advance(TokenIds.AS);
 						if (!state.nextToken().isIdentifier()) {
 							error("E030", state.nextToken(), state.nextToken().getValue());
 						}
@@ -6410,15 +6434,15 @@ public class JSHint {
 					}
 
 					if (!checkPunctuator(state.nextToken(), "}")) {
-						advance(",");
+						advance(TokenIds.COMMA);
 					}
 				}
-				advance("}");
+				advance(TokenIds.RBRACE);
 				if (state.nextToken().getValue().equals("from")) {
 					// ExportDeclaration :: export ExportClause FromClause
-					advance("from");
+					advance(TokenIds.FROM);
 					moduleSpecifier = state.nextToken();
-					advance("(string)");
+					advance(TokenIds.STRING);
 				} else if (ok) {
 					for (Token token : exportedTokens) {
 						state.getFunct().getScope().setExported(token.getValue(), token);
@@ -6434,27 +6458,27 @@ public class JSHint {
 				}
 
 				return _this;
-			} else if (state.nextToken().getId().equals("var")) {
+			} else if (state.nextToken().getKindId() == TokenIds.VAR) {
 				// ExportDeclaration :: export VariableStatement
-				advance("var");
+				advance(TokenIds.VAR);
 				state.currToken().fud(context);
-			} else if (state.nextToken().getId().equals("let")) {
+			} else if (state.nextToken().getKindId() == TokenIds.LET) {
 				// ExportDeclaration :: export VariableStatement
-				advance("let");
+				advance(TokenIds.LET);
 				state.currToken().fud(context);
-			} else if (state.nextToken().getId().equals("const")) {
+			} else if (state.nextToken().getKindId() == TokenIds.CONST) {
 				// ExportDeclaration :: export VariableStatement
-				advance("const");
+				advance(TokenIds.CONST);
 				state.currToken().fud(context);
-			} else if (state.nextToken().getId().equals("function")) {
+			} else if (state.nextToken().getKindId() == TokenIds.FUNCTION) {
 				// ExportDeclaration :: export Declaration
 				_this.setBlock(true);
-				advance("function");
+				advance(TokenIds.FUNCTION);
 				state.getSyntax().get("function").fud(context);
-			} else if (state.nextToken().getId().equals("class")) {
+			} else if (state.nextToken().getKindId() == TokenIds.CLASS) {
 				// ExportDeclaration :: export Declaration
 				_this.setBlock(true);
-				advance("class");
+				advance(TokenIds.CLASS);
 				state.getSyntax().get("class").fud(context);
 			} else {
 				error("E024", state.nextToken(), state.nextToken().getValue());
@@ -6513,7 +6537,7 @@ public class JSHint {
 		}
 
 		if (type.equals("call") && funct.getStatement() != null &&
-				funct.getStatement().getId().equals("class")) {
+				funct.getStatement().getKindId() == TokenIds.CLASS) {
 			return true;
 		}
 
@@ -6588,7 +6612,7 @@ public class JSHint {
 				if (checkPunctuator(pn, ";")) {
 					notJson = true;
 				}
-			} while (bracketStack > 0 && !pn.getId().equals("(end)"));
+			} while (bracketStack > 0 && pn.getKindId() != TokenIds.END);
 		}
 	}
 
@@ -6688,7 +6712,7 @@ public class JSHint {
 	 *         defines the property name
 	 */
 	private Token computedPropertyName(int context) {
-		advance("[");
+		advance(TokenIds.LBRACKET);
 
 		// Explicitly reclassify token as a delimeter to prevent its later
 		// interpretation as an "infix" operator.
@@ -6699,7 +6723,7 @@ public class JSHint {
 			warning("W119", state.currToken(), "computed property names", "6");
 		}
 		Token value = expression(context & ~ProdParams.NOIN, 10);
-		advance("]");
+		advance(TokenIds.RBRACKET);
 		return value;
 	}
 
@@ -6752,7 +6776,7 @@ public class JSHint {
 		}
 		// otherwise parse json value
 		else {
-			state.getOption().set("laxbreak", true);
+			state.setOptionValue("laxbreak", true);
 			state.setJsonMode(true);
 			jsonValue();
 		}
@@ -6889,23 +6913,23 @@ public class JSHint {
 		Runnable jsonObject = () -> {
 			UniversalContainer o = ContainerFactory.createObject();
 			Token t = state.nextToken();
-			advance("{");
-			if (!state.nextToken().getId().equals("}")) {
+			advance(TokenIds.LBRACE);
+			if (state.nextToken().getKindId() != TokenIds.RBRACE) {
 				for (;;) {
-					if (state.nextToken().getId().equals("(end)")) {
+					if (state.nextToken().getKindId() == TokenIds.END) {
 						error("E026", state.nextToken(), String.valueOf(t.getLine()));
-					} else if (state.nextToken().getId().equals("}")) {
+					} else if (state.nextToken().getKindId() == TokenIds.RBRACE) {
 						warning("W094", state.currToken());
 						break;
-					} else if (state.nextToken().getId().equals(",")) {
+					} else if (state.nextToken().getKindId() == TokenIds.COMMA) {
 						error("E028", state.nextToken());
-					} else if (!state.nextToken().getId().equals("(string)")) {
+					} else if (state.nextToken().getKindId() != TokenIds.STRING) {
 						warning("W095", state.nextToken(), state.nextToken().getValue());
 					}
 					if (o.get(state.nextToken().getValue()).equals(true)) {
 						warning("W075", state.nextToken(), "key", state.nextToken().getValue());
 					} else if ((state.nextToken().getValue().equals("__proto__") &&
-							!state.getOption().get("proto").test())
+							!state.getCompiledOption().test(CompiledOptions.PROTO))
 							|| (state.nextToken().getValue().equals("__iterator__") &&
 									!state.getOption().get("iterator").test())) {
 						warning("W096", state.nextToken(), state.nextToken().getValue());
@@ -6913,38 +6937,38 @@ public class JSHint {
 						o.set(state.nextToken().getValue(), true);
 					}
 					advance();
-					advance(":");
+					advance(TokenIds.COLON);
 					jsonValue();
-					if (!state.nextToken().getId().equals(",")) {
+					if (state.nextToken().getKindId() != TokenIds.COMMA) {
 						break;
 					}
-					advance(",");
+					advance(TokenIds.COMMA);
 				}
 			}
-			advance("}");
+			advance(TokenIds.RBRACE);
 		};
 
 		Runnable jsonArray = () -> {
 			Token t = state.nextToken();
-			advance("[");
-			if (!state.nextToken().getId().equals("]")) {
+			advance(TokenIds.LBRACKET);
+			if (state.nextToken().getKindId() != TokenIds.RBRACKET) {
 				for (;;) {
-					if (state.nextToken().getId().equals("(end)")) {
+					if (state.nextToken().getKindId() == TokenIds.END) {
 						error("E027", state.nextToken(), String.valueOf(t.getLine()));
-					} else if (state.nextToken().getId().equals("]")) {
+					} else if (state.nextToken().getKindId() == TokenIds.RBRACKET) {
 						warning("W094", state.currToken());
 						break;
-					} else if (state.nextToken().getId().equals(",")) {
+					} else if (state.nextToken().getKindId() == TokenIds.COMMA) {
 						error("E028", state.nextToken());
 					}
 					jsonValue();
-					if (!state.nextToken().getId().equals(",")) {
+					if (state.nextToken().getKindId() != TokenIds.COMMA) {
 						break;
 					}
-					advance(",");
+					advance(TokenIds.COMMA);
 				}
 			}
-			advance("]");
+			advance(TokenIds.RBRACKET);
 		};
 
 		switch (state.nextToken().getId()) {
@@ -6962,8 +6986,8 @@ public class JSHint {
 				advance();
 				break;
 			case "-":
-				advance("-");
-				advance("(number)");
+				advance(TokenIds.MINUS);
+				advance(TokenIds.NUMBER);
 				break;
 			default:
 				error("E003", state.nextToken());
@@ -6993,10 +7017,6 @@ public class JSHint {
 		}
 	}
 
-	private String escapeRegex(String str) {
-		return Reg.escapeRegexpChars(str); // PORT INFO: replace regexp was moved to Reg class
-	}
-
 	private List<LinterWarning> errors = new ArrayList<LinterWarning>();
 	private List<InternalSource> internals = new ArrayList<InternalSource>(); // "internal" scripts, like eval
 																				// containing a static string
@@ -7012,32 +7032,30 @@ public class JSHint {
 	}
 
 	public boolean lint(String s, LinterOptions options, LinterGlobals globals) throws JSHintException {
-		LinterOptions o = new LinterOptions(options);
-		LinterGlobals g = (globals == null ? new LinterGlobals() : globals);
+		return lint(s, new LinterConfig(options, globals));
+	}
 
-		init(o, g);
+	/**
+	 * Lints the source with prepared configuration, which can be reused for many sources.
+	 *
+	 * @param s      source code
+	 * @param config configuration of the linter
+	 * @return true if no errors were found, false otherwise
+	 */
+	public boolean lint(String s, LinterConfig config) throws JSHintException {
+		init(config);
 
 		if (s == null) {
 			errorAt("E004", 0);
 			return false;
 		}
 
-		for (Delimiter delimiterPair : o.getIgnoreDelimiters()) {
-			if (StringUtils.isEmpty(delimiterPair.getStart()) || StringUtils.isEmpty(delimiterPair.getEnd()))
-				continue;
-
-			String reIgnoreStr = escapeRegex(delimiterPair.getStart()) +
-					"[\\s\\S]*?" +
-					escapeRegex(delimiterPair.getEnd());
-
-			Pattern reIgnore = Pattern.compile(reIgnoreStr, Pattern.CASE_INSENSITIVE);
-
+		for (Pattern reIgnore : config.getIgnorePatterns()) {
 			// PORT INFO: replace regexp was moved to Reg class
 			s = Reg.blankDelimiteredText(s, reIgnore);
 		}
-		;
 
-		return run(new Lexer(state, s), o, g);
+		return run(new Lexer(state, s), config);
 	}
 
 	public boolean lint(String[] s) throws JSHintException {
@@ -7049,10 +7067,11 @@ public class JSHint {
 	}
 
 	public boolean lint(String[] s, LinterOptions options, LinterGlobals globals) throws JSHintException {
-		LinterOptions o = new LinterOptions(options);
-		LinterGlobals g = (globals == null ? new LinterGlobals() : globals);
+		return lint(s, new LinterConfig(options, globals));
+	}
 
-		init(o, g);
+	public boolean lint(String[] s, LinterConfig config) throws JSHintException {
+		init(config);
 
 		if (s == null) {
 			errorAt("E004", 0);
@@ -7061,16 +7080,53 @@ public class JSHint {
 
 		// JSHINT_BUG: where is ignore delimiters for source array??
 
-		return run(new Lexer(state, s), o, g);
+		return run(new Lexer(state, s), config);
 	}
 
-	private void init(LinterOptions o, LinterGlobals g) {
-		// TODO: move this methods to constructor class when State class will be
-		// non-static
-		buildSyntaxTable();
-		ecmaScriptParser();
-		buildStatementTable();
-		addModule(new Style());
+	/**
+	 * Lints source lines, the lexer replays raw tokens from the journal for the
+	 * lines, which were not changed since the previous run with the same journal.
+	 *
+	 * @param s       source lines
+	 * @param config  configuration of the linter
+	 * @param journal raw tokens of the previous run, which is updated by this run
+	 * @return true if no errors were found, false otherwise
+	 */
+	boolean lintIncrementally(String[] s, LinterConfig config, LexerJournal journal) throws JSHintException {
+		init(config);
+
+		Lexer lexer = new Lexer(state, s);
+		lexer.setJournal(journal);
+		return run(lexer, config);
+	}
+
+	/**
+	 * Lints every source with the same options and globals, which are prepared
+	 * only once.
+	 *
+	 * @param sources source codes
+	 * @param options linter options
+	 * @param globals globally-defined bindings
+	 * @return results in the same order as sources
+	 */
+	public List<LinterResult> lintAll(Iterable<String> sources, LinterOptions options, LinterGlobals globals)
+			throws JSHintException {
+		return lintAll(sources, new LinterConfig(options, globals));
+	}
+
+	public List<LinterResult> lintAll(Iterable<String> sources, LinterConfig config) throws JSHintException {
+		List<LinterResult> results = new ArrayList<LinterResult>();
+
+		for (String source : sources) {
+			boolean success = lint(source, config);
+			results.add(new LinterResult(success, errors, generateSummary()));
+		}
+
+		return results;
+	}
+
+	private void init(LinterConfig c) {
+		LinterOptions o = c.getOptions();
 
 		state.reset();
 
@@ -7083,24 +7139,37 @@ public class JSHint {
 			scriptScope = "(main)";
 		}
 
-		predefined = new HashMap<String, Boolean>();
-		combine(predefined, Vars.ecmaIdentifiers.get(3));
-		combine(predefined, Vars.reservedVars);
+		if (blacklist.isEmpty()) {
+			predefined = new PredefinedGlobals(c.getPredefined(), blacklist);
+			blacklist.addAll(c.getBlacklist());
+		} else {
+			// blacklist of the outer script is kept, so predefineds should be filtered by it
+			Map<String, Boolean> base = new HashMap<String, Boolean>();
+			c.readPredefined(base, blacklist);
+			predefined = new PredefinedGlobals(base, blacklist);
+		}
 
 		declared = new HashMap<String, Token>();
-		Map<String, Boolean> exported = new HashMap<String, Boolean>(); // Variables that live outside the current file
+		// Variables that live outside the current file
+		Map<String, Boolean> exported = new HashMap<String, Boolean>(c.getExported());
 
-		o.readPredefineds(predefined, blacklist);
-		o.readGlobals(predefined, blacklist);
-		o.readExporteds(exported);
+		state.setOption(c.applyOptions(state.getOption(), false));
+		state.setIgnored(c.applyOptions(state.getOption(), true));
 
-		state.setOption(o.getOptions(state, false));
-		state.setIgnored(o.getOptions(state, true));
+		// Directives change unstable options in place, while configuration can be
+		// shared by many runs, so this object is copied
+		if (state.getOption().get("unstable").isObject()) {
+			UniversalContainer unstable = ContainerFactory.createObject();
+			for (String key : state.getOption().get("unstable").keys()) {
+				unstable.set(key, state.getOption().get("unstable").get(key));
+			}
+			state.setOptionValue("unstable", unstable);
+		}
 
 		if (!state.getOption().test("indent"))
-			state.getOption().set("indent", 4);
-		if (!state.getOption().test("maxerr"))
-			state.getOption().set("maxerr", 50);
+			state.setOptionValue("indent", 4);
+		if (!state.getCompiledOption().test(CompiledOptions.MAXERR))
+			state.setOptionValue("maxerr", 50);
 
 		indent = 1;
 
@@ -7134,19 +7203,23 @@ public class JSHint {
 		member = new HashMap<String, Integer>();
 		membersOnly = null;
 		inblock = false;
-		lookahead = new ArrayList<Token>();
+		lookahead = new TokenBuffer();
 
 		emitter.removeAllListeners();
 		for (JSHintModule func : extraModules) {
 			func.execute(this);
 		}
+		style.execute(this);
 
 		state.setNextToken(state.getSyntax().get("(begin)"));
 		state.setCurrToken(state.nextToken());
 		state.setPrevToken(state.nextToken());
 	}
 
-	private boolean run(Lexer l, LinterOptions o, LinterGlobals g) {
+	private boolean run(Lexer l, LinterConfig c) {
+		LinterOptions o = c.getOptions();
+		LinterGlobals g = c.getGlobals();
+
 		lex = l;
 
 		lex.on("warning", new LexerEventListener() {
@@ -7209,7 +7282,7 @@ public class JSHint {
 			applyOptions();
 
 			// combine the passed globals after we've assumed all our options
-			combine(predefined, g);
+			predefined.addLayer(g);
 
 			// reset values
 			parseCommaFirst = true;
@@ -7232,7 +7305,7 @@ public class JSHint {
 					statements(0);
 			}
 
-			if (!state.nextToken().getId().equals("(end)")) {
+			if (state.nextToken().getKindId() != TokenIds.END) {
 				quit("E041", state.currToken());
 			}
 
@@ -7251,7 +7324,7 @@ public class JSHint {
 
 		// Loop over the listed "internals", and check them as well.
 		if (scriptScope.equals("(main)")) {
-			lintEvalCode(internals, o, g);
+			lintEvalCode(internals, new LinterOptions(o), g);
 		}
 
 		return errors.size() == 0;
@@ -7267,6 +7340,10 @@ public class JSHint {
 		return ContainerFactory.nullContainerIfFalse(state.getOption().get(name));
 	}
 
+	CompiledOptions getCompiledOption() {
+		return state.getCompiledOption();
+	}
+
 	public List<LinterWarning> getErrors() {
 		return Collections.unmodifiableList(errors);
 	}
@@ -0,0 +1,135 @@
+package org.jshint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.jshaptic.js4j.ContainerFactory;
+import com.github.jshaptic.js4j.UniversalContainer;
+import com.github.jshaptic.minimatch.Minimatch;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Configuration of the CLI, which is made of the base config file and the
+ * overrides, that match the linted file.
+ *
+ * PORT INFO: original JSHint CLI makes a deep copy of the config for every file
+ * and then applies matching overrides to it. Here config files are never copied
+ * or changed: every combination of the overrides is a separate layer on top of
+ * the base one, which is created once and then reused for all files, that
+ * match the same overrides. Linter configuration is prepared once per layer as
+ * well, so the cost of every file doesn't depend on the size of the config.
+ */
+final class LayeredConfig {
+	// Keys, which are used by the CLI itself, so they are not passed to the linter
+	private static final Set<String> cliKeys = ImmutableSet.of("prereq", "globals", "overrides", "dirname");
+
+	private final LayeredConfig parent;
+	private final UniversalContainer layer;
+	private final Map<String, LayeredConfig> overrides = new ConcurrentHashMap<String, LayeredConfig>();
+	private volatile LinterConfig linterConfig = null;
+	// Compiled patterns of the overrides, only base layer has them
+	private volatile Map<String, Minimatch> matchers = null;
+
+	/**
+	 * @param base config, which must not be changed afterwards.
+	 */
+	LayeredConfig(UniversalContainer base) {
+		this(null, ContainerFactory.createObjectIfFalse(base));
+	}
+
+	private LayeredConfig(LayeredConfig parent, UniversalContainer layer) {
+		this.parent = parent;
+		this.layer = layer;
+	}
+
+	/**
+	 * @return config file, which is at the bottom of all layers.
+	 */
+	UniversalContainer getBase() {
+		return parent != null ? parent.getBase() : layer;
+	}
+
+	/**
+	 * Returns config with the override on top of this one. Result is reused for
+	 * all files, which match the same overrides.
+	 *
+	 * @param pattern pattern of the override in the base config.
+	 * @return layered config.
+	 */
+	LayeredConfig withOverride(String pattern) {
+		return overrides.computeIfAbsent(pattern,
+				p -> new LayeredConfig(this, ContainerFactory.createObjectIfFalse(getBase().get("overrides").get(p))));
+	}
+
+	/**
+	 * Returns config for the file, i.e. base config with all overrides, that
+	 * match the file.
+	 *
+	 * @param file normalized path to the file.
+	 * @return layered config.
+	 */
+	LayeredConfig forFile(String file) {
+		LayeredConfig result = this;
+
+		for (Map.Entry<String, Minimatch> matcher : getMatchers().entrySet()) {
+			if (matcher.getValue().match(file)) {
+				result = result.withOverride(matcher.getKey());
+			}
+		}
+
+		return result;
+	}
+
+	private Map<String, Minimatch> getMatchers() {
+		if (parent != null) {
+			return parent.getMatchers();
+		}
+
+		Map<String, Minimatch> result = matchers;
+		if (result == null) {
+			result = new LinkedHashMap<String, Minimatch>();
+			if (layer.test("overrides")) {
+				for (String pattern : layer.get("overrides").keys()) {
+					result.put(pattern, new Minimatch(pattern, Minimatch.NO_CASE | Minimatch.MATCH_BASE));
+				}
+			}
+			matchers = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Prepares linter configuration from all layers, later layers replace
+	 * options and add globals to the earlier ones.
+	 *
+	 * @return linter configuration, which is shared by all files with this config.
+	 */
+	LinterConfig getLinterConfig() {
+		LinterConfig result = linterConfig;
+		if (result == null) {
+			UniversalContainer options = ContainerFactory.createObject();
+			LinterGlobals globals = new LinterGlobals();
+			collect(options, globals);
+			result = linterConfig = new LinterConfig(new LinterOptions(options), globals);
+		}
+		return result;
+	}
+
+	private void collect(UniversalContainer options, LinterGlobals globals) {
+		if (parent != null) {
+			parent.collect(options, globals);
+		}
+
+		if (layer.test("globals")) {
+			globals.putAll(layer.get("globals"));
+		}
+
+		for (String key : layer.keys()) {
+			if (!cliKeys.contains(key)) {
+				options.set(key, layer.get(key));
+			}
+		}
+	}
+}
@@ -5,19 +5,16 @@ package org.jshint;
  */
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.IntPredicate;
 import java.util.function.Supplier;
 
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
-
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -60,9 +57,6 @@ import com.google.common.primitives.Ints;
  */
 public class Lexer {
 
-	// PORT INFO: Static javascript engine, which is used to validate regexps
-	private static final ScriptEngine jsEngine = new ScriptEngineManager().getEngineByName("nashorn");
-
 	// Some of these token types are from JavaScript Parser API
 	// while others are specific to JSHint parser.
 	// JS Parser API:
@@ -87,6 +81,60 @@ public class Lexer {
 		TEMPLATE
 	}
 
+	// Classes of the first character of a token, they define which scanners
+	// next() has to try, all other scanners would return null anyway.
+	private static enum CharClass {
+		OTHER,
+		SLASH, // comment, regexp or punctuator
+		QUOTE, // string literal
+		BACKTICK, // template literal
+		CLOSE_BRACE, // template middle/tail or punctuator
+		DOT, // punctuator or numeric literal
+		PUNCTUATOR,
+		DIGIT, // numeric literal
+		LOWERCASE, // keyword or identifier
+		IDENTIFIER
+	}
+
+	private static final CharClass[] charClasses = new CharClass[128];
+
+	static {
+		for (int c = 0; c < 128; c++) {
+			CharClass charClass = CharClass.OTHER;
+
+			if (c == '/') {
+				charClass = CharClass.SLASH;
+			} else if (c == '"' || c == '\'') {
+				charClass = CharClass.QUOTE;
+			} else if (c == '`') {
+				charClass = CharClass.BACKTICK;
+			} else if (c == '}') {
+				charClass = CharClass.CLOSE_BRACE;
+			} else if (c == '.') {
+				charClass = CharClass.DOT;
+			} else if ("();,[]:~?{#<>=!+-*%&|^".indexOf(c) >= 0) {
+				charClass = CharClass.PUNCTUATOR;
+			} else if (isDecimalDigit(c)) {
+				charClass = CharClass.DIGIT;
+			} else if (c >= 'a' && c <= 'z') {
+				charClass = CharClass.LOWERCASE;
+			} else if (UnicodeData.identifierStartTable[c] || c == '\\') {
+				charClass = CharClass.IDENTIFIER;
+			}
+
+			charClasses[c] = charClass;
+		}
+	}
+
+	private static CharClass getCharClass(int c) {
+		if (c == EOL) {
+			return CharClass.OTHER;
+		}
+
+		// Non-ASCII characters can only start identifiers
+		return c < 128 ? charClasses[c] : CharClass.IDENTIFIER;
+	}
+
 	// PORT INFO: test regexp /^[0-9a-fA-F]+$/ was replaced with straight check
 	private static boolean isHex(String str) {
 		if (str == null || str.length() == 0)
@@ -101,8 +149,8 @@ public class Lexer {
 		return true;
 	}
 
-	private static boolean isHexDigit(String str) {
-		return str.length() == 1 && isHex(str);
+	private static boolean isHexDigit(int c) {
+		return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
 	}
 
 	// Object that handles postponed lexing verifications that checks the parsed
@@ -127,6 +175,9 @@ public class Lexer {
 		}
 	}
 
+	// Value returned by peek() when the cursor reached the end of the current line
+	public static final int EOL = -1;
+
 	private State state;
 	private EventEmitter emitter = null;
 	private boolean prereg = false;
@@ -134,12 +185,14 @@ public class Lexer {
 	private int character = 0;
 	private int from = 0;
 	private String input = null;
+	private int pos = 0; // position of the char pointer in the current line
 	private boolean inComment = false;
 	private List<LexerContext> context = null;
 	private String[] lines = null;
 	private List<TemplateStart> templateStarts = null;
 	private boolean exhausted = false;
 	private boolean ignoringLinterErrors = false;
+	private LexerJournal journal = null;
 
 	public Lexer(State state, String source) {
 		this(state, Reg.splitByEOL(source)); // PORT INFO: split regexp was moved to Reg class
@@ -152,7 +205,7 @@ public class Lexer {
 		// Shebangs are used by Node scripts.
 		if (!ArrayUtils.isEmpty(lines) && StringUtils.startsWith(lines[0], "#!")) {
 			if (lines[0].indexOf("node") != -1) {
-				state.getOption().set("node", true);
+				state.setOptionValue("node", true);
 			}
 			lines[0] = "";
 		}
@@ -169,7 +222,7 @@ public class Lexer {
 		setContext(new ArrayList<LexerContext>());
 		setTemplateStarts(new ArrayList<TemplateStart>());
 
-		for (int i = 0; i < state.getOption().asInt("indent"); i++) {
+		for (int i = 0; i < state.getCompiledOption().getIndent(); i++) {
 			state.setTab(state.getTab() + " ");
 		}
 	}
@@ -219,11 +272,12 @@ public class Lexer {
 	}
 
 	public String getInput() {
-		return input;
+		return input.substring(pos);
 	}
 
 	public void setInput(String input) {
 		this.input = StringUtils.defaultString(input);
+		this.pos = 0;
 	}
 
 	public boolean inComment() {
@@ -292,16 +346,39 @@ public class Lexer {
 		this.ignoringLinterErrors = ignoringLinterErrors;
 	}
 
-	public String peek() {
+	State getState() {
+		return state;
+	}
+
+	/*
+	 * Set the journal, which replays raw tokens of the lines, that were
+	 * not changed since the previous run, instead of scanning them again.
+	 */
+	void setJournal(LexerJournal journal) {
+		this.journal = journal;
+		if (journal != null) {
+			journal.start(this);
+		}
+	}
+
+	public int peek() {
 		return peek(0);
 	}
 
 	/*
 	 * Return the next i character without actually moving the
-	 * char pointer.
+	 * char pointer, or EOL if it's beyond the end of the current line.
+	 */
+	public int peek(int i) {
+		i += pos;
+		return i < input.length() ? input.charAt(i) : EOL;
+	}
+
+	/*
+	 * Return the number of characters left in the current line.
 	 */
-	public String peek(int i) {
-		return input.length() > i ? String.valueOf(input.charAt(i)) : "";
+	private int remaining() {
+		return input.length() - pos;
 	}
 
 	public void skip() {
@@ -314,7 +391,7 @@ public class Lexer {
 	public void skip(int i) {
 		i = i == 0 ? 1 : i;
 		character += i;
-		input = StringUtils.substring(input, i);
+		pos = Math.min(pos + i, input.length());
 	}
 
 	/*
@@ -337,6 +414,9 @@ public class Lexer {
 	 * listener.
 	 */
 	public void trigger(String name, EventContext context) throws JSHintException {
+		if (journal != null) {
+			journal.record(name, context, null);
+		}
 		emitter.emit(name, context);
 	}
 
@@ -348,9 +428,12 @@ public class Lexer {
 	 * a false context.
 	 */
 	public void triggerAsync(String type, EventContext args, AsyncTrigger checks, BooleanSupplier fn) {
+		if (journal != null) {
+			journal.record(type, args, fn);
+		}
 		checks.push(() -> {
 			if (fn.getAsBoolean()) {
-				trigger(type, args);
+				emitter.emit(type, args);
 			}
 		});
 	}
@@ -363,110 +446,134 @@ public class Lexer {
 	 * scanPunctuator function in the Esprima parser's source code.
 	 */
 	public LexerToken scanPunctuator() {
-		String ch1 = peek();
+		// PORT INFO: punctuators are matched by the longest-match automaton, where
+		// each state is a nested switch over the next character, so that every
+		// character is checked only once and values are constant strings.
+		int ch1 = peek();
+		int ch2 = peek(1);
 
 		switch (ch1) {
 			// Most common single-character punctuators
-			case ".":
-				if (isDecimalDigit(peek(1))) // PORT INFO: test regexp /^[0-9]$/ was replaced with isDecimalDigit method
+			case '.':
+				if (isDecimalDigit(ch2)) // PORT INFO: test regexp /^[0-9]$/ was replaced with isDecimalDigit method
 				{
 					return null;
 				}
-				if (peek(1).equals(".") && peek(2).equals(".")) {
-					return new LexerToken(LexerTokenType.PUNCTUATOR, "...");
+				if (ch2 == '.' && peek(2) == '.') {
+					return punctuator("...");
 				}
-			case "(":
-			case ")":
-			case ";":
-			case ",":
-			case "[":
-			case "]":
-			case ":":
-			case "~":
-			case "?":
-				return new LexerToken(LexerTokenType.PUNCTUATOR, ch1);
+				return punctuator(".");
+			case '(':
+				return punctuator("(");
+			case ')':
+				return punctuator(")");
+			case ';':
+				return punctuator(";");
+			case ',':
+				return punctuator(",");
+			case '[':
+				return punctuator("[");
+			case ']':
+				return punctuator("]");
+			case ':':
+				return punctuator(":");
+			case '~':
+				return punctuator("~");
+			case '?':
+				return punctuator("?");
 
 			// A block/object opener
-			case "{":
+			case '{':
 				pushContext(LexerContextType.BLOCK);
-				return new LexerToken(LexerTokenType.PUNCTUATOR, ch1);
+				return punctuator("{");
 
 			// A block/object closer
-			case "}":
+			case '}':
 				if (inContext(LexerContextType.BLOCK)) {
 					popContext();
 				}
-				return new LexerToken(LexerTokenType.PUNCTUATOR, ch1);
+				return punctuator("}");
 
 			// A pound sign (for Node shebangs)
-			case "#":
-				return new LexerToken(LexerTokenType.PUNCTUATOR, ch1);
-
-			// We're at the end of input
-			case "":
-				return null;
-		}
-
-		// Peek more characters
-		String ch2 = peek(1);
-		String ch3 = peek(2);
-		String ch4 = peek(3);
-
-		// 4-character punctuator: >>>=
-
-		if (ch1.equals(">") && ch2.equals(">") && ch3.equals(">") && ch4.equals("=")) {
-			return new LexerToken(LexerTokenType.PUNCTUATOR, ">>>=");
-		}
-
-		// 3-character punctuators: === !== >>> <<= >>=
+			case '#':
+				return punctuator("#");
+
+			// >>>= >>> >>= >> >= >
+			case '>':
+				if (ch2 == '>') {
+					int ch3 = peek(2);
+					if (ch3 == '>') {
+						return punctuator(peek(3) == '=' ? ">>>=" : ">>>");
+					}
+					return punctuator(ch3 == '=' ? ">>=" : ">>");
+				}
+				return punctuator(ch2 == '=' ? ">=" : ">");
 
-		if (ch1.equals("=") && ch2.equals("=") && ch3.equals("=")) {
-			return new LexerToken(LexerTokenType.PUNCTUATOR, "===");
-		}
+			// <<= << <= <
+			case '<':
+				if (ch2 == '<') {
+					return punctuator(peek(2) == '=' ? "<<=" : "<<");
+				}
+				return punctuator(ch2 == '=' ? "<=" : "<");
 
-		if (ch1.equals("!") && ch2.equals("=") && ch3.equals("=")) {
-			return new LexerToken(LexerTokenType.PUNCTUATOR, "!==");
-		}
+			// === == => =
+			case '=':
+				if (ch2 == '=') {
+					return punctuator(peek(2) == '=' ? "===" : "==");
+				}
+				return punctuator(ch2 == '>' ? "=>" : "=");
 
-		if (ch1.equals(">") && ch2.equals(">") && ch3.equals(">")) {
-			return new LexerToken(LexerTokenType.PUNCTUATOR, ">>>");
-		}
+			// !== != !
+			case '!':
+				if (ch2 == '=') {
+					return punctuator(peek(2) == '=' ? "!==" : "!=");
+				}
+				return punctuator("!");
 
-		if (ch1.equals("<") && ch2.equals("<") && ch3.equals("=")) {
-			return new LexerToken(LexerTokenType.PUNCTUATOR, "<<=");
-		}
+			// **= ** *= *
+			case '*':
+				if (ch2 == '*') {
+					return punctuator(peek(2) == '=' ? "**=" : "**");
+				}
+				return punctuator(ch2 == '=' ? "*=" : "*");
 
-		if (ch1.equals(">") && ch2.equals(">") && ch3.equals("=")) {
-			return new LexerToken(LexerTokenType.PUNCTUATOR, ">>=");
-		}
+			// ++ += +
+			case '+':
+				return punctuator(ch2 == '+' ? "++" : ch2 == '=' ? "+=" : "+");
 
-		// Fat arrow punctuator
+			// -- -= -
+			case '-':
+				return punctuator(ch2 == '-' ? "--" : ch2 == '=' ? "-=" : "-");
 
-		if (ch1.equals("=") && ch2.equals(">")) {
-			return new LexerToken(LexerTokenType.PUNCTUATOR, ch1 + ch2);
-		}
+			// && &= &
+			case '&':
+				return punctuator(ch2 == '&' ? "&&" : ch2 == '=' ? "&=" : "&");
 
-		// 2-character punctuators: ++ -- << >> && || **
-		if (ch1.equals(ch2) && ("+-<>&|*".indexOf(ch1) >= 0)) {
-			if (ch1.equals("*") && ch3.equals("=")) {
-				return new LexerToken(LexerTokenType.PUNCTUATOR, ch1 + ch2 + ch3);
-			}
+			// || |= |
+			case '|':
+				return punctuator(ch2 == '|' ? "||" : ch2 == '=' ? "|=" : "|");
 
-			return new LexerToken(LexerTokenType.PUNCTUATOR, ch1 + ch2);
-		}
+			// %= %
+			case '%':
+				return punctuator(ch2 == '=' ? "%=" : "%");
 
-		// <= >= != += -= *= %= &= |= ^= /=
-		if ("<>=!+-*%&|^/".indexOf(ch1) >= 0) {
-			if (ch2.equals("=")) {
-				return new LexerToken(LexerTokenType.PUNCTUATOR, ch1 + ch2);
-			}
+			// ^= ^
+			case '^':
+				return punctuator(ch2 == '=' ? "^=" : "^");
 
-			return new LexerToken(LexerTokenType.PUNCTUATOR, ch1);
+			// /= /
+			case '/':
+				return punctuator(ch2 == '=' ? "/=" : "/");
 		}
 
+		// We're at the end of input or it isn't a punctuator
 		return null;
 	}
 
+	private static LexerToken punctuator(String value) {
+		return new LexerToken(LexerTokenType.PUNCTUATOR, value);
+	}
+
 	// Create a comment token object and make sure it
 	// has all the data JSHint needs to work with special
 	// comments.
@@ -588,14 +695,13 @@ public class Lexer {
 	 */
 	public LexerToken scanComments(AsyncTrigger checks) throws JSHintException {
 		EventContext context;
-		String ch1 = peek();
-		String ch2 = peek(1);
-		String rest = input.length() > 2 ? input.substring(2) : "";
+		int ch1 = peek();
+		int ch2 = peek(1);
 		int startLine = line;
 		int startChar = character;
 
 		// End of unbegun comment. Raise an error and skip that input.
-		if (ch1.equals("*") && ch2.equals("/")) {
+		if (ch1 == '*' && ch2 == '/') {
 			context = new EventContext();
 			context.setCode("E018");
 			context.setLine(startLine);
@@ -607,27 +713,28 @@ public class Lexer {
 		}
 
 		// Comments must start either with // or /*
-		if (!ch1.equals("/") || (!ch2.equals("*") && !ch2.equals("/"))) {
+		if (ch1 != '/' || (ch2 != '*' && ch2 != '/')) {
 			return null;
 		}
 
 		// One-line comment
-		if (ch2.equals("/")) {
-			skip(input.length()); // Skip to the EOL.
+		if (ch2 == '/') {
+			String rest = input.substring(pos + 2);
+			skip(remaining()); // Skip to the EOL.
 			return commentToken("//", rest, false, false);
 		}
 
-		String body = "";
+		StringBuilder body = new StringBuilder();
 
 		/* Multi-line comment */
-		if (ch2.equals("*")) {
+		if (ch2 == '*') {
 			inComment = true;
 			skip(2);
 
-			while (!peek().equals("*") || !peek(1).equals("/")) {
-				if (peek().equals("")) // End of Line
+			while (peek() != '*' || peek(1) != '/') {
+				if (peek() == EOL) // End of Line
 				{
-					body += "\n";
+					body.append('\n');
 
 					// If we hit EOF and our comment is still unclosed,
 					// trigger an error and end the comment implicitly.
@@ -639,76 +746,121 @@ public class Lexer {
 						trigger("error", context);
 
 						inComment = false;
-						return commentToken("/*", body, true, true);
+						return commentToken("/*", body.toString(), true, true);
 					}
 				} else {
-					body += peek();
-					skip();
+					// Take everything up to the comment end or to the end of line at once.
+					int end = input.indexOf("*/", pos);
+					if (end == -1) {
+						end = input.length();
+					}
+					body.append(input, pos, end);
+					skip(end - pos);
 				}
 			}
 
 			skip(2);
 			inComment = false;
-			return commentToken("/*", body, true, false);
+			return commentToken("/*", body.toString(), true, false);
 		}
 
 		return null;
 	}
 
+	// PORT INFO: keywords are recognized with the trie instead of searching
+	// through the array, node 0 is the root, other nodes are indexes of
+	// keywordTrie rows, keywordNames holds keyword for every terminal node.
+	private static final String[] keywords = {
+			"if", "in", "do", "var", "for", "new",
+			"try", "let", "this", "else", "case",
+			"void", "with", "enum", "while", "break",
+			"catch", "throw", "const", "yield", "class",
+			"super", "return", "typeof", "delete",
+			"switch", "export", "import", "default",
+			"finally", "extends", "function", "continue",
+			"debugger", "instanceof", "true", "false", "null", "async", "await"
+	};
+
+	private static final int[][] keywordTrie;
+	private static final String[] keywordNames;
+
+	static {
+		List<int[]> nodes = new ArrayList<int[]>();
+		List<String> names = new ArrayList<String>();
+		nodes.add(new int[26]);
+		names.add(null);
+
+		for (String keyword : keywords) {
+			int node = 0;
+			for (int i = 0; i < keyword.length(); i++) {
+				int c = keyword.charAt(i) - 'a';
+				if (nodes.get(node)[c] == 0) {
+					nodes.get(node)[c] = nodes.size();
+					nodes.add(new int[26]);
+					names.add(null);
+				}
+				node = nodes.get(node)[c];
+			}
+			names.set(node, keyword);
+		}
+
+		keywordTrie = nodes.toArray(new int[nodes.size()][]);
+		keywordNames = names.toArray(new String[names.size()]);
+	}
+
 	/**
 	 * Extract a keyword out of the next sequence of characters or
 	 * return 'null' if its not possible.
 	 * 
+	 * Characters of the word are looked up in the keyword trie while
+	 * they are scanned, so the word is read only once. Length of the
+	 * word is left in identifierIndex, so that scanIdentifier can
+	 * continue from it if the word isn't a keyword.
+	 * 
 	 * @return lexer token.
 	 */
 	public LexerToken scanKeyword() {
-		String result = Reg.getIdentifier(input); // PORT INFO: exec regexp was moved to Reg class
-		String[] keywords = {
-				"if", "in", "do", "var", "for", "new",
-				"try", "let", "this", "else", "case",
-				"void", "with", "enum", "while", "break",
-				"catch", "throw", "const", "yield", "class",
-				"super", "return", "typeof", "delete",
-				"switch", "export", "import", "default",
-				"finally", "extends", "function", "continue",
-				"debugger", "instanceof", "true", "false", "null", "async", "await"
-		};
+		// PORT INFO: replacement for regexp /^[a-zA-Z_$][a-zA-Z0-9_$]*/
+		int length = 0;
+		int node = 0;
+		int c;
+
+		while ((c = peek(length)) >= 0 && c < 128 && UnicodeData.identifierPartTable[c]) {
+			if (length == 0 && isDecimalDigit(c)) {
+				break;
+			}
+			node = (node != -1 && c >= 'a' && c <= 'z') ? keywordTrie[node][c - 'a'] : -1;
+			if (node == 0) {
+				node = -1;
+			}
+			length += 1;
+		}
 
-		if (!result.isEmpty() && ArrayUtils.indexOf(keywords, result) >= 0) {
-			return new LexerToken(LexerTokenType.KEYWORD, result);
+		identifierIndex = length;
+
+		if (node > 0 && keywordNames[node] != null) {
+			return new LexerToken(LexerTokenType.KEYWORD, keywordNames[node]);
 		}
 
 		return null;
 	}
 
 	// PORT INFO: test regexp /^[0-9]$/ was replaced with straight check
-	private boolean isDecimalDigit(String str) {
-		if (str.length() != 1)
-			return false;
-		char c = str.charAt(0);
+	private static boolean isDecimalDigit(int c) {
 		return c >= '0' && c <= '9';
 	}
 
 	// PORT INFO: test regexp /^[0-7]$/ was replaced with straight check
-	private boolean isOctalDigit(String str) {
-		if (str.length() != 1)
-			return false;
-		char c = str.charAt(0);
+	private static boolean isOctalDigit(int c) {
 		return c >= '0' && c <= '7';
 	}
 
 	// PORT INFO: test regexp /^[01]$/ was replaced with straight check
-	private boolean isBinaryDigit(String str) {
-		if (str.length() != 1)
-			return false;
-		char c = str.charAt(0);
+	private static boolean isBinaryDigit(int c) {
 		return c == '0' || c == '1';
 	}
 
-	private boolean isIdentifierStart(String ch) {
-		if (ch.length() != 1)
-			return false;
-		char c = ch.charAt(0);
+	private static boolean isIdentifierStart(int c) {
 		return (c == '&') || (c == '_') || (c == '\\') ||
 				(c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
 	}
@@ -722,22 +874,22 @@ public class Lexer {
 	public LexerToken scanIdentifier(AsyncTrigger checks) {
 		identifierIndex = 0;
 
-		String chr = getIdentifierStart();
-		if (chr == null) {
+		if (!getIdentifierStart()) {
 			return null;
 		}
 
-		String id = chr;
-		for (;;) {
-			chr = getIdentifierPart();
-
-			if (chr == null) {
-				break;
-			}
+		return scanIdentifierRest(checks);
+	}
 
-			id += chr;
+	// Continue scanning of the identifier, which first identifierIndex characters
+	// were already read
+	private LexerToken scanIdentifierRest(AsyncTrigger checks) {
+		while (getIdentifierPart()) {
+			// Identifier characters (and escape sequences) are taken as they are
+			// written in the input, so there is no need to collect them one by one.
 		}
 
+		String id = input.substring(pos, pos + identifierIndex);
 		String value = removeEscapeSequences(id);
 
 		if (!state.inES6(true)) {
@@ -758,22 +910,22 @@ public class Lexer {
 	}
 
 	private boolean isNonAsciiIdentifierStart(int code) {
-		return NonAsciiIdentifierStartTable.indexOf(code) > -1;
+		return NonAsciiIdentifierStartTable.contains(code);
 	}
 
 	private boolean isNonAsciiIdentifierPart(int code) {
-		return isNonAsciiIdentifierStart(code) || NonAsciiIdentifierPartTable.indexOf(code) > -1;
+		return isNonAsciiIdentifierStart(code) || NonAsciiIdentifierPartTable.contains(code);
 	}
 
-	private String readUnicodeEscapeSequence() {
+	private boolean readUnicodeEscapeSequence() {
 		identifierIndex += 1;
 
-		if (!peek(identifierIndex).equals("u")) {
-			return null;
+		if (peek(identifierIndex) != 'u') {
+			return false;
 		}
 
-		String sequence = peek(identifierIndex + 1) + peek(identifierIndex + 2) +
-				peek(identifierIndex + 3) + peek(identifierIndex + 4);
+		int sequenceStart = pos + identifierIndex + 1;
+		String sequence = StringUtils.substring(input, sequenceStart, sequenceStart + 4);
 
 		if (isHex(sequence)) {
 			Integer code = Ints.tryParse(sequence, 16);
@@ -782,21 +934,20 @@ public class Lexer {
 				if ((code < UnicodeData.identifierPartTable.length && UnicodeData.identifierPartTable[code])
 						|| isNonAsciiIdentifierPart(code)) {
 					identifierIndex += 5;
-					return "\\u" + sequence;
+					return true;
 				}
 			}
 
-			return null;
+			return false;
 		}
 
-		return null;
+		return false;
 	}
 
-	private String getIdentifierStart() {
-		String chr = peek(identifierIndex);
-		if (chr.length() == 0)
-			return null;
-		int code = chr.charAt(0);
+	private boolean getIdentifierStart() {
+		int code = peek(identifierIndex);
+		if (code == EOL)
+			return false;
 
 		if (code == 92) {
 			return readUnicodeEscapeSequence();
@@ -805,25 +956,24 @@ public class Lexer {
 		if (code < 128) {
 			if (UnicodeData.identifierStartTable[code]) {
 				identifierIndex += 1;
-				return chr;
+				return true;
 			}
 
-			return null;
+			return false;
 		}
 
 		if (isNonAsciiIdentifierStart(code)) {
 			identifierIndex += 1;
-			return chr;
+			return true;
 		}
 
-		return null;
+		return false;
 	}
 
-	private String getIdentifierPart() {
-		String chr = peek(identifierIndex);
-		if (chr.length() == 0)
-			return null;
-		int code = chr.charAt(0);
+	private boolean getIdentifierPart() {
+		int code = peek(identifierIndex);
+		if (code == EOL)
+			return false;
 
 		if (code == 92) {
 			return readUnicodeEscapeSequence();
@@ -832,23 +982,27 @@ public class Lexer {
 		if (code < 128) {
 			if (UnicodeData.identifierPartTable[code]) {
 				identifierIndex += 1;
-				return chr;
+				return true;
 			}
 
-			return null;
+			return false;
 		}
 
 		if (isNonAsciiIdentifierPart(code)) {
 			identifierIndex += 1;
-			return chr;
+			return true;
 		}
 
-		return null;
+		return false;
 	}
 
 	// PORT INFO: replace regexp /\\u([0-9a-fA-F]{4})/g was replaced with straight
 	// logic
 	private String removeEscapeSequences(String id) {
+		if (id.indexOf('\\') == -1) {
+			return id;
+		}
+
 		StringBuilder result = new StringBuilder(id);
 		int uIndex = result.indexOf("\\u");
 		int cIndex = uIndex + 2;
@@ -886,37 +1040,38 @@ public class Lexer {
 	public LexerToken scanNumericLiteral(AsyncTrigger checks) throws JSHintException {
 		EventContext context;
 		int index = 0;
-		String value = "";
-		int length = input.length();
-		String chr = peek(index);
-		Predicate<String> isAllowedDigit = this::isDecimalDigit;
+		int length = remaining();
+		int chr = peek(index);
+		IntPredicate isAllowedDigit = Lexer::isDecimalDigit;
 		int base = 10;
 		boolean isLegacy = false;
 
 		// Numbers must start either with a decimal digit or a point.
 
-		if (!chr.equals(".") && !isDecimalDigit(chr)) {
+		if (chr != '.' && !isDecimalDigit(chr)) {
 			return null;
 		}
 
-		if (!chr.equals(".")) {
-			value = peek(index);
+		// PORT INFO: value of the literal is always a continuous part of the input, so
+		// instead of collecting it char by char, it's taken from the input at the end
+
+		if (chr != '.') {
+			int first = chr;
 			index += 1;
 			chr = peek(index);
 
-			if (value.equals("0")) {
+			if (first == '0') {
 				// Base-16 numbers.
-				if (chr.equals("x") || chr.equals("X")) {
+				if (chr == 'x' || chr == 'X') {
 					isAllowedDigit = Lexer::isHexDigit;
 					base = 16;
 
 					index += 1;
-					value += chr;
 				}
 
 				// Base-8 numbers.
-				if (chr.equals("o") || chr.equals("O")) {
-					isAllowedDigit = this::isOctalDigit;
+				if (chr == 'o' || chr == 'O') {
+					isAllowedDigit = Lexer::isOctalDigit;
 					base = 8;
 
 					if (!state.inES6(true)) {
@@ -929,12 +1084,11 @@ public class Lexer {
 					}
 
 					index += 1;
-					value += chr;
 				}
 
 				// Base-2 numbers.
-				if (chr.equals("b") || chr.equals("B")) {
-					isAllowedDigit = this::isBinaryDigit;
+				if (chr == 'b' || chr == 'B') {
+					isAllowedDigit = Lexer::isBinaryDigit;
 					base = 2;
 
 					if (!state.inES6(true)) {
@@ -947,24 +1101,21 @@ public class Lexer {
 					}
 
 					index += 1;
-					value += chr;
 				}
 
 				// Legacy base-8 numbers.
 				if (isOctalDigit(chr)) {
-					isAllowedDigit = this::isOctalDigit;
+					isAllowedDigit = Lexer::isOctalDigit;
 					base = 8;
 					isLegacy = true;
 
 					index += 1;
-					value += chr;
 				}
 
 				// Decimal numbers that start with '0' such as '09' are illegal
 				// but we still parse them and return as malformed.
 				if (!isOctalDigit(chr) && isDecimalDigit(chr)) {
 					index += 1;
-					value += chr;
 				}
 			}
 
@@ -976,14 +1127,13 @@ public class Lexer {
 				if (!(isLegacy && isDecimalDigit(chr)) && !isAllowedDigit.test(chr)) {
 					break;
 				}
-				value += chr;
 				index += 1;
 			}
 
 			if (base != 10) {
-				if (!isLegacy && value.length() <= 2) // 0x
+				if (!isLegacy && index <= 2) // 0x
 				{
-					LexerToken token = new LexerToken(LexerTokenType.NUMERICLITERAL, value);
+					LexerToken token = new LexerToken(LexerTokenType.NUMERICLITERAL, input.substring(pos, pos + index));
 					token.setBase(0);
 					token.setMalformed(true);
 					return token;
@@ -996,7 +1146,7 @@ public class Lexer {
 					}
 				}
 
-				LexerToken token = new LexerToken(LexerTokenType.NUMERICLITERAL, value);
+				LexerToken token = new LexerToken(LexerTokenType.NUMERICLITERAL, input.substring(pos, pos + index));
 				token.setBase(base);
 				token.setLegacy(isLegacy);
 				token.setMalformed(false);
@@ -1006,8 +1156,7 @@ public class Lexer {
 
 		// Decimal digits.
 
-		if (chr.equals(".")) {
-			value += chr;
+		if (chr == '.') {
 			index += 1;
 
 			while (index < length) {
@@ -1015,26 +1164,22 @@ public class Lexer {
 				if (!isDecimalDigit(chr)) {
 					break;
 				}
-				value += chr;
 				index += 1;
 			}
 		}
 
 		// Exponent part.
 
-		if (chr.equals("e") || chr.equals("E")) {
-			value += chr;
+		if (chr == 'e' || chr == 'E') {
 			index += 1;
 			chr = peek(index);
 
-			if (chr.equals("+") || chr.equals("-")) {
-				value += peek(index);
+			if (chr == '+' || chr == '-') {
 				index += 1;
 			}
 
 			chr = peek(index);
 			if (isDecimalDigit(chr)) {
-				value += chr;
 				index += 1;
 
 				while (index < length) {
@@ -1042,7 +1187,6 @@ public class Lexer {
 					if (!isDecimalDigit(chr)) {
 						break;
 					}
-					value += chr;
 					index += 1;
 				}
 			} else {
@@ -1057,6 +1201,7 @@ public class Lexer {
 			}
 		}
 
+		String value = input.substring(pos, pos + index);
 		LexerToken token = new LexerToken(LexerTokenType.NUMERICLITERAL, value);
 		token.setBase(base);
 		token.setLegacy(isLegacy);
@@ -1070,10 +1215,11 @@ public class Lexer {
 		boolean allowNewLine = false;
 		int jump = 1;
 		skip();
-		String chr = peek();
+		int c = peek();
+		String chr = c == EOL ? "" : String.valueOf((char) c);
 
-		switch (chr) {
-			case "'":
+		switch (c) {
+			case '\'':
 				context = new EventContext();
 				context.setCode("W114");
 				context.setLine(line);
@@ -1081,40 +1227,40 @@ public class Lexer {
 				context.setData("\\'");
 				triggerAsync("warning", context, checks, () -> state.isJsonMode());
 				break;
-			case "b":
+			case 'b':
 				chr = "\\b";
 				break;
-			case "f":
+			case 'f':
 				chr = "\\f";
 				break;
-			case "n":
+			case 'n':
 				chr = "\\n";
 				break;
-			case "r":
+			case 'r':
 				chr = "\\r";
 				break;
-			case "t":
+			case 't':
 				chr = "\\t";
 				break;
-			case "0":
+			case '0':
 				chr = "\\0";
 
 				// Octal literals fail in strict mode.
 				// Check if the number is between 00 and 07.
-				final Integer n = Ints.tryParse(peek(1), 10);
+				final boolean isOctal = isOctalDigit(peek(1));
 				context = new EventContext();
 				context.setCode("W115");
 				context.setLine(line);
 				context.setCharacter(character);
-				triggerAsync("warning", context, checks, () -> n != null && n >= 0 && n <= 7 && state.isStrict());
+				triggerAsync("warning", context, checks, () -> isOctal && state.isStrict());
 				break;
-			case "1":
-			case "2":
-			case "3":
-			case "4":
-			case "5":
-			case "6":
-			case "7":
+			case '1':
+			case '2':
+			case '3':
+			case '4':
+			case '5':
+			case '6':
+			case '7':
 				chr = "\\" + chr;
 				context = new EventContext();
 				context.setCode("W115");
@@ -1122,8 +1268,8 @@ public class Lexer {
 				context.setCharacter(character);
 				triggerAsync("warning", context, checks, () -> state.isStrict());
 				break;
-			case "u":
-				String sequence = input.substring(1, 5);
+			case 'u':
+				String sequence = StringUtils.substring(input, pos + 1, pos + 5);
 				Integer code = Ints.tryParse(sequence, 16);
 				if (!isHex(sequence)) {
 					// This condition unequivocally describes a syntax error.
@@ -1139,7 +1285,7 @@ public class Lexer {
 				chr = (code != null ? Character.toString((char) code.intValue()) : "\0");
 				jump = 5;
 				break;
-			case "v":
+			case 'v':
 				context = new EventContext();
 				context.setCode("W114");
 				context.setLine(line);
@@ -1149,8 +1295,8 @@ public class Lexer {
 
 				chr = "\u000B";
 				break;
-			case "x":
-				Integer x = Ints.tryParse(input.substring(1, 2), 16);
+			case 'x':
+				Integer x = Ints.tryParse(StringUtils.substring(input, pos + 1, pos + 2), 16);
 
 				context = new EventContext();
 				context.setCode("W114");
@@ -1162,15 +1308,15 @@ public class Lexer {
 				chr = (x != null ? Character.toString((char) x.intValue()) : "\0");
 				jump = 3;
 				break;
-			case "\\":
+			case '\\':
 				chr = "\\\\";
 				break;
-			case "\"":
+			case '"':
 				chr = "\\\"";
 				break;
-			case "/":
+			case '/':
 				break;
-			case "":
+			case EOL:
 				allowNewLine = true;
 				chr = "";
 				break;
@@ -1188,13 +1334,13 @@ public class Lexer {
 	public LexerToken scanTemplateLiteral(AsyncTrigger checks) throws JSHintException {
 		EventContext context;
 		LexerTokenType tokenType = LexerTokenType.NONE;
-		String value = "";
-		String ch = "";
+		StringBuilder value = new StringBuilder();
+		int ch = EOL;
 		int startLine = line;
 		int startChar = character;
 		int depth = templateStarts.size();
 
-		if (peek().equals("`")) {
+		if (peek() == '`') {
 			if (!state.inES6(true)) {
 				context = new EventContext();
 				context.setCode("W119");
@@ -1209,7 +1355,7 @@ public class Lexer {
 			depth = templateStarts.size();
 			skip(1);
 			pushContext(LexerContextType.TEMPLATE);
-		} else if (inContext(LexerContextType.TEMPLATE) && peek().equals("}")) {
+		} else if (inContext(LexerContextType.TEMPLATE) && peek() == '}') {
 			// If we're in a template context, and we have a '}', lex a TemplateMiddle.
 			tokenType = LexerTokenType.TEMPLATEMIDDLE;
 		} else {
@@ -1217,9 +1363,9 @@ public class Lexer {
 			return null;
 		}
 
-		while (!peek().equals("`")) {
-			while ((ch = peek()).equals("")) {
-				value += "\n";
+		while (peek() != '`') {
+			while ((ch = peek()) == EOL) {
+				value.append('\n');
 				if (!nextLine(checks)) {
 					// Unclosed template literal --- point to the starting "`"
 					TemplateStart startPos = templateStarts.remove(templateStarts.size() - 1);
@@ -1229,7 +1375,7 @@ public class Lexer {
 					context.setCharacter(startPos.getCharacter());
 					trigger("error", context);
 
-					LexerToken token = new LexerToken(tokenType, value);
+					LexerToken token = new LexerToken(tokenType, value.toString());
 					token.setStartLine(startLine);
 					token.setStartChar(startChar);
 					token.setUnclosed(true);
@@ -1239,24 +1385,24 @@ public class Lexer {
 				}
 			}
 
-			if (ch.equals("$") && peek(1).equals("{")) {
-				value += "${";
+			if (ch == '$' && peek(1) == '{') {
+				value.append("${");
 				skip(2);
 
-				LexerToken token = new LexerToken(tokenType, value);
+				LexerToken token = new LexerToken(tokenType, value.toString());
 				token.setStartLine(startLine);
 				token.setStartChar(startChar);
 				token.setUnclosed(false);
 				token.setDepth(depth);
 				token.setContext(currentContext());
 				return token;
-			} else if (ch.equals("\\")) {
+			} else if (ch == '\\') {
 				UniversalContainer escape = scanEscapeSequence(checks);
-				value += escape.asString("char");
+				value.append(escape.asString("char"));
 				skip(escape.asInt("jump"));
-			} else if (!ch.equals("`")) {
+			} else if (ch != '`') {
 				// Otherwise, append the value and continue.
-				value += ch;
+				value.append((char) ch);
 				skip(1);
 			}
 		}
@@ -1267,7 +1413,7 @@ public class Lexer {
 		skip(1);
 		templateStarts.remove(templateStarts.size() - 1);
 
-		LexerToken token = new LexerToken(tokenType, value);
+		LexerToken token = new LexerToken(tokenType, value.toString());
 		token.setStartLine(startLine);
 		token.setStartChar(startChar);
 		token.setUnclosed(false);
@@ -1289,13 +1435,15 @@ public class Lexer {
 	 */
 	public LexerToken scanStringLiteral(AsyncTrigger checks) throws JSHintException {
 		EventContext context;
-		String quote = peek();
+		int q = peek();
 
 		// String must start with a quote.
-		if (!quote.equals("\"") && !quote.equals("'")) {
+		if (q != '"' && q != '\'') {
 			return null;
 		}
 
+		String quote = String.valueOf((char) q);
+
 		// In JSON strings must always use double quotes.
 		context = new EventContext();
 		context.setCode("W108");
@@ -1303,15 +1451,15 @@ public class Lexer {
 		context.setCharacter(character);
 		triggerAsync("warning", context, checks, () -> state.isJsonMode() && !quote.equals("\""));
 
-		String value = "";
+		StringBuilder value = new StringBuilder();
 		int startLine = line;
 		int startChar = character;
 		boolean allowNewLine = false;
 
 		skip();
 
-		while (!peek().equals(quote)) {
-			if (peek().equals("")) // End Of Line
+		while (peek() != q) {
+			if (peek() == EOL) // End Of Line
 			{
 				// If an EOL is not preceded by a backslash, show a warning
 				// and proceed like it was a legit multi-line string where
@@ -1338,21 +1486,22 @@ public class Lexer {
 					context.setCode("W043");
 					context.setLine(line);
 					context.setCharacter(character);
-					triggerAsync("warning", context, checks, () -> !state.getOption().test("multistr"));
+					triggerAsync("warning", context, checks,
+							() -> !state.getCompiledOption().test(CompiledOptions.MULTISTR));
 
 					context = new EventContext();
 					context.setCode("W042");
 					context.setLine(line);
 					context.setCharacter(character);
 					triggerAsync("warning", context, checks,
-							() -> state.isJsonMode() && state.getOption().test("multistr"));
+							() -> state.isJsonMode() && state.getCompiledOption().test(CompiledOptions.MULTISTR));
 				}
 
 				// If we get an EOF inside of an unclosed string, show an
 				// error and implicitly close it at the EOF point.
 
 				if (!nextLine(checks)) {
-					LexerToken token = new LexerToken(LexerTokenType.STRINGLITERAL, value);
+					LexerToken token = new LexerToken(LexerTokenType.STRINGLITERAL, value.toString());
 					token.setStartLine(startLine);
 					token.setStartChar(startChar);
 					token.setUnclosed(true);
@@ -1362,11 +1511,12 @@ public class Lexer {
 			} else // Any character other than End Of Line
 			{
 				allowNewLine = false;
-				String chr = peek();
+				int c = peek();
+				String chr = null;
 				int jump = 1; // A length of a jump, after we're done
 								// parsing this character.
 
-				if (chr.length() > 0 && chr.charAt(0) < ' ') {
+				if (c < ' ') {
 					// Warn about a control character in a string.
 					context = new EventContext();
 					context.setCode("W113");
@@ -1377,7 +1527,7 @@ public class Lexer {
 				}
 
 				// Special treatment for some escaped characters.
-				if (chr.equals("\\")) {
+				if (c == '\\') {
 					UniversalContainer parsed = scanEscapeSequence(checks);
 					chr = parsed.asString("char");
 					jump = parsed.asInt("jump");
@@ -1388,8 +1538,11 @@ public class Lexer {
 				// this case, `this.char` should not be incremented so that warnings
 				// and errors reported in the subsequent loop iteration have the
 				// correct character column offset.
-				if (!chr.equals("")) {
-					value += chr;
+				if (chr == null) {
+					value.append((char) c);
+					skip(jump);
+				} else if (!chr.equals("")) {
+					value.append(chr);
 					skip(jump);
 				}
 			}
@@ -1397,7 +1550,7 @@ public class Lexer {
 
 		skip();
 
-		LexerToken token = new LexerToken(LexerTokenType.STRINGLITERAL, value);
+		LexerToken token = new LexerToken(LexerTokenType.STRINGLITERAL, value.toString());
 		token.setStartLine(startLine);
 		token.setStartChar(startChar);
 		token.setUnclosed(false);
@@ -1409,17 +1562,22 @@ public class Lexer {
 	 * Extract a regular expression out of the next sequence of
 	 * characters and/or lines or return 'null' if its not possible.
 	 *
-	 * This method is platform dependent: it accepts almost any
-	 * regular expression values but then tries to compile and run
-	 * them using system's RegExp object. This means that there are
-	 * rare edge cases where one JavaScript engine complains about
-	 * your regular expression while others don't.
+	 * This method accepts almost any regular expression values but
+	 * then checks them with RegExpValidator, which follows the grammar
+	 * of ECMAScript specification (including web compatibility rules
+	 * of Annex B), so there may be rare edge cases where some JavaScript
+	 * engine complains about your regular expression while others don't.
 	 */
 	public LexerToken scanRegExp(AsyncTrigger checks) throws JSHintException {
+		// Regular expressions must start with '/'
+		if (!prereg || peek() != '/') {
+			return null;
+		}
+
 		AtomicInteger index = new AtomicInteger(0);
-		int length = input.length();
-		AtomicReference<String> chr = new AtomicReference<String>(peek());
-		StringBuilder value = new StringBuilder(chr.get());
+		int length = remaining();
+		AtomicInteger chr = new AtomicInteger(peek());
+		StringBuilder value = new StringBuilder("/");
 		StringBuilder body = new StringBuilder();
 		List<Integer> groupReferences = new ArrayList<Integer>();
 		StringBuilder allFlags = new StringBuilder();
@@ -1440,34 +1598,40 @@ public class Lexer {
 			index.addAndGet(1);
 			chr.set(peek(index.get()));
 
+			// Backslash at the end of line escapes nothing
+			if (chr.get() == EOL) {
+				index.addAndGet(1);
+				return "";
+			}
+
 			if (Reg.isNonzeroDigit(chr.get())) {
-				StringBuilder sequence = new StringBuilder(chr.get());
-				String next = peek(index.get() + 1);
-				while (Reg.isNonzeroDigit(next) || next.equals("0")) {
+				StringBuilder sequence = new StringBuilder().append((char) chr.get());
+				int next = peek(index.get() + 1);
+				while (Reg.isNonzeroDigit(next) || next == '0') {
 					index.addAndGet(1);
 					chr.set(next);
-					sequence.append(chr.get());
-					body.append(chr.get());
-					value.append(chr.get());
+					sequence.append((char) next);
+					body.append((char) next);
+					value.append((char) next);
 					next = peek(index.get() + 1);
 				}
 				groupReferences.add(Ints.tryParse(sequence.toString()));
 				return sequence.toString();
 			}
 
-			escapedChars.append(chr.get());
+			escapedChars.append((char) chr.get());
 
-			if (chr.get().equals("u") && peek(index.get() + 1).equals("{")) {
+			if (chr.get() == 'u' && peek(index.get() + 1) == '{') {
 				int x = index.get() + 2;
 				StringBuilder sequence = new StringBuilder("u{");
-				String next = peek(x);
-				while (isHex(next)) {
-					sequence.append(next);
+				int next = peek(x);
+				while (isHexDigit(next)) {
+					sequence.append((char) next);
 					x += 1;
 					next = peek(x);
 				}
 
-				if (!next.equals("}")) {
+				if (next != '}') {
 					EventContext context = new EventContext();
 					context.setCode("E016");
 					context.setLine(line);
@@ -1484,7 +1648,7 @@ public class Lexer {
 			}
 
 			// Unexpected control character
-			if (chr.get().length() > 0 && chr.get().charAt(0) < ' ') {
+			if (chr.get() < ' ') {
 				malformed.set(true);
 				EventContext context = new EventContext();
 				context.setCode("W048");
@@ -1494,21 +1658,21 @@ public class Lexer {
 			}
 
 			// Unexpected escaped character
-			if (chr.get().equals("<")) {
+			if (chr.get() == '<') {
 				malformed.set(true);
 				EventContext context = new EventContext();
 				context.setCode("W049");
 				context.setLine(line);
 				context.setCharacter(character);
-				context.setData(chr.get());
+				context.setData("<");
 				triggerAsync("warning", context, checks, () -> true);
 			}
 
 			index.addAndGet(1);
-			body.append(chr.get());
-			value.append(chr.get());
+			body.append((char) chr.get());
+			value.append((char) chr.get());
 
-			return chr.get();
+			return String.valueOf((char) chr.get());
 		};
 
 		BooleanSupplier checkQuantifier = () -> {
@@ -1516,11 +1680,11 @@ public class Lexer {
 			StringBuilder lowerBound = new StringBuilder();
 			StringBuilder upperBound = new StringBuilder();
 
-			String next = peek(lookahead + 1);
+			int next = peek(lookahead + 1);
 
 			while (Reg.isDecimalDigit(next)) {
 				lookahead += 1;
-				lowerBound.append(next);
+				lowerBound.append((char) next);
 				next = peek(lookahead + 1);
 			}
 
@@ -1528,11 +1692,11 @@ public class Lexer {
 				return false;
 			}
 
-			if (next.equals("}")) {
+			if (next == '}') {
 				return true;
 			}
 
-			if (!next.equals(",")) {
+			if (next != ',') {
 				return false;
 			}
 
@@ -1541,11 +1705,11 @@ public class Lexer {
 
 			while (Reg.isDecimalDigit(next)) {
 				lookahead += 1;
-				upperBound.append(next);
+				upperBound.append((char) next);
 				next = peek(lookahead + 1);
 			}
 
-			if (!next.equals("}")) {
+			if (next != '}') {
 				return false;
 			}
 
@@ -1605,42 +1769,37 @@ public class Lexer {
 					astralSubstitute);
 		};
 
-		// Regular expressions must start with '/'
-		if (!prereg || !chr.get().equals("/")) {
-			return null;
-		}
-
 		index.addAndGet(1);
 		terminated = false;
 
 		// Try to get everything in between slashes. A couple of
 		// cases aside (see scanRegexpEscapeSequence) we don't really
 		// care whether the resulting expression is valid or not.
-		// We will check that later using the RegExp object.
+		// We will check that later using the RegExpValidator.
 
 		while (index.get() < length) {
 			// Because an iteration of this loop may terminate in a number of
 			// distinct locations, `isCharSetRange` is re-set at the onset of
 			// iteration.
-			isCharSetRange &= chr.get().equals("-");
+			isCharSetRange &= chr.get() == '-';
 			chr.set(peek(index.get()));
-			value.append(chr.get());
-			body.append(chr.get());
+			value.append((char) chr.get());
+			body.append((char) chr.get());
 
 			if (isCharSet) {
-				if (chr.get().equals("]")) {
-					if (!peek(index.get() - 1).equals("\\") || peek(index.get() - 2).equals("\\")) {
+				if (chr.get() == ']') {
+					if (peek(index.get() - 1) != '\\' || peek(index.get() - 2) == '\\') {
 						isCharSet = false;
 					}
-				} else if (chr.get().equals("-")) {
+				} else if (chr.get() == '-') {
 					isCharSetRange = true;
 				}
 			}
 
-			if (chr.get().equals("\\")) {
+			if (chr.get() == '\\') {
 				String escapeSequence = scanRegexpEscapeSequence.get();
 
-				if (isCharSet && (peek(index.get()).equals("-") || isCharSetRange) &&
+				if (isCharSet && (peek(index.get()) == '-' || isCharSetRange) &&
 						Reg.isCharClasses(escapeSequence)) {
 					EventContext context = new EventContext();
 					context.setCode("E016");
@@ -1653,20 +1812,20 @@ public class Lexer {
 				continue;
 			}
 
-			if (chr.get().equals("{") && !hasInvalidQuantifier) {
+			if (chr.get() == '{' && !hasInvalidQuantifier) {
 				hasInvalidQuantifier = !checkQuantifier.getAsBoolean();
 			}
 
-			if (chr.get().equals("[")) {
+			if (chr.get() == '[') {
 				isCharSet = true;
 				index.addAndGet(1);
 				continue;
-			} else if (chr.get().equals("(")) {
-				if (peek(index.get() + 1).equals("?") &&
-						(peek(index.get() + 2).equals("=") || peek(index.get() + 2).equals("!"))) {
+			} else if (chr.get() == '(') {
+				if (peek(index.get() + 1) == '?' &&
+						(peek(index.get() + 2) == '=' || peek(index.get() + 2) == '!')) {
 					isQuantifiable = true;
 				}
-			} else if (chr.get().equals(")")) {
+			} else if (chr.get() == ')') {
 				if (isQuantifiable) {
 					isQuantifiable = false;
 
@@ -1681,7 +1840,7 @@ public class Lexer {
 				} else {
 					groupCount.addAndGet(1);
 				}
-			} else if (chr.get().equals("/")) {
+			} else if (chr.get() == '/') {
 				body.deleteCharAt(body.length() - 1);
 				terminated = true;
 				index.addAndGet(1);
@@ -1716,7 +1875,7 @@ public class Lexer {
 			if (!Reg.isRegexpFlag(chr.get())) {
 				break;
 			}
-			if (chr.get().equals("y")) {
+			if (chr.get() == 'y') {
 				if (!state.inES6(true)) {
 					EventContext context = new EventContext();
 					context.setCode("W119");
@@ -1725,7 +1884,7 @@ public class Lexer {
 					context.setData("Sticky RegExp flag", "6");
 					triggerAsync("warning", context, checks, () -> true);
 				}
-			} else if (chr.get().equals("u")) {
+			} else if (chr.get() == 'u') {
 				if (!state.inES6(true)) {
 					EventContext context = new EventContext();
 					context.setCode("W119");
@@ -1751,8 +1910,8 @@ public class Lexer {
 						char escapedChar = (char) c;
 						return escapedChar == 'u' ||
 								escapedChar == '/' ||
-								Reg.isCharClasses(String.valueOf(escapedChar)) ||
-								Reg.isSyntaxChars(String.valueOf(escapedChar));
+								Reg.isCharClasses(escapedChar) ||
+								Reg.isSyntaxChars(escapedChar);
 					});
 				}
 
@@ -1763,7 +1922,7 @@ public class Lexer {
 				}
 
 				body.replace(0, body.length(), translateUFlag.apply(body.toString()));
-			} else if (chr.get().equals("s")) {
+			} else if (chr.get() == 's') {
 				if (!state.inES9()) {
 					EventContext context = new EventContext();
 					context.setCode("W119");
@@ -1776,16 +1935,16 @@ public class Lexer {
 					malformedDesc = "Duplicate RegExp flag";
 				}
 			} else {
-				es5Flags.append(chr.get());
+				es5Flags.append((char) chr.get());
 			}
 
-			if (allFlags.indexOf(chr.get()) > -1) {
+			if (allFlags.indexOf(String.valueOf((char) chr.get())) > -1) {
 				malformedDesc = "Duplicate RegExp flag";
 			}
-			allFlags.append(chr.get());
+			allFlags.append((char) chr.get());
 
-			value.append(chr.get());
-			allFlags.append(chr.get());
+			value.append((char) chr.get());
+			allFlags.append((char) chr.get());
 			index.addAndGet(1);
 		}
 
@@ -1794,36 +1953,17 @@ public class Lexer {
 			context.setCode("W147");
 			context.setLine(line);
 			context.setCharacter(character);
-			triggerAsync("warning", context, checks, () -> state.getOption().test("regexpu"));
+			triggerAsync("warning", context, checks, () -> state.getCompiledOption().test(CompiledOptions.REGEXPU));
 		}
 
 		// Check regular expression for correctness.
 
-		// PORT INFO: tried several JAVA RE engines to parse javascript regexps:
-		// * org.jruby.joni:joni:2.1.25 - produced infinite loop on regexps like
-		// /\u0000/
-		// * com.google.re2j:re2j:1.2 - there were a lot of errors on valid js regexps
-		// * com.basistech.tclre:tcl-regex:0.14.0 - there were many errors on valid js
-		// regexps, but much better than re2j
-		// * com.github.florianingerl.util:regex:1.1.6 - slightly better than tcl-regex
-		// * xerces:xercesImpl:2.12.0 - slightly better than florianingerl.util.regex
-		// * java.util.regex.Pattern - slightly better than xercesImpl
-		// * org.mozilla:rhino:1.7.10 - very good compatibility, only several valid js
-		// regexps weren't parsed
-		// * javax.script.ScriptEngine - slightly better than rhino
-		//
-		// RegExp engine inside Nashorn engine very close to original JS RegExp engine
-		// and it doesn't require external dependency so it's used as a validator of
-		// javascript regular expressions
-		try {
-			jsEngine.eval("/" + body.toString() + "/" + es5Flags, jsEngine.createBindings());
-		} catch (Exception err) {
-			/**
-			 * Because JSHint relies on the current engine's RegExp parser to
-			 * validate RegExp literals, the description (exposed as the "data"
-			 * property on the error object) is platform dependent.
-			 */
-			malformedDesc = err.getMessage();
+		// PORT INFO: original JSHint relies on the current engine's RegExp parser to
+		// validate RegExp literals, here the native validator implementing the same
+		// grammar is used instead of a script engine
+		String regexpError = RegExpValidator.validate(body.toString(), es5Flags.toString());
+		if (regexpError != null) {
+			malformedDesc = regexpError;
 		}
 
 		if (StringUtils.isNotEmpty(malformedDesc)) {
@@ -1853,7 +1993,12 @@ public class Lexer {
 	 * pages with non-breaking pages produce syntax errors.
 	 */
 	public int scanNonBreakingSpaces() {
-		return state.getOption().test("nonbsp") ? input.indexOf('\u00A0') : -1;
+		if (!state.getCompiledOption().test(CompiledOptions.NONBSP)) {
+			return -1;
+		}
+
+		int nbsp = input.indexOf('\u00A0', pos);
+		return nbsp != -1 ? nbsp - pos : -1;
 	}
 
 	/*
@@ -1869,30 +2014,75 @@ public class Lexer {
 			skip();
 		}
 
-		// Methods that work with multi-line structures and move the
-		// character pointer.
+		// End of unbegun comment is reported and skipped by scanComments,
+		// lexing continues right after it.
+		// PORT INFO: original JSHint passes the rest of the input straight to the
+		// regexp and punctuator scanners, so "*//* a */" was lexed as "*/" followed by
+		// a regexp or a division, here the following comment is recognized as a comment
+		if (peek() == '*' && peek(1) == '/') {
+			scanComments(checks);
+		}
 
-		LexerToken match = scanComments(checks);
-		if (match == null)
-			match = scanStringLiteral(checks);
-		if (match == null)
-			match = scanTemplateLiteral(checks);
+		// Only scanners which can accept the first character are tried, in the
+		// same order as before: methods that work with multi-line structures and
+		// move the character pointer go first.
 
-		if (match != null) {
-			return match;
-		}
+		LexerToken match = null;
+
+		switch (getCharClass(peek())) {
+			case SLASH:
+				match = scanComments(checks);
+				if (match != null) {
+					return match;
+				}
+				match = scanRegExp(checks);
+				if (match == null)
+					match = scanPunctuator();
+				break;
+
+			case QUOTE:
+				return scanStringLiteral(checks);
+
+			case BACKTICK:
+				return scanTemplateLiteral(checks);
+
+			case CLOSE_BRACE:
+				match = scanTemplateLiteral(checks);
+				if (match != null) {
+					return match;
+				}
+				match = scanPunctuator();
+				break;
+
+			case DOT:
+				match = scanPunctuator();
+				if (match == null)
+					match = scanNumericLiteral(checks);
+				break;
+
+			case PUNCTUATOR:
+				match = scanPunctuator();
+				break;
+
+			case DIGIT:
+				match = scanNumericLiteral(checks);
+				break;
 
-		// Methods that don't move the character pointer.
+			case LOWERCASE:
+				// Word that isn't a keyword is a valid start of the identifier,
+				// so its scanning continues after the characters read by scanKeyword
+				match = scanKeyword();
+				if (match == null)
+					match = scanIdentifierRest(checks);
+				break;
+
+			case IDENTIFIER:
+				match = scanIdentifier(checks);
+				break;
 
-		match = scanRegExp(checks);
-		if (match == null)
-			match = scanPunctuator();
-		if (match == null)
-			match = scanKeyword();
-		if (match == null)
-			match = scanIdentifier(checks);
-		if (match == null)
-			match = scanNumericLiteral(checks);
+			default:
+				break;
+		}
 
 		if (match != null) {
 			skip(match.getTokenLength() != 0 ? match.getTokenLength() : match.getValue().length());
@@ -1915,6 +2105,7 @@ public class Lexer {
 		}
 
 		input = getLines()[line];
+		pos = 0;
 		line += 1;
 		character = 1;
 		from = 1;
@@ -1943,8 +2134,8 @@ public class Lexer {
 
 		// If there is a limit on line length, warn when lines get too
 		// long.
-		if (!ignoringLinterErrors && state.getOption().test("maxlen") &&
-				state.getOption().asInt("maxlen") < input.length()) {
+		if (!ignoringLinterErrors && state.getCompiledOption().test(CompiledOptions.MAXLEN) &&
+				state.getCompiledOption().getMaxlen() < input.length()) {
 			boolean inComment = this.inComment ||
 					inputTrimmed.startsWith("//") ||
 					inputTrimmed.startsWith("/*");
@@ -1963,6 +2154,13 @@ public class Lexer {
 		return true;
 	}
 
+	// PORT INFO: original JSHint creates tokens with Object.create(syntax[value]),
+	// here token is a shallow copy of the syntax table entry, which shares kind
+	// behaviour (binding powers, denotations, etc.) with it instead of copying.
+	private Token createFromPrototype(Token prototype) {
+		return prototype != null ? prototype.clone() : new Token();
+	}
+
 	// Produce a token object.
 	private Token create(Token.Type type, String value, AsyncTrigger checks) {
 		return create(type, value, false, null, checks);
@@ -1991,9 +2189,8 @@ public class Lexer {
 					prereg = true;
 			}
 
-			obj = ObjectUtils.defaultIfNull(ObjectUtils.clone(ObjectUtils
-					.defaultIfNull(state.getSyntax().get(value), state.getSyntax().get("(error)"))),
-					new Token());
+			obj = createFromPrototype(ObjectUtils.defaultIfNull(state.getSyntax().get(value),
+					state.getSyntax().get("(error)")));
 		}
 
 		if (type == Token.Type.IDENTIFIER) {
@@ -2003,10 +2200,9 @@ public class Lexer {
 				prereg = true;
 			}
 
-			if (state.getSyntax().containsKey(value)) {
-				obj = ObjectUtils.defaultIfNull(ObjectUtils.clone(ObjectUtils
-						.defaultIfNull(state.getSyntax().get(value), state.getSyntax().get("(error)"))),
-						new Token());
+			Token prototype = state.getSyntax().get(value);
+			if (prototype != null) {
+				obj = createFromPrototype(prototype);
 			}
 		}
 
@@ -2015,8 +2211,7 @@ public class Lexer {
 		}
 
 		if (obj == null) {
-			obj = ObjectUtils.defaultIfNull(ObjectUtils.clone(state.getSyntax().get(type.toString())),
-					new Token());
+			obj = createFromPrototype(state.getSyntax().get(type.toString()));
 		}
 
 		obj.setIdentifier(type == Token.Type.IDENTIFIER);
@@ -2062,8 +2257,8 @@ public class Lexer {
 		AsyncTrigger checks = new AsyncTrigger();
 
 		for (;;) {
-			if (input.length() == 0) {
-				if (nextLine(checks)) {
+			if (remaining() == 0) {
+				if (journal != null ? journal.nextLine(checks) : nextLine(checks)) {
 					return create(Token.Type.ENDLINE, "", checks);
 				}
 
@@ -2075,19 +2270,20 @@ public class Lexer {
 				return create(Token.Type.END, "", checks);
 			}
 
-			final LexerToken token = next(checks);
+			final LexerToken token = journal != null ? journal.next(checks) : next(checks);
 
 			if (token == null) {
-				if (input.length() != 0) {
+				if (remaining() != 0) {
 					// Unexpected character.
 					context = new EventContext();
 					context.setCode("E024");
 					context.setLine(line);
 					context.setCharacter(character);
-					context.setData(peek());
+					context.setData(String.valueOf((char) peek()));
 					trigger("error", context);
 
 					input = "";
+					pos = 0;
 				}
 
 				continue;
@@ -2151,10 +2347,10 @@ public class Lexer {
 					context.setFrom(from);
 					context.setName(token.getValue());
 					context.setRawName(token.getText());
-					context.setProperty(state.currToken().getId().equals("."));
+					context.setProperty(state.currToken().getKindId() == TokenIds.DOT);
 					triggerAsync("Identifier", context, checks, () -> true);
 				case KEYWORD:
-					return create(Token.Type.IDENTIFIER, token.getValue(), state.currToken().getId().equals("."),
+					return create(Token.Type.IDENTIFIER, token.getValue(), state.currToken().getKindId() == TokenIds.DOT,
 							token, checks);
 				case NUMERICLITERAL:
 					if (token.isMalformed()) {
@@ -2214,7 +2410,80 @@ public class Lexer {
 		}
 	}
 
-	public static class LexerToken {
+	/*
+	 * Save the scanning state of the lexer between two raw tokens. Arrays
+	 * of the previous snapshot are reused, if they were not changed.
+	 */
+	Snapshot snapshot(Snapshot previous) {
+		LexerContext[] contexts = previous != null && Arrays.asList(previous.contexts).equals(context)
+				? previous.contexts : context.toArray(new LexerContext[context.size()]);
+		TemplateStart[] starts = previous != null && Arrays.asList(previous.templateStarts).equals(templateStarts)
+				? previous.templateStarts : templateStarts.toArray(new TemplateStart[templateStarts.size()]);
+
+		return new Snapshot(line, character, from, input, pos, prereg, inComment, ignoringLinterErrors,
+				contexts, starts);
+	}
+
+	/*
+	 * Check if the lexer is in the same state as the saved one, which was
+	 * moved by lineDelta lines. Returns the mapping of the saved contexts to
+	 * the current ones or 'null' if states are different.
+	 */
+	ContextMapping matches(Snapshot snapshot, int lineDelta) {
+		if (snapshot.prereg != prereg || snapshot.inComment != inComment ||
+				snapshot.ignoringLinterErrors != ignoringLinterErrors ||
+				snapshot.contexts.length != context.size() ||
+				snapshot.templateStarts.length != templateStarts.size()) {
+			return null;
+		}
+
+		for (int i = 0; i < snapshot.templateStarts.length; i++) {
+			TemplateStart saved = snapshot.templateStarts[i];
+			TemplateStart current = templateStarts.get(i);
+			if (saved.line + lineDelta != current.line || saved.character != current.character) {
+				return null;
+			}
+		}
+
+		for (int i = 0; i < snapshot.contexts.length; i++) {
+			if (snapshot.contexts[i].type != context.get(i).type) {
+				return null;
+			}
+		}
+		return new ContextMapping(snapshot.contexts, context.toArray(new LexerContext[context.size()]));
+	}
+
+	/*
+	 * Restore the saved scanning state, which is moved by lineDelta lines.
+	 * Contexts, which were saved before the current ones were created, are
+	 * replaced using the mapping, since parser compares them by identity.
+	 * Lists are rebuilt only if they were changed since the previous state.
+	 */
+	void restore(Snapshot snapshot, Snapshot previous, int lineDelta, ContextMapping mapping) {
+		line = snapshot.line + lineDelta;
+		character = snapshot.character;
+		from = snapshot.from;
+		input = snapshot.input;
+		pos = snapshot.pos;
+		inComment = snapshot.inComment;
+		ignoringLinterErrors = snapshot.ignoringLinterErrors;
+
+		if (snapshot.contexts != previous.contexts) {
+			context.clear();
+			for (LexerContext ctx : snapshot.contexts) {
+				context.add(mapping.map(ctx));
+			}
+		}
+
+		if (snapshot.templateStarts != previous.templateStarts) {
+			templateStarts.clear();
+			for (TemplateStart start : snapshot.templateStarts) {
+				templateStarts.add(lineDelta == 0 ? start : new TemplateStart(start.line + lineDelta, start.character));
+			}
+		}
+	}
+
+	public static class LexerToken implements Cloneable {
 
 		private LexerTokenType type = LexerTokenType.NONE;
 		private String value = null;
@@ -2365,6 +2634,28 @@ public class Lexer {
 		private void setContext(LexerContext context) {
 			this.context = context;
 		}
+
+		/*
+		 * Copy of the replayed token, which is moved by lineDelta lines and
+		 * refers to the current context.
+		 */
+		LexerToken relocate(int lineDelta, ContextMapping mapping) {
+			LexerContext ctx = mapping.map(context);
+			if ((lineDelta == 0 || startLine == 0) && ctx == context) {
+				return this;
+			}
+
+			try {
+				LexerToken token = (LexerToken) super.clone();
+				if (startLine != 0) {
+					token.startLine += lineDelta;
+				}
+				token.context = ctx;
+				return token;
+			} catch (CloneNotSupportedException e) {
+				throw new IllegalStateException(e);
+			}
+		}
 	}
 
 	public static class LexerContext {
@@ -2398,4 +2689,60 @@ public class Lexer {
 			return character;
 		}
 	}
+
+	/*
+	 * Saved contexts of the replayed state and the current contexts, which
+	 * replace them.
+	 */
+	static final class ContextMapping {
+
+		private final LexerContext[] saved;
+		private final LexerContext[] current;
+
+		private ContextMapping(LexerContext[] saved, LexerContext[] current) {
+			this.saved = saved;
+			this.current = current;
+		}
+
+		private LexerContext map(LexerContext ctx) {
+			for (int i = 0; i < saved.length; i++) {
+				if (saved[i] == ctx) {
+					return current[i];
+				}
+			}
+			return ctx;
+		}
+	}
+
+	/*
+	 * Scanning state of the lexer, which is kept by LexerJournal.
+	 */
+	static final class Snapshot {
+
+		private final int line;
+		private final int character;
+		private final int from;
+		private final String input;
+		private final int pos;
+		private final boolean prereg;
+		private final boolean inComment;
+		private final boolean ignoringLinterErrors;
+		private final LexerContext[] contexts;
+		private final TemplateStart[] templateStarts;
+
+		private Snapshot(int line, int character, int from, String input, int pos, boolean prereg,
+				boolean inComment, boolean ignoringLinterErrors, LexerContext[] contexts,
+				TemplateStart[] templateStarts) {
+			this.line = line;
+			this.character = character;
+			this.from = from;
+			this.input = input;
+			this.pos = pos;
+			this.prereg = prereg;
+			this.inComment = inComment;
+			this.ignoringLinterErrors = ignoringLinterErrors;
+			this.contexts = contexts;
+			this.templateStarts = templateStarts;
+		}
+	}
 }
\ No newline at end of file
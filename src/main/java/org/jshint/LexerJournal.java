@@ -0,0 +1,289 @@
+package org.jshint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.jshint.Lexer.AsyncTrigger;
+import org.jshint.Lexer.ContextMapping;
+import org.jshint.Lexer.LexerToken;
+import org.jshint.Lexer.Snapshot;
+import org.jshint.utils.EventContext;
+
+/**
+ * Raw tokens of the previous lexer run, which are replayed for the lines, that
+ * were not changed since then.
+ *
+ * Source is split into line groups: group starts, when the lexer moves to the
+ * next line between tokens, and also includes lines consumed by multi-line
+ * comments, strings and templates, which start in it. For every group journal
+ * keeps texts of its lines, state of the lexer at its start and every raw token
+ * together with the events triggered while it was scanned and the state of the
+ * lexer after it. When the lexer reaches a group with the same lines and the same
+ * start state, tokens are replayed instead of being scanned, so only the changed
+ * lines and the following lines, which start in a different state (e.g. inside of
+ * a new block comment), are scanned again.
+ *
+ * Tokens are still created by the lexer from the replayed raw tokens, since they
+ * depend on the parser state and are changed by the parser. Scanning depends only
+ * on a few options, which are compared for every token, so if they were changed
+ * by an inline directive, the rest of the group is scanned again.
+ *
+ * Groups are kept in the list parallel to the lines of the source, so every change
+ * of the lines has to be reported with {@link #replaceLines(int, int, int)}. Groups,
+ * which are moved to another line, are replayed with shifted line numbers.
+ */
+final class LexerJournal {
+
+	// Recorded groups by the index of their first line
+	private final List<Group> groups;
+
+	private Lexer lexer = null;
+
+	// Group, which is replayed now, index of its next step, distance between its
+	// recorded and current lines and mapping of its recorded contexts
+	private Group replayed = null;
+	private int replayedStep = 0;
+	private int lineDelta = 0;
+	private ContextMapping contexts = null;
+
+	// Group, which is recorded now, and its step, which is being scanned
+	private Group recorded = null;
+	private Step step = null;
+
+	LexerJournal(int lineCount) {
+		groups = new ArrayList<Group>(Collections.nCopies(lineCount, (Group) null));
+	}
+
+	/**
+	 * Forgets groups of the replaced lines, following groups are moved.
+	 *
+	 * @param start index of the first replaced line.
+	 * @param end   index after the last replaced line.
+	 * @param count number of the new lines.
+	 */
+	void replaceLines(int start, int end, int count) {
+		List<Group> range = groups.subList(start, end);
+		range.clear();
+		range.addAll(Collections.nCopies(count, (Group) null));
+	}
+
+	void start(Lexer lexer) {
+		this.lexer = lexer;
+		replayed = null;
+		recorded = null;
+		step = null;
+
+		int lineCount = lexer.getLines().length;
+		if (groups.size() != lineCount) {
+			groups.clear();
+			groups.addAll(Collections.nCopies(lineCount, (Group) null));
+		}
+	}
+
+	/**
+	 * Records event, which is triggered while the token is scanned.
+	 */
+	void record(String name, EventContext context, BooleanSupplier condition) {
+		if (step != null) {
+			if (step.events.isEmpty()) {
+				step.events = new ArrayList<Event>(2);
+			}
+			step.events.add(new Event(name, context, condition));
+		}
+	}
+
+	/**
+	 * Moves lexer to the next line between tokens, which starts the next group.
+	 */
+	boolean nextLine(AsyncTrigger checks) throws JSHintException {
+		finishGroup();
+
+		String[] lines = lexer.getLines();
+		int index = lexer.getLine();
+		if (index >= lines.length) {
+			return lexer.nextLine(checks);
+		}
+
+		Group group = groups.get(index);
+		if (group != null && matches(group, lines, index)) {
+			replayed = group;
+			replayedStep = 1;
+			replay(group.steps.get(0), group.start, checks);
+			return true;
+		}
+
+		recorded = new Group(index, lexer.snapshot(null));
+		Step s = startStep();
+		try {
+			boolean result = lexer.nextLine(checks);
+			finishStep(s, null);
+			return result;
+		} finally {
+			stopStep(s);
+		}
+	}
+
+	/**
+	 * Produces the next raw token of the current group.
+	 */
+	LexerToken next(AsyncTrigger checks) throws JSHintException {
+		if (replayed != null) {
+			if (replayedStep < replayed.steps.size() &&
+					replayed.steps.get(replayedStep).sameOptions(lexer.getState())) {
+				Step s = replayed.steps.get(replayedStep);
+				replay(s, replayed.steps.get(replayedStep - 1).after, checks);
+				replayedStep++;
+				return s.token != null ? s.token.relocate(lineDelta, contexts) : null;
+			}
+
+			// Rest of the group is scanned from the state after the last replayed
+			// token, but it's not recorded
+			replayed = null;
+		}
+
+		if (recorded == null) {
+			return lexer.next(checks);
+		}
+
+		Step s = startStep();
+		try {
+			LexerToken token = lexer.next(checks);
+			finishStep(s, token);
+			return token;
+		} finally {
+			stopStep(s);
+		}
+	}
+
+	private boolean matches(Group group, String[] lines, int index) {
+		int count = group.texts.length;
+		if (index + count > lines.length || (group.atEnd && index + count != lines.length)) {
+			return false;
+		}
+
+		for (int i = 0; i < count; i++) {
+			if (!group.texts[i].equals(lines[index + i])) {
+				return false;
+			}
+		}
+
+		if (!group.steps.get(0).sameOptions(lexer.getState())) {
+			return false;
+		}
+
+		lineDelta = index - group.line;
+		contexts = lexer.matches(group.start, lineDelta);
+		return contexts != null;
+	}
+
+	private void replay(Step s, Snapshot previous, AsyncTrigger checks) throws JSHintException {
+		lexer.restore(s.after, previous, lineDelta, contexts);
+
+		for (Event event : s.events) {
+			EventContext context = lineDelta != 0 ? event.context.shiftLines(lineDelta) : event.context;
+			if (event.condition != null) {
+				lexer.triggerAsync(event.name, context, checks, event.condition);
+			} else {
+				lexer.trigger(event.name, context);
+			}
+		}
+	}
+
+	private Step startStep() {
+		step = new Step(lexer.getState());
+		return step;
+	}
+
+	private void finishStep(Step s, LexerToken token) {
+		List<Step> steps = recorded.steps;
+		s.token = token;
+		s.after = lexer.snapshot(steps.isEmpty() ? recorded.start : steps.get(steps.size() - 1).after);
+		steps.add(s);
+	}
+
+	// If scanning was interrupted by an exception, group can't be completed
+	private void stopStep(Step s) {
+		step = null;
+		if (s.after == null) {
+			recorded = null;
+		}
+	}
+
+	// Group is kept only when it's completely scanned, i.e. lexer moves to the next
+	// line, otherwise linting was stopped in the middle of the group
+	private void finishGroup() {
+		if (recorded != null) {
+			String[] lines = lexer.getLines();
+			int end = lexer.getLine();
+			recorded.texts = Arrays.copyOfRange(lines, recorded.line, end);
+			recorded.atEnd = end >= lines.length;
+			groups.set(recorded.line, recorded);
+			recorded = null;
+		}
+
+		replayed = null;
+	}
+
+	private static final class Group {
+
+		private final int line;
+		private final Snapshot start;
+		private final List<Step> steps = new ArrayList<Step>();
+		private String[] texts;
+		private boolean atEnd;
+
+		private Group(int line, Snapshot start) {
+			this.line = line;
+			this.start = start;
+		}
+	}
+
+	/**
+	 * One raw token or move to the next line. Options, which are read while
+	 * scanning, are saved before it.
+	 */
+	private static final class Step {
+
+		private final int options;
+		private final int maxlen;
+		private final String tab;
+		private List<Event> events = Collections.emptyList();
+		private LexerToken token;
+		private Snapshot after;
+
+		private Step(State state) {
+			options = scanningOptions(state);
+			maxlen = state.getCompiledOption().getMaxlen();
+			tab = state.getTab();
+		}
+
+		private boolean sameOptions(State state) {
+			return options == scanningOptions(state) && maxlen == state.getCompiledOption().getMaxlen() &&
+					tab.equals(state.getTab());
+		}
+
+		private static int scanningOptions(State state) {
+			CompiledOptions option = state.getCompiledOption();
+			return (state.inES6(true) ? 1 : 0) |
+					(state.inES9() ? 2 : 0) |
+					(option.test(CompiledOptions.NONBSP) ? 4 : 0) |
+					(option.test(CompiledOptions.MAXLEN) ? 8 : 0);
+		}
+	}
+
+	private static final class Event {
+
+		private final String name;
+		private final EventContext context;
+		private final BooleanSupplier condition;
+
+		private Event(String name, EventContext context, BooleanSupplier condition) {
+			this.name = name;
+			this.context = context;
+			this.condition = condition;
+		}
+	}
+}
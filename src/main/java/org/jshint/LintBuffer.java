@@ -0,0 +1,148 @@
+package org.jshint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Text buffer, which is changed by small edits (e.g. in the editor) and linted
+ * as a whole.
+ *
+ * Buffer is kept split into lines and every edit is applied only to the lines
+ * it touches, so the whole text is never joined or split again. Linter and its
+ * prepared configuration are reused for all runs, and result is kept until the
+ * next edit. Line terminators are normalized to "\n".
+ *
+ * Lexing is incremental: raw tokens of every line are kept between runs and
+ * only the edited lines and the following lines, which start in a different
+ * lexer state (e.g. inside of a new block comment or template), are scanned
+ * again (see {@link LexerJournal}). Parsing is not incremental: every run parses
+ * all tokens, because scope analysis of JSHint is done for the whole program at
+ * once (e.g. variable declared at the end of the file changes warnings at the
+ * start), so unchanged statements can't be reused.
+ */
+public final class LintBuffer
+{
+	private final JSHint linter;
+	private final LinterConfig config;
+	private final List<String> lines;
+	private final LexerJournal journal;
+	private LinterResult result = null;
+	
+	public LintBuffer(String text, LinterConfig config)
+	{
+		this(new JSHint(), text, config);
+	}
+	
+	/**
+	 * @param linter linter, which is used only by this buffer.
+	 * @param text initial text of the buffer.
+	 * @param config configuration of the linter.
+	 */
+	public LintBuffer(JSHint linter, String text, LinterConfig config)
+	{
+		if (linter == null) throw new IllegalArgumentException("Linter is required");
+		if (config == null) throw new IllegalArgumentException("Linter configuration is required");
+		
+		this.linter = linter;
+		this.config = config;
+		this.lines = new ArrayList<String>(Arrays.asList(Reg.splitByEOL(text)));
+		this.journal = new LexerJournal(lines.size());
+	}
+	
+	/**
+	 * Replaces part of the text. Positions are 1-based like in the linter
+	 * warnings, end position is exclusive.
+	 *
+	 * @param startLine line, where replaced range starts.
+	 * @param startCharacter character, where replaced range starts.
+	 * @param endLine line, where replaced range ends.
+	 * @param endCharacter character right after the replaced range.
+	 * @param replacement new text, can contain line terminators.
+	 */
+	public void edit(int startLine, int startCharacter, int endLine, int endCharacter, String replacement)
+	{
+		checkPosition(startLine, startCharacter);
+		checkPosition(endLine, endCharacter);
+		if (endLine < startLine || (endLine == startLine && endCharacter < startCharacter))
+		{
+			throw new IllegalArgumentException("End of the edit is before its start");
+		}
+		
+		String prefix = lines.get(startLine - 1).substring(0, startCharacter - 1);
+		String suffix = lines.get(endLine - 1).substring(endCharacter - 1);
+		
+		// Prefix and suffix don't contain line terminators, so splitting only
+		// the changed fragment gives the same lines as splitting the whole text
+		String[] changed = Reg.splitByEOL(prefix + (replacement != null ? replacement : "") + suffix);
+		
+		List<String> range = lines.subList(startLine - 1, endLine);
+		range.clear();
+		range.addAll(Arrays.asList(changed));
+		journal.replaceLines(startLine - 1, endLine, changed.length);
+		
+		result = null;
+	}
+	
+	private void checkPosition(int line, int character)
+	{
+		if (line < 1 || line > lines.size())
+		{
+			throw new IllegalArgumentException("Line " + line + " is out of the text");
+		}
+		if (character < 1 || character > lines.get(line - 1).length() + 1)
+		{
+			throw new IllegalArgumentException("Character " + character + " is out of the line " + line);
+		}
+	}
+	
+	/**
+	 * @return current text of the buffer.
+	 */
+	public String getText()
+	{
+		return String.join("\n", lines);
+	}
+	
+	/**
+	 * @return number of lines in the buffer.
+	 */
+	public int getLineCount()
+	{
+		return lines.size();
+	}
+	
+	/**
+	 * Lints whole current text, if it was changed since the last run.
+	 *
+	 * @return result of the linting.
+	 */
+	public LinterResult lint() throws JSHintException
+	{
+		if (result == null)
+		{
+			String[] source;
+			if (config.getIgnorePatterns().isEmpty())
+			{
+				// Lexer can blank out shebang line, so it gets its own array
+				source = lines.toArray(new String[lines.size()]);
+			}
+			else
+			{
+				// Ignored blocks can span several lines, so they are blanked out in the
+				// whole text, line terminators are kept, so lines stay the same
+				String text = getText();
+				for (Pattern reIgnore : config.getIgnorePatterns())
+				{
+					text = Reg.blankDelimiteredText(text, reIgnore);
+				}
+				source = Reg.splitByEOL(text);
+			}
+			boolean success = linter.lintIncrementally(source, config, journal);
+			result = new LinterResult(success, linter.getErrors(), linter.generateSummary());
+		}
+		
+		return result;
+	}
+}
@@ -0,0 +1,371 @@
+package org.jshint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.github.jshaptic.js4j.JsonParser;
+
+/**
+ * On-disk cache of the linting results, which is used by the CLI.
+ *
+ * Every entry is stored in a separate file, which is named after the hash of
+ * everything that can change the result: version of the linter, file name and
+ * content, effective configuration and content of the prerequisites. Entries
+ * are never updated in place: they are written to a temporary file first and
+ * then moved to the final name, so concurrent runs can share the same cache.
+ * Entries, which can't be read for any reason, are treated as missing.
+ */
+final class LintCache {
+	private static final int MAGIC = 0x4A534843; // "JSHC"
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String[] SUBSTITUTION_NAMES = { "a", "b", "c", "d" };
+
+	static final String DEFAULT_LOCATION = ".jshintcache";
+
+	private final Path directory;
+
+	LintCache(String location) {
+		this.directory = Paths.get(location);
+	}
+
+	/**
+	 * Computes key of the cache entry.
+	 *
+	 * @param parts everything, which can affect linting result.
+	 * @return hex-encoded SHA-256 hash of all parts.
+	 */
+	static String key(String... parts) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+
+		for (String part : parts) {
+			byte[] bytes = StringUtils.defaultString(part).getBytes(StandardCharsets.UTF_8);
+			// Length prefix keeps parts from running into each other
+			digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) ':');
+			digest.update(bytes);
+		}
+
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest.digest()) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * Reads cache entry.
+	 *
+	 * @param key key of the entry.
+	 * @return cached result or null if it's missing.
+	 */
+	Entry get(String key) {
+		Path file = directory.resolve(key);
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+				return null;
+			}
+			return readEntry(in);
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Writes cache entry, failures are ignored, since cache is optional.
+	 *
+	 * @param key    key of the entry.
+	 * @param errors warnings found in the file.
+	 * @param data   data summary of the file.
+	 */
+	void put(String key, List<LinterWarning> errors, DataSummary data) {
+		Path tmp = null;
+		try {
+			Files.createDirectories(directory);
+			tmp = Files.createTempFile(directory, key, ".tmp");
+
+			try (OutputStream os = Files.newOutputStream(tmp);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				writeEntry(out, errors, data);
+			}
+
+			Path target = directory.resolve(key);
+			try {
+				Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			tmp = null;
+		} catch (IOException | RuntimeException e) {
+			// result is just not cached
+		} finally {
+			if (tmp != null) {
+				try {
+					Files.deleteIfExists(tmp);
+				} catch (IOException e) {
+					// nothing else can be done
+				}
+			}
+		}
+	}
+
+	private void writeEntry(DataOutputStream out, List<LinterWarning> errors, DataSummary data) throws IOException {
+		out.writeInt(errors.size());
+		for (LinterWarning w : errors) {
+			writeWarning(out, w);
+		}
+
+		writeString(out, JsonParser.stringify(data.getOptions()));
+		writeString(out, data.getFile());
+		out.writeBoolean(data.isJson());
+
+		out.writeInt(data.getErrors().size());
+		for (LinterWarning w : data.getErrors()) {
+			writeWarning(out, w);
+		}
+
+		out.writeInt(data.getImplieds().size());
+		for (ImpliedGlobal implied : data.getImplieds()) {
+			writeString(out, implied.getName());
+			out.writeInt(implied.getLines().size());
+			for (Integer line : implied.getLines()) {
+				out.writeInt(line);
+			}
+		}
+
+		writeStrings(out, data.getUrls());
+		writeStrings(out, new ArrayList<String>(data.getGlobals()));
+
+		out.writeInt(data.getFunctions().size());
+		for (DataSummary.Function f : data.getFunctions()) {
+			writeString(out, f.getName());
+			writeStrings(out, f.getParam());
+			out.writeInt(f.getLine());
+			out.writeInt(f.getCharacter());
+			out.writeInt(f.getLast());
+			out.writeInt(f.getLastCharacter());
+			out.writeInt(f.getMetrics().getComplexity());
+			out.writeInt(f.getMetrics().getParameters());
+			out.writeInt(f.getMetrics().getStatements());
+		}
+
+		out.writeInt(data.getUnused().size());
+		for (Token t : data.getUnused()) {
+			writeString(out, t.getName());
+			out.writeInt(t.getLine());
+			out.writeInt(t.getCharacter());
+		}
+
+		out.writeInt(data.getMember().size());
+		for (Map.Entry<String, Integer> m : data.getMember().entrySet()) {
+			writeString(out, m.getKey());
+			out.writeInt(m.getValue());
+		}
+	}
+
+	private Entry readEntry(DataInputStream in) throws IOException {
+		List<LinterWarning> errors = readWarnings(in);
+
+		DataSummary data = new DataSummary(JsonParser.parse(readString(in)));
+		data.setFile(readString(in));
+		data.setJson(in.readBoolean());
+
+		List<LinterWarning> dataErrors = readWarnings(in);
+		if (dataErrors.size() > 0) {
+			data.setErrors(dataErrors);
+		}
+
+		int impliedCount = in.readInt();
+		if (impliedCount > 0) {
+			List<ImpliedGlobal> implieds = new ArrayList<ImpliedGlobal>();
+			for (int i = 0; i < impliedCount; i++) {
+				String name = readString(in);
+				Integer[] lines = new Integer[in.readInt()];
+				for (int j = 0; j < lines.length; j++) {
+					lines[j] = in.readInt();
+				}
+				implieds.add(new ImpliedGlobal(name, lines));
+			}
+			data.setImplieds(implieds);
+		}
+
+		List<String> urls = readStrings(in);
+		if (urls.size() > 0) {
+			data.setUrls(urls);
+		}
+
+		Set<String> globals = new HashSet<String>(readStrings(in));
+		if (globals.size() > 0) {
+			data.setGlobals(globals);
+		}
+
+		int functionCount = in.readInt();
+		for (int i = 0; i < functionCount; i++) {
+			DataSummary.Function f = new DataSummary.Function();
+			f.setName(readString(in));
+			f.setParam(readStrings(in));
+			f.setLine(in.readInt());
+			f.setCharacter(in.readInt());
+			f.setLast(in.readInt());
+			f.setLastCharacter(in.readInt());
+			f.setMetrics(new DataSummary.Metrics(in.readInt(), in.readInt(), in.readInt()));
+			data.addFunction(f);
+		}
+
+		int unusedCount = in.readInt();
+		if (unusedCount > 0) {
+			List<Token> unused = new ArrayList<Token>();
+			for (int i = 0; i < unusedCount; i++) {
+				Token t = new Token();
+				t.setName(readString(in));
+				t.setLine(in.readInt());
+				t.setCharacter(in.readInt());
+				unused.add(t);
+			}
+			data.setUnused(unused);
+		}
+
+		int memberCount = in.readInt();
+		if (memberCount > 0) {
+			Map<String, Integer> member = new HashMap<String, Integer>();
+			for (int i = 0; i < memberCount; i++) {
+				member.put(readString(in), in.readInt());
+			}
+			data.setMember(member);
+		}
+
+		return new Entry(errors, data);
+	}
+
+	private void writeWarning(DataOutputStream out, LinterWarning w) throws IOException {
+		writeString(out, w.getId());
+		writeString(out, w.getRaw());
+		writeString(out, w.getCode());
+		writeString(out, w.getReason());
+		writeString(out, w.getEvidence());
+		out.writeInt(w.getLine());
+		out.writeInt(w.getCharacter());
+		writeString(out, w.getScope());
+
+		// Substitutions are stored in order, so only leading ones are present
+		List<String> substitutions = new ArrayList<String>();
+		for (String name : SUBSTITUTION_NAMES) {
+			String value = w.getSubstitution(name);
+			if (value == null) {
+				break;
+			}
+			substitutions.add(value);
+		}
+		writeStrings(out, substitutions);
+	}
+
+	private List<LinterWarning> readWarnings(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		List<LinterWarning> result = new ArrayList<LinterWarning>(count);
+
+		for (int i = 0; i < count; i++) {
+			LinterWarning w = new LinterWarning();
+			w.setId(readString(in));
+			w.setRaw(readString(in));
+			w.setCode(readString(in));
+			w.setReason(readString(in));
+			w.setEvidence(readString(in));
+			w.setLine(in.readInt());
+			w.setCharacter(in.readInt());
+			w.setScope(readString(in));
+
+			List<String> substitutions = readStrings(in);
+			w.setSubstitutions(substitutions.toArray(new String[substitutions.size()]));
+
+			result.add(w);
+		}
+
+		return result;
+	}
+
+	// DataOutputStream.writeUTF is limited to 64K, while evidence can be a whole minified file
+	private void writeString(DataOutputStream out, String s) throws IOException {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private void writeStrings(DataOutputStream out, List<String> list) throws IOException {
+		out.writeInt(list.size());
+		for (String s : list) {
+			writeString(out, s);
+		}
+	}
+
+	private List<String> readStrings(DataInputStream in) throws IOException {
+		String[] result = new String[in.readInt()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = readString(in);
+		}
+		return new ArrayList<String>(Arrays.asList(result));
+	}
+
+	static class Entry {
+		private final List<LinterWarning> errors;
+		private final DataSummary data;
+
+		private Entry(List<LinterWarning> errors, DataSummary data) {
+			this.errors = errors;
+			this.data = data;
+		}
+
+		List<LinterWarning> getErrors() {
+			return errors;
+		}
+
+		DataSummary getData() {
+			return data;
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package org.jshint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Thin client of the {@link LintDaemon}. It takes the same arguments as the
+ * CLI and prints the same output with the same exit code, but linting is done
+ * by the running daemon. If daemon isn't running or can't handle the request,
+ * client runs the CLI by itself, so it always can be used instead of the CLI.
+ */
+public final class LintClient {
+	/**
+	 * Returned by {@link #run}, when daemon can't handle the request.
+	 */
+	public static final int NOT_AVAILABLE = -1;
+
+	private static final int CONNECT_TIMEOUT = 1000;
+	// Daemon, which is busy or hung, is waited for only limited time before CLI is run locally
+	private static final int RESPONSE_TIMEOUT = 10000;
+
+	private LintClient() {
+	}
+
+	/**
+	 * Sends request to the daemon and copies its output.
+	 *
+	 * @param infoFile info file of the daemon.
+	 * @param cwd      working directory, where CLI is run.
+	 * @param args     CLI arguments.
+	 * @param stdin    content of the standard input, null if it isn't used.
+	 * @param out      standard output.
+	 * @param err      standard error.
+	 * @return exit code of the CLI or {@link #NOT_AVAILABLE}, if nothing was
+	 *         written to the outputs and request should be handled without the
+	 *         daemon.
+	 */
+	public static int run(Path infoFile, String cwd, String[] args, String stdin, OutputStream out,
+			OutputStream err) {
+		Properties info = DaemonProtocol.readInfo(infoFile);
+		if (info == null) {
+			return NOT_AVAILABLE;
+		}
+
+		int port;
+		try {
+			port = Integer.parseInt(info.getProperty("port", ""));
+		} catch (NumberFormatException e) {
+			return NOT_AVAILABLE;
+		}
+
+		boolean answered = false;
+		try (Socket socket = new Socket()) {
+			socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT);
+			socket.setSoTimeout(RESPONSE_TIMEOUT);
+
+			DataOutputStream request = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			request.writeInt(DaemonProtocol.MAGIC);
+			request.writeInt(DaemonProtocol.VERSION);
+			DaemonProtocol.writeString(request, info.getProperty("token"));
+			DaemonProtocol.writeString(request, DaemonProtocol.linterVersion());
+			DaemonProtocol.writeString(request, cwd);
+			request.writeInt(args.length);
+			for (String arg : args) {
+				DaemonProtocol.writeString(request, arg);
+			}
+			DaemonProtocol.writeString(request, stdin);
+			request.flush();
+
+			DataInputStream response = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			if (response.readInt() != DaemonProtocol.MAGIC) {
+				return NOT_AVAILABLE;
+			}
+			// Request is accepted, linting can take any time
+			socket.setSoTimeout(0);
+
+			while (true) {
+				int type = response.readByte();
+				switch (type) {
+					case DaemonProtocol.STDOUT:
+					case DaemonProtocol.STDERR:
+						int length = response.readInt();
+						if (length < 0 || length > DaemonProtocol.MAX_FRAME_LENGTH) {
+							throw new IOException("Invalid frame length " + length);
+						}
+						byte[] chunk = new byte[length];
+						response.readFully(chunk);
+						OutputStream target = type == DaemonProtocol.STDOUT ? out : err;
+						target.write(chunk);
+						target.flush();
+						answered = true;
+						break;
+					case DaemonProtocol.EXIT:
+						return response.readInt();
+					default:
+						// rejected or unknown frame
+						return NOT_AVAILABLE;
+				}
+			}
+		} catch (IOException e) {
+			if (!answered) {
+				return NOT_AVAILABLE;
+			}
+			// Daemon died in the middle of the request, output can't be taken back
+			return 1;
+		}
+	}
+
+	/**
+	 * Reads standard input in the same way as the CLI does.
+	 */
+	private static String readStdin(InputStream in) {
+		StringBuilder result = new StringBuilder();
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				result.append(line).append("\n");
+			}
+			return result.toString();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	public static void main(String[] args) {
+		String cwd = System.getProperty("user.dir");
+		// CLI reads standard input only when the last argument asks for it
+		boolean useStdin = args.length > 0
+				&& (args[args.length - 1].equals("-") || args[args.length - 1].equals("/dev/stdin"));
+		String stdin = useStdin ? readStdin(System.in) : null;
+
+		int exitCode = run(DaemonProtocol.defaultInfoFile(), cwd, args, stdin, System.out, System.err);
+		if (exitCode == NOT_AVAILABLE) {
+			exitCode = (useStdin ? LintDaemon.newCli(cwd, stdin) : new Cli()).interpret(args);
+		}
+
+		System.exit(exitCode);
+	}
+}
@@ -0,0 +1,351 @@
+package org.jshint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Properties;
+
+import org.jshint.utils.IOUtils;
+
+/**
+ * Long-running process, which lints files for {@link LintClient}, so that every
+ * run doesn't pay for JVM startup, class loading, static initialization of
+ * the linter and cold JIT.
+ *
+ * Daemon listens on a loopback port, port and a random token are written to
+ * the info file, which is readable only by the owner. Requests without the
+ * token are rejected, so other users can't lint files or load reporters on
+ * behalf of the daemon owner. Every request is handled by a new {@link Cli},
+ * which works in the directory of the client and reads standard input sent
+ * by it, while standard output and error are sent back to the client.
+ *
+ * Requests are handled one by one: CLI writes its output through the global
+ * {@link System#out} and {@link System#err}, which are replaced for the time of
+ * the request. Files of the single request still can be linted in parallel
+ * with --jobs. Client must send the token and then the whole request in time,
+ * so a client, which connects and sends nothing, delays others only briefly.
+ */
+public final class LintDaemon implements Closeable {
+	// Client, which doesn't send request in time, must not block other clients for long
+	private static final int HANDSHAKE_TIMEOUT = 5000;
+	private static final int REQUEST_TIMEOUT = 30000;
+
+	private static final String WARM_UP_SOURCE = "function warmUp(a, b) {\n" +
+			"  'use strict';\n" +
+			"  var list = [a, b], result = {};\n" +
+			"  for (var i = 0; i < list.length; i++) {\n" +
+			"    result[String(list[i])] = list[i] === b ? i * 2 : i;\n" +
+			"  }\n" +
+			"  return result\n" +
+			"}\n";
+
+	private final ServerSocket server;
+	private final Path infoFile;
+	private final String token;
+	private final String version;
+	private volatile boolean closed = false;
+
+	/**
+	 * Starts listening on a random loopback port and writes info file.
+	 *
+	 * @param infoFile file, where port and token are stored for the clients.
+	 * @throws IOException if socket can't be opened or info file can't be written.
+	 */
+	public LintDaemon(Path infoFile) throws IOException {
+		this.infoFile = infoFile;
+		this.version = DaemonProtocol.linterVersion();
+
+		byte[] random = new byte[32];
+		new SecureRandom().nextBytes(random);
+		StringBuilder hex = new StringBuilder();
+		for (byte b : random) {
+			hex.append(String.format("%02x", b));
+		}
+		this.token = hex.toString();
+
+		this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		try {
+			writeInfo();
+		} catch (IOException e) {
+			server.close();
+			throw e;
+		}
+	}
+
+	private void writeInfo() throws IOException {
+		Properties info = new Properties();
+		info.setProperty("port", Integer.toString(server.getLocalPort()));
+		info.setProperty("token", token);
+		info.setProperty("version", version);
+
+		Path dir = infoFile.toAbsolutePath().getParent();
+		Files.createDirectories(dir);
+
+		Path tmp;
+		if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+			tmp = Files.createTempFile(dir, DaemonProtocol.DEFAULT_INFO_FILE, ".tmp",
+					PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+		} else {
+			tmp = Files.createTempFile(dir, DaemonProtocol.DEFAULT_INFO_FILE, ".tmp");
+		}
+
+		try {
+			try (OutputStream out = Files.newOutputStream(tmp)) {
+				info.store(out, "JSHint daemon");
+			}
+			Files.move(tmp, infoFile, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	/**
+	 * @return port, which daemon listens on.
+	 */
+	public int getPort() {
+		return server.getLocalPort();
+	}
+
+	/**
+	 * Lints a small source through the CLI several times, so classes are loaded
+	 * and initialized and the hottest code is compiled before the first request.
+	 */
+	public void warmUp() {
+		DataOutputStream discard = new DataOutputStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		});
+
+		for (int i = 0; i < 20; i++) {
+			run(System.getProperty("user.dir"), new String[] { "-" }, WARM_UP_SOURCE, discard);
+		}
+	}
+
+	/**
+	 * Handles requests until daemon is closed.
+	 */
+	public void serve() {
+		while (!closed) {
+			try (Socket socket = server.accept()) {
+				handle(socket);
+			} catch (IOException e) {
+				// connection with the client is lost, request is invalid or socket is closed
+			} catch (RuntimeException e) {
+				// single broken request must not stop the daemon
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private void handle(Socket socket) throws IOException {
+		DeadlineInputStream deadline = new DeadlineInputStream(socket);
+		DataInputStream in = new DataInputStream(new BufferedInputStream(deadline));
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+		deadline.setTimeout(HANDSHAKE_TIMEOUT);
+		if (in.readInt() != DaemonProtocol.MAGIC || in.readInt() != DaemonProtocol.VERSION) {
+			reject(out, "Unsupported protocol");
+			return;
+		}
+
+		String clientToken = DaemonProtocol.readString(in, DaemonProtocol.MAX_TOKEN_LENGTH);
+		if (clientToken == null || !MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+				clientToken.getBytes(StandardCharsets.UTF_8))) {
+			reject(out, "Invalid token");
+			return;
+		}
+
+		deadline.setTimeout(REQUEST_TIMEOUT);
+		String clientVersion = DaemonProtocol.readString(in, DaemonProtocol.MAX_STRING_LENGTH);
+		String cwd = DaemonProtocol.readString(in, DaemonProtocol.MAX_STRING_LENGTH);
+		int argCount = in.readInt();
+		if (argCount < 0 || argCount > DaemonProtocol.MAX_ARGS) {
+			throw new IOException("Invalid number of arguments " + argCount);
+		}
+		String[] args = new String[argCount];
+		for (int i = 0; i < args.length; i++) {
+			args[i] = DaemonProtocol.readString(in, DaemonProtocol.MAX_STRING_LENGTH);
+		}
+		String stdin = DaemonProtocol.readString(in, DaemonProtocol.MAX_STDIN_LENGTH);
+
+		if (!version.equals(clientVersion)) {
+			reject(out, "Daemon version " + version + " doesn't match client version " + clientVersion);
+			return;
+		}
+
+		out.writeInt(DaemonProtocol.MAGIC);
+		out.flush();
+
+		int exitCode = run(cwd, args, stdin, out);
+
+		synchronized (out) {
+			out.writeByte(DaemonProtocol.EXIT);
+			out.writeInt(exitCode);
+			out.flush();
+		}
+	}
+
+	private void reject(DataOutputStream out, String reason) throws IOException {
+		out.writeInt(DaemonProtocol.MAGIC);
+		out.writeByte(DaemonProtocol.REJECT);
+		DaemonProtocol.writeString(out, reason);
+		out.flush();
+	}
+
+	private int run(String cwd, String[] args, String stdin, DataOutputStream out) {
+		PrintStream systemOut = System.out;
+		PrintStream systemErr = System.err;
+		PrintStream clientOut = new PrintStream(new BufferedOutputStream(
+				new DaemonProtocol.FrameOutputStream(out, DaemonProtocol.STDOUT)), true);
+		PrintStream clientErr = new PrintStream(new BufferedOutputStream(
+				new DaemonProtocol.FrameOutputStream(out, DaemonProtocol.STDERR)), true);
+
+		System.setOut(clientOut);
+		System.setErr(clientErr);
+		try {
+			return newCli(cwd, stdin).interpret(args);
+		} catch (RuntimeException e) {
+			// Same as uncaught exception in the main method
+			e.printStackTrace(clientErr);
+			return 1;
+		} finally {
+			clientOut.flush();
+			clientErr.flush();
+			System.setOut(systemOut);
+			System.setErr(systemErr);
+		}
+	}
+
+	/**
+	 * Socket stream, which fails when the whole request isn't read before the
+	 * deadline, not only when a single read takes too long.
+	 */
+	private static final class DeadlineInputStream extends FilterInputStream {
+		private final Socket socket;
+		private long deadline;
+
+		private DeadlineInputStream(Socket socket) throws IOException {
+			super(socket.getInputStream());
+			this.socket = socket;
+		}
+
+		private void setTimeout(int timeout) {
+			deadline = System.nanoTime() + timeout * 1000000L;
+		}
+
+		private void checkDeadline() throws IOException {
+			long remaining = (deadline - System.nanoTime()) / 1000000L;
+			if (remaining <= 0) {
+				throw new SocketTimeoutException("Request isn't received in time");
+			}
+			socket.setSoTimeout((int) remaining);
+		}
+
+		@Override
+		public int read() throws IOException {
+			checkDeadline();
+			return super.read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			checkDeadline();
+			return super.read(b, off, len);
+		}
+	}
+
+	/**
+	 * Creates CLI, which works in the given directory instead of the current one.
+	 *
+	 * @param cwd   working directory of the client.
+	 * @param stdin content of the standard input, which was already read by the client.
+	 * @return new CLI.
+	 */
+	static Cli newCli(String cwd, String stdin) {
+		return new Cli() {
+			{
+				IOUtils.PathUtils path = new IOUtils.PathUtils() {
+					@Override
+					public String cwd() {
+						return cwd;
+					}
+				};
+				setPathUtils(path);
+				setShellUtils(new IOUtils.ShellUtils(path));
+				setCliUtils(new IOUtils.CliUtils() {
+					@Override
+					public String readFromStdin() {
+						return stdin;
+					}
+				});
+			}
+		};
+	}
+
+	/**
+	 * Stops accepting requests and removes info file, if it wasn't replaced by
+	 * another daemon.
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		server.close();
+
+		Properties info = DaemonProtocol.readInfo(infoFile);
+		if (info != null && token.equals(info.getProperty("token"))) {
+			Files.deleteIfExists(infoFile);
+		}
+	}
+
+	/**
+	 * Starts the daemon, info file can be passed as the only argument.
+	 */
+	public static void main(String[] args) {
+		Path infoFile = args.length > 0 ? Paths.get(args[0]) : DaemonProtocol.defaultInfoFile();
+
+		LintDaemon daemon;
+		try {
+			daemon = new LintDaemon(infoFile);
+		} catch (IOException e) {
+			System.err.println("Can't start daemon: " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				daemon.close();
+			} catch (IOException e) {
+				// process is exiting anyway
+			}
+		}));
+
+		daemon.warmUp();
+		System.out.println("JSHint daemon is listening on port " + daemon.getPort());
+		daemon.serve();
+	}
+}
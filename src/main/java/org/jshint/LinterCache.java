@@ -0,0 +1,190 @@
+package org.jshint;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Thread-safe bounded cache of the linting results.
+ *
+ * Result is looked up by the hash of the source and fingerprint of the
+ * configuration, so repeated sources are linted only once, as long as they stay
+ * in the cache. Cached {@link LinterResult} is immutable and the same instance is
+ * returned to all callers, it keeps only a detached copy of the data summary. Sources, which are not cached, are linted with the
+ * {@link LinterPool}, if several threads ask for the same source at once, only
+ * one of them lints it, while others wait for its result.
+ */
+public final class LinterCache
+{
+	private final LinterPool pool;
+	private final Cache<Key, LinterResult> cache;
+	
+	private LinterCache(LinterPool pool, Cache<Key, LinterResult> cache)
+	{
+		if (pool == null) throw new IllegalArgumentException("Linter pool is required");
+	
+		this.pool = pool;
+		this.cache = cache;
+	}
+	
+	/**
+	 * Creates cache, which keeps limited number of results.
+	 *
+	 * @param pool pool, which lints sources, that are not cached yet.
+	 * @param maximumSize maximum number of cached results.
+	 * @return new cache.
+	 */
+	public static LinterCache withMaximumSize(LinterPool pool, long maximumSize)
+	{
+		return new LinterCache(pool, CacheBuilder.newBuilder()
+			.maximumSize(maximumSize)
+			.recordStats()
+			.<Key, LinterResult>build());
+	}
+	
+	/**
+	 * Creates cache, which keeps results with limited total weight, so a few
+	 * results with lots of warnings can't push out lots of small ones unnoticed.
+	 * Every result weighs one plus the number of its warnings plus the total
+	 * length of their evidence, since sources themselves are not kept.
+	 *
+	 * @param pool pool, which lints sources, that are not cached yet.
+	 * @param maximumWeight maximum total weight of the cached results.
+	 * @return new cache.
+	 */
+	public static LinterCache withMaximumWeight(LinterPool pool, long maximumWeight)
+	{
+		return new LinterCache(pool, CacheBuilder.newBuilder()
+			.maximumWeight(maximumWeight)
+			.weigher((Key key, LinterResult result) -> weigh(result))
+			.recordStats()
+			.<Key, LinterResult>build());
+	}
+	
+	public LinterResult lint(String source) throws JSHintException
+	{
+		return lint(source, new LinterConfig());
+	}
+	
+	public LinterResult lint(String source, LinterOptions options) throws JSHintException
+	{
+		return lint(source, new LinterConfig(options));
+	}
+	
+	public LinterResult lint(String source, LinterOptions options, LinterGlobals globals) throws JSHintException
+	{
+		return lint(source, new LinterConfig(options, globals));
+	}
+	
+	/**
+	 * Returns cached result or lints the source, if it's not cached yet.
+	 *
+	 * @param source source code.
+	 * @param config configuration of the linter, it's better to reuse it for all
+	 *               sources, since every new configuration has to be fingerprinted.
+	 * @return result of the linting.
+	 */
+	public LinterResult lint(String source, LinterConfig config) throws JSHintException
+	{
+		String s = source != null ? source : "";
+		Key key = new Key(Hashing.sha256().hashString(s, StandardCharsets.UTF_8).toString(),
+			config.getFingerprint());
+	
+		try
+		{
+			return cache.get(key, () -> pool.lint(s, config));
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof JSHintException) throw (JSHintException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+		catch (UncheckedExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Removes all cached results, statistics are kept.
+	 */
+	public void clear()
+	{
+		cache.invalidateAll();
+	}
+	
+	/**
+	 * @return approximate number of cached results.
+	 */
+	public long size()
+	{
+		return cache.size();
+	}
+	
+	/**
+	 * @return number of times cached result was returned.
+	 */
+	public long getHitCount()
+	{
+		return cache.stats().hitCount();
+	}
+	
+	/**
+	 * @return number of times source had to be linted.
+	 */
+	public long getMissCount()
+	{
+		return cache.stats().missCount();
+	}
+	
+	/**
+	 * @return number of results, which were evicted because of the size or weight limit.
+	 */
+	public long getEvictionCount()
+	{
+		return cache.stats().evictionCount();
+	}
+	
+	private static int weigh(LinterResult result)
+	{
+		int weight = 1 + result.getErrors().size();
+		for (LinterWarning warning : result.getErrors())
+		{
+			weight += warning.getEvidence().length();
+		}
+		return weight;
+	}
+	
+	private static final class Key
+	{
+		private final String sourceHash;
+		private final String configFingerprint;
+	
+		private Key(String sourceHash, String configFingerprint)
+		{
+			this.sourceHash = sourceHash;
+			this.configFingerprint = configFingerprint;
+		}
+	
+		@Override
+		public int hashCode()
+		{
+			return 31 * sourceHash.hashCode() + configFingerprint.hashCode();
+		}
+	
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj) return true;
+			if (!(obj instanceof Key)) return false;
+	
+			Key other = (Key) obj;
+			return sourceHash.equals(other.sourceHash) && configFingerprint.equals(other.configFingerprint);
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package org.jshint;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import org.jshint.LinterOptions.Delimiter;
+
+import com.github.jshaptic.js4j.JsonParser;
+import com.github.jshaptic.js4j.UniversalContainer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+
+/**
+ * Options and globals prepared for linting.
+ *
+ * Linter has to resolve predefined variables, blacklist, exported variables and
+ * ignore delimiters before it can start parsing. When many sources are linted
+ * with the same configuration, it's cheaper to do it once with this object and
+ * reuse it for every source. Configuration is immutable and doesn't depend on
+ * the options and globals, it was created from, so they can be changed or
+ * reused afterwards, while configuration itself can be shared between threads.
+ */
+public final class LinterConfig
+{
+	private final LinterOptions options;
+	private final LinterGlobals globals;
+	private final Map<String, Boolean> predefined;
+	private final Set<String> blacklist;
+	private final Map<String, Boolean> exported;
+	private final Map<String, UniversalContainer> enforced;
+	private final Map<String, UniversalContainer> ignored;
+	private final List<Pattern> ignorePatterns;
+	private final String fingerprint;
+	
+	public LinterConfig()
+	{
+		this(null, null);
+	}
+	
+	public LinterConfig(LinterOptions options)
+	{
+		this(options, null);
+	}
+	
+	public LinterConfig(LinterOptions options, LinterGlobals globals)
+	{
+		this.options = new LinterOptions(options);
+	
+		this.globals = new LinterGlobals();
+		if (globals != null)
+		{
+			this.globals.putAll(globals);
+		}
+	
+		Map<String, Boolean> predefined = new HashMap<String, Boolean>();
+		Set<String> blacklist = new HashSet<String>();
+		readPredefined(predefined, blacklist);
+		this.predefined = Collections.unmodifiableMap(predefined);
+		this.blacklist = Collections.unmodifiableSet(blacklist);
+	
+		Map<String, Boolean> exported = new HashMap<String, Boolean>();
+		this.options.readExporteds(exported);
+		this.exported = Collections.unmodifiableMap(exported);
+	
+		this.enforced = this.options.getOptions(false);
+		this.ignored = this.options.getOptions(true);
+	
+		ImmutableList.Builder<Pattern> ignorePatterns = ImmutableList.builder();
+		for (Delimiter delimiterPair : this.options.getIgnoreDelimiters())
+		{
+			if (StringUtils.isEmpty(delimiterPair.getStart()) || StringUtils.isEmpty(delimiterPair.getEnd()))
+				continue;
+	
+			String reIgnoreStr = Reg.escapeRegexpChars(delimiterPair.getStart()) +
+				"[\\s\\S]*?" +
+				Reg.escapeRegexpChars(delimiterPair.getEnd());
+	
+			ignorePatterns.add(Pattern.compile(reIgnoreStr, Pattern.CASE_INSENSITIVE));
+		}
+		this.ignorePatterns = ignorePatterns.build();
+	
+		this.fingerprint = computeFingerprint();
+	}
+	
+	/**
+	 * Hashes everything, that can affect linting result, in a stable order, so
+	 * that equal configurations get equal fingerprints, no matter how they were
+	 * built.
+	 */
+	private String computeFingerprint()
+	{
+		StringBuilder sb = new StringBuilder();
+	
+		appendOptions(sb, "enforced", enforced);
+		appendOptions(sb, "ignored", ignored);
+		sb.append("predefined").append(new TreeMap<String, Boolean>(predefined)).append('\n');
+		sb.append("blacklist").append(new TreeSet<String>(blacklist)).append('\n');
+		sb.append("exported").append(new TreeSet<String>(exported.keySet())).append('\n');
+		sb.append("globals").append(new TreeMap<String, Boolean>(globals)).append('\n');
+		sb.append("unstables").append(new TreeSet<String>(options.getUnstables())).append('\n');
+		for (Delimiter delimiterPair : options.getIgnoreDelimiters())
+		{
+			sb.append("delimiter").append(delimiterPair.getStart()).append('\0').append(delimiterPair.getEnd()).append('\n');
+		}
+	
+		return Hashing.sha256().hashString(sb, StandardCharsets.UTF_8).toString();
+	}
+	
+	private static void appendOptions(StringBuilder sb, String kind, Map<String, UniversalContainer> options)
+	{
+		for (String name : new TreeSet<String>(options.keySet()))
+		{
+			sb.append(kind).append(' ').append(name).append('=').append(JsonParser.stringify(options.get(name))).append('\n');
+		}
+	}
+	
+	/**
+	 * Fills predefined variables the same way as linter does before every run:
+	 * standard identifiers are combined with predefineds and globals from the
+	 * options, while names, which are already blacklisted, are skipped.
+	 *
+	 * @param predefined map, which will receive predefined variables.
+	 * @param blacklist set of blacklisted names, which will receive new names from the options.
+	 */
+	void readPredefined(Map<String, Boolean> predefined, Set<String> blacklist)
+	{
+		combine(predefined, Vars.ecmaIdentifiers.get(3), blacklist);
+		combine(predefined, Vars.reservedVars, blacklist);
+	
+		options.readPredefineds(predefined, blacklist);
+		options.readGlobals(predefined, blacklist);
+	}
+	
+	/**
+	 * Copies options into the container.
+	 *
+	 * @param container container with linter options.
+	 * @param ignored whether ignored warnings or other options should be copied.
+	 * @return the same container.
+	 */
+	UniversalContainer applyOptions(UniversalContainer container, boolean ignored)
+	{
+		for (Map.Entry<String, UniversalContainer> option : (ignored ? this.ignored : enforced).entrySet())
+		{
+			container.set(option.getKey(), option.getValue());
+		}
+	
+		return container;
+	}
+	
+	private static void combine(Map<String, Boolean> dest, Map<String, Boolean> src, Set<String> blacklist)
+	{
+		for (String name : src.keySet())
+		{
+			if (!blacklist.contains(name))
+			{
+				dest.put(name, src.get(name));
+			}
+		}
+	}
+	
+	/**
+	 * Options, which must not be modified, since they are shared by all runs.
+	 */
+	LinterOptions getOptions()
+	{
+		return options;
+	}
+	
+	LinterGlobals getGlobals()
+	{
+		return globals;
+	}
+	
+	Map<String, Boolean> getPredefined()
+	{
+		return predefined;
+	}
+	
+	Set<String> getBlacklist()
+	{
+		return blacklist;
+	}
+	
+	Map<String, Boolean> getExported()
+	{
+		return exported;
+	}
+	
+	List<Pattern> getIgnorePatterns()
+	{
+		return ignorePatterns;
+	}
+	
+	/**
+	 * @return hash of the whole configuration, which is equal for the configurations,
+	 *         that produce the same linting results.
+	 */
+	String getFingerprint()
+	{
+		return fingerprint;
+	}
+}
@@ -86,14 +86,14 @@ public class LinterOptions implements Iterable<String> {
 		return this;
 	}
 
-	protected UniversalContainer getOptions(State state, boolean ignored) {
-		UniversalContainer options = state.getOption();
+	protected Map<String, UniversalContainer> getOptions(boolean ignored) {
+		Map<String, UniversalContainer> options = new HashMap<String, UniversalContainer>();
 
 		if (table != null) {
 			for (String key : table.keySet()) {
 				InnerOption o = table.get(key);
 				if (o.ignored == ignored) {
-					options.set(o.name, o.value);
+					options.put(o.name, o.value);
 				}
 			}
 		}
@@ -0,0 +1,137 @@
+package org.jshint;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe entry point for linting in several threads at once.
+ * 
+ * Instance of {@link JSHint} keeps the state of the current linting, so it can't
+ * be shared between threads, while creating it for every source is wasteful,
+ * since syntax table is built in the constructor. This pool keeps idle linters
+ * and hands out each of them to one thread at a time. Every call produces
+ * immutable {@link LinterResult}, which doesn't share anything with the linter.
+ * 
+ * Options and globals are only read during linting, so the same objects can be
+ * passed from several threads, as long as they are not modified at the same time.
+ */
+public final class LinterPool
+{
+	private final Supplier<JSHint> factory;
+	private final int maxIdle;
+	private final Queue<JSHint> idle = new ConcurrentLinkedQueue<JSHint>();
+	private final AtomicInteger idleCount = new AtomicInteger(0);
+	
+	/**
+	 * Creates pool, which keeps one idle linter per available processor.
+	 */
+	public LinterPool()
+	{
+		this(JSHint::new, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Creates pool with custom linters, e.g. with additional modules or event listeners.
+	 * 
+	 * @param factory creates new linter, which is used only by this pool.
+	 * @param maxIdle maximum number of idle linters kept by the pool, extra
+	 *                linters are created on demand and dropped after use.
+	 */
+	public LinterPool(Supplier<JSHint> factory, int maxIdle)
+	{
+		if (factory == null) throw new IllegalArgumentException("Linter factory is required");
+		if (maxIdle < 0) throw new IllegalArgumentException("Maximum number of idle linters can't be negative");
+		
+		this.factory = factory;
+		this.maxIdle = maxIdle;
+	}
+	
+	public LinterResult lint(String source) throws JSHintException
+	{
+		return lint(source, null, null);
+	}
+	
+	public LinterResult lint(String source, LinterOptions options) throws JSHintException
+	{
+		return lint(source, options, null);
+	}
+	
+	public LinterResult lint(String source, LinterOptions options, LinterGlobals globals) throws JSHintException
+	{
+		return lint(source, new LinterConfig(options, globals));
+	}
+	
+	public LinterResult lint(String source, LinterConfig config) throws JSHintException
+	{
+		checkConfig(config);
+		
+		JSHint linter = acquire();
+		try
+		{
+			boolean success = linter.lint(source, config);
+			return new LinterResult(success, linter.getErrors(), linter.generateSummary());
+		}
+		finally
+		{
+			release(linter);
+		}
+	}
+	
+	/**
+	 * Lints all sources one by one with the same linter.
+	 * 
+	 * @param sources source codes.
+	 * @param config configuration, which is shared by all sources.
+	 * @return results in the same order as sources.
+	 */
+	public List<LinterResult> lintAll(Iterable<String> sources, LinterConfig config) throws JSHintException
+	{
+		checkConfig(config);
+		
+		JSHint linter = acquire();
+		try
+		{
+			return linter.lintAll(sources, config);
+		}
+		finally
+		{
+			release(linter);
+		}
+	}
+	
+	private void checkConfig(LinterConfig config)
+	{
+		// Option "scope" makes linter keep errors of the previous run, which
+		// would leak results between unrelated sources
+		if (config.getOptions().hasOption("scope"))
+		{
+			throw new IllegalArgumentException("Option 'scope' is not supported by the linter pool");
+		}
+	}
+	
+	private JSHint acquire()
+	{
+		JSHint linter = idle.poll();
+		if (linter == null)
+		{
+			return factory.get();
+		}
+		idleCount.decrementAndGet();
+		return linter;
+	}
+	
+	private void release(JSHint linter)
+	{
+		if (idleCount.incrementAndGet() <= maxIdle)
+		{
+			idle.offer(linter);
+		}
+		else
+		{
+			idleCount.decrementAndGet();
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package org.jshint;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Result of the linting, which doesn't depend on the state of the linter, that
+ * produced it, so it can be safely passed between threads. Data summary is kept
+ * as a detached snapshot and every caller gets its own copy of it.
+ */
+public final class LinterResult
+{
+	private final boolean success;
+	private final List<LinterWarning> errors;
+	private final DataSummary data;
+	
+	LinterResult(boolean success, List<LinterWarning> errors, DataSummary data)
+	{
+		this.success = success;
+		this.errors = ImmutableList.copyOf(errors);
+		this.data = data.snapshot();
+	}
+	
+	/**
+	 * @return true if no errors were found, false otherwise.
+	 */
+	public boolean isSuccess()
+	{
+		return success;
+	}
+	
+	/**
+	 * @return immutable list of found errors.
+	 */
+	public List<LinterWarning> getErrors()
+	{
+		return errors;
+	}
+	
+	/**
+	 * @return copy of the data summary of the linted source, which can be changed
+	 *         without affecting other callers.
+	 */
+	public DataSummary getData()
+	{
+		return data.snapshot();
+	}
+}
@@ -0,0 +1,111 @@
+package org.jshint;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Layered view of the global variables, which are defined by the options and
+ * directives.
+ *
+ * PORT INFO: original JSHint copies every enabled environment from `vars` into
+ * the `predefined` object. Here environments are shared immutable maps, which
+ * are only stacked on top of each other, so enabling an environment doesn't
+ * depend on its size. Lookup goes from the latest layer to the first one, so
+ * latest definition wins, like it would with copying.
+ *
+ * Names are never copied into the blacklisted ones, so all layers except the
+ * first one are filtered by the current blacklist during lookup. First layer
+ * contains variables, which are prepared before linting, so it isn't filtered.
+ * Removed names are hidden in all layers, which were added before removal.
+ */
+final class PredefinedGlobals extends AbstractMap<String, Boolean> {
+
+	private final Map<String, Boolean> base;
+	private final Set<String> blacklist;
+	private final List<Map<String, Boolean>> layers = new ArrayList<Map<String, Boolean>>();
+	// Number of layers at the moment, when name was removed
+	private final Map<String, Integer> removed = new HashMap<String, Integer>();
+
+	/**
+	 * @param base      variables prepared before linting, map isn't modified.
+	 * @param blacklist live set of the blacklisted names.
+	 */
+	PredefinedGlobals(Map<String, Boolean> base, Set<String> blacklist) {
+		this.base = base;
+		this.blacklist = blacklist;
+	}
+
+	/**
+	 * Puts variables on top of the existing ones, except those which are
+	 * blacklisted. Map is shared and must not be modified afterwards.
+	 *
+	 * @param variables map of variables.
+	 */
+	void addLayer(Map<String, Boolean> variables) {
+		if (!variables.isEmpty()) {
+			layers.add(variables);
+		}
+	}
+
+	@Override
+	public Boolean get(Object name) {
+		Integer removedAt = removed.get(name);
+
+		if (!blacklist.contains(name)) {
+			int first = removedAt != null ? removedAt : 0;
+			for (int i = layers.size() - 1; i >= first; i--) {
+				Boolean value = layers.get(i).get(name);
+				if (value != null) {
+					return value;
+				}
+			}
+		}
+
+		return removedAt != null ? null : base.get(name);
+	}
+
+	@Override
+	public boolean containsKey(Object name) {
+		return get(name) != null;
+	}
+
+	@Override
+	public Boolean remove(Object name) {
+		Boolean previous = get(name);
+
+		if (name instanceof String) {
+			removed.put((String) name, layers.size());
+		}
+
+		return previous;
+	}
+
+	@Override
+	public Set<Entry<String, Boolean>> entrySet() {
+		Map<String, Boolean> result = new LinkedHashMap<String, Boolean>();
+
+		for (String name : base.keySet()) {
+			Boolean value = get(name);
+			if (value != null) {
+				result.put(name, value);
+			}
+		}
+
+		for (Map<String, Boolean> layer : layers) {
+			for (String name : layer.keySet()) {
+				Boolean value = get(name);
+				if (value != null) {
+					result.put(name, value);
+				}
+			}
+		}
+
+		return Collections.unmodifiableMap(result).entrySet();
+	}
+}
@@ -126,6 +126,12 @@ public class Reg
 		return false;
 	}
 	
+	// PORT INFO: same as isWhitespace(String), but checks single character code, which is returned by Lexer.peek()
+	public static boolean isWhitespace(int c)
+	{
+		return c == ' ' || c == '\f' || c == '\n' || c == '\r' || c == '\t' || c == '\u000b' || c == '\u00a0' || c == '\u1680' || (c >= '\u2000' && c <= '\u200a') || c == '\u2028' || c == '\u2029' || c == '\u202f' || c == '\u205f' || c == '\u3000' || c == '\ufeff';
+	}
+	
 	// PORT INFO: replacement for regexp /^[1-9]$/
 	public static boolean isNonzeroDigit(String input)
 	{
@@ -135,6 +141,11 @@ public class Reg
 		return c >= '1' && c <= '9';
 	}
 	
+	public static boolean isNonzeroDigit(int c)
+	{
+		return c >= '1' && c <= '9';
+	}
+	
 	// PORT INFO: replacement for regexp /^[0-9]$/
 	public static boolean isDecimalDigit(String input)
 	{
@@ -144,6 +155,11 @@ public class Reg
 		return c >= '0' && c <= '9';
 	}
 	
+	public static boolean isDecimalDigit(int c)
+	{
+		return c >= '0' && c <= '9';
+	}
+	
 	// PORT INFO: replacement for regexp /[\^$\\.*+?()[\]{}|]/
 	public static boolean isSyntaxChars(String input)
 	{
@@ -152,6 +168,11 @@ public class Reg
 		return StringUtils.containsAny(input, '^', '$', '\\', '.', '*', '+', '?', '(', ')', '[', ']', '{', '}', '|');
 	}
 	
+	public static boolean isSyntaxChars(int c)
+	{
+		return c == '^' || c == '$' || c == '\\' || c == '.' || c == '*' || c == '+' || c == '?' || c == '(' || c == ')' || c == '[' || c == ']' || c == '{' || c == '}' || c == '|';
+	}
+	
 	// PORT INFO: replacement for regexp /[*+?{]/
 	public static boolean isQuantifiers(String input)
 	{
@@ -160,6 +181,11 @@ public class Reg
 		return StringUtils.containsAny(input, '*', '+', '?', '{');
 	}
 	
+	public static boolean isQuantifiers(int c)
+	{
+		return c == '*' || c == '+' || c == '?' || c == '{';
+	}
+	
 	// PORT INFO: replacement for regexp /[dDsSwW]/
 	public static boolean isCharClasses(String 	input)
 	{
@@ -168,6 +194,11 @@ public class Reg
 		return StringUtils.containsAny(input, 'd', 'D', 's', 'S', 'w', 'W');
 	}
 	
+	public static boolean isCharClasses(int c)
+	{
+		return c == 'd' || c == 'D' || c == 's' || c == 'S' || c == 'w' || c == 'W';
+	}
+	
 	// Identifies the "dot" atom in regular expressions
 	// PORT INFO: replacement for regexp /(^|[^\\])(\\\\)*\./
 	public static boolean isDot(String input)
@@ -228,6 +259,11 @@ public class Reg
 		return StringUtils.containsAny(input, 'g', 'i', 'm', 'y', 'u', 's');
 	}
 	
+	public static boolean isRegexpFlag(int c)
+	{
+		return c == 'g' || c == 'i' || c == 'm' || c == 'y' || c == 'u' || c == 's';
+	}
+	
 	// PORT INFO: created handy short test function to execute regexp patterns against strings
 	public static boolean test(Pattern p, String input)
 	{
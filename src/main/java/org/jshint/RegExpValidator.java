@@ -0,0 +1,513 @@
+package org.jshint;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Syntax checker for the JavaScript regular expression patterns.
+ *
+ * PORT INFO: original JSHint relies on the RegExp object of the JavaScript
+ * engine it's running on, so this class follows the grammar from the
+ * ECMAScript 2018 specification together with the web compatibility extensions
+ * from Annex B, which are implemented by all major engines (e.g. lone braces,
+ * quantifiable lookaheads, invalid escapes and back references are treated as
+ * literals).
+ *
+ * Patterns with the "u" flag are expected to be translated to an
+ * ES5-compatible approximation by the lexer before the check, since all
+ * additional restrictions of unicode mode are verified during lexing.
+ */
+final class RegExpValidator {
+
+	private static final int CACHE_SIZE = 1000;
+
+	// Results are cached, because the same literals are usually met many times,
+	// e.g. in the concatenated files or in the several versions of the same library
+	private static final Cache<String, String> cache = CacheBuilder.newBuilder()
+			.maximumSize(CACHE_SIZE)
+			.build();
+
+	private final String pattern;
+	private final int length;
+	private int index = 0;
+	private Set<String> groupNames = new HashSet<String>();
+	private Set<String> definedGroupNames = new HashSet<String>();
+
+	private RegExpValidator(String pattern) {
+		this.pattern = pattern;
+		this.length = pattern.length();
+	}
+
+	/**
+	 * Checks syntax of the regular expression.
+	 *
+	 * @param body  pattern of the regular expression literal
+	 * @param flags flags of the regular expression literal
+	 * @return description of the syntax error or null if expression is valid
+	 */
+	static String validate(String body, String flags) {
+		String key = "/" + body + "/" + flags;
+		String result = cache.getIfPresent(key);
+
+		if (result == null) {
+			result = new RegExpValidator(body).check();
+			cache.put(key, result);
+		}
+
+		return result.isEmpty() ? null : result;
+	}
+
+	private String check() {
+		try {
+			collectGroups();
+			disjunction();
+
+			if (index < length) {
+				// Only unmatched closing parenthesis can stop the top-level disjunction
+				throw new PatternException("Unmatched ')'");
+			}
+		} catch (PatternException e) {
+			return e.getMessage();
+		}
+
+		return "";
+	}
+
+	/**
+	 * Look through the whole pattern for named groups, since named references
+	 * can precede group definitions.
+	 */
+	private void collectGroups() {
+		boolean inClass = false;
+
+		for (int i = 0; i < length; i++) {
+			char c = pattern.charAt(i);
+
+			if (c == '\\') {
+				i++;
+			} else if (inClass) {
+				inClass = c != ']';
+			} else if (c == '[') {
+				inClass = true;
+			} else if (c == '(' && pattern.startsWith("?<", i + 1)) {
+				int end = pattern.indexOf('>', i + 3);
+				char next = i + 3 < length ? pattern.charAt(i + 3) : 0;
+				if (end != -1 && next != '=' && next != '!') {
+					groupNames.add(pattern.substring(i + 3, end));
+				}
+			}
+		}
+	}
+
+	private char current() {
+		return pattern.charAt(index);
+	}
+
+	private boolean lookingAt(String str) {
+		return pattern.startsWith(str, index);
+	}
+
+	private void disjunction() {
+		alternative();
+
+		while (index < length && current() == '|') {
+			index++;
+			alternative();
+		}
+	}
+
+	private void alternative() {
+		while (index < length && current() != '|' && current() != ')') {
+			term();
+		}
+	}
+
+	private void term() {
+		char c = current();
+
+		switch (c) {
+			case '^':
+			case '$':
+				index++;
+				assertion();
+				return;
+
+			case '\\':
+				if (lookingAt("\\b") || lookingAt("\\B")) {
+					index += 2;
+					assertion();
+					return;
+				}
+				index++;
+				atomEscape();
+				break;
+
+			case '(':
+				if (lookingAt("(?=") || lookingAt("(?!")) {
+					// Annex B allows lookaheads to be quantified
+					index += 3;
+					group();
+				} else if (lookingAt("(?<=") || lookingAt("(?<!")) {
+					index += 4;
+					group();
+					assertion();
+					return;
+				} else if (lookingAt("(?:")) {
+					index += 3;
+					group();
+				} else if (lookingAt("(?<")) {
+					index += 3;
+					groupName();
+					group();
+				} else if (lookingAt("(?")) {
+					throw new PatternException("Invalid group");
+				} else {
+					index++;
+					group();
+				}
+				break;
+
+			case '[':
+				index++;
+				characterClass();
+				break;
+
+			case '*':
+			case '+':
+			case '?':
+				throw new PatternException("Nothing to repeat");
+
+			case '{':
+				// Annex B allows braces to be used as literals, unless they form a quantifier
+				if (bracedQuantifier(false)) {
+					throw new PatternException("Nothing to repeat");
+				}
+				index++;
+				break;
+
+			default:
+				index++;
+		}
+
+		quantifier();
+	}
+
+	// Assertions (except lookaheads) can't be quantified
+	private void assertion() {
+		if (index < length && (current() == '*' || current() == '+' || current() == '?' ||
+				(current() == '{' && bracedQuantifier(false)))) {
+			throw new PatternException("Nothing to repeat");
+		}
+	}
+
+	private void group() {
+		disjunction();
+
+		if (index >= length) {
+			throw new PatternException("Unterminated group");
+		}
+
+		index++; // closing parenthesis
+	}
+
+	private void groupName() {
+		int start = index;
+
+		while (index < length && current() != '>') {
+			char c = current();
+			boolean valid = index == start
+					? Character.isUnicodeIdentifierStart(c) || c == '$' || c == '_'
+					: Character.isUnicodeIdentifierPart(c) || c == '$' || c == '\u200C' || c == '\u200D';
+
+			if (!valid) {
+				throw new PatternException("Invalid capture group name");
+			}
+			index++;
+		}
+
+		if (index >= length || index == start) {
+			throw new PatternException("Invalid capture group name");
+		}
+
+		if (!definedGroupNames.add(pattern.substring(start, index))) {
+			throw new PatternException("Duplicate capture group name");
+		}
+
+		index++; // closing angle bracket
+	}
+
+	private void quantifier() {
+		if (index >= length) {
+			return;
+		}
+
+		char c = current();
+
+		if (c == '*' || c == '+' || c == '?') {
+			index++;
+		} else if (c != '{' || !bracedQuantifier(true)) {
+			return;
+		}
+
+		// Lazy quantifier
+		if (index < length && current() == '?') {
+			index++;
+		}
+	}
+
+	/**
+	 * Checks if the braced quantifier ({n}, {n,} or {n,m}) starts at the current
+	 * position.
+	 *
+	 * @param consume whether position should be moved after the quantifier
+	 * @return true if it's a quantifier, false otherwise
+	 */
+	private boolean bracedQuantifier(boolean consume) {
+		int i = index + 1;
+		int minStart = i;
+
+		while (i < length && isDecimalDigit(pattern.charAt(i))) {
+			i++;
+		}
+
+		if (i == minStart || i >= length) {
+			return false;
+		}
+
+		String min = pattern.substring(minStart, i);
+		String max = null;
+
+		if (pattern.charAt(i) == ',') {
+			int maxStart = ++i;
+
+			while (i < length && isDecimalDigit(pattern.charAt(i))) {
+				i++;
+			}
+
+			if (i > maxStart) {
+				max = pattern.substring(maxStart, i);
+			}
+		}
+
+		if (i >= length || pattern.charAt(i) != '}') {
+			return false;
+		}
+
+		if (consume) {
+			if (max != null && compareNumbers(min, max) > 0) {
+				throw new PatternException("numbers out of order in {} quantifier");
+			}
+			index = i + 1;
+		}
+
+		return true;
+	}
+
+	private void atomEscape() {
+		if (index >= length) {
+			throw new PatternException("\\ at end of pattern");
+		}
+
+		char c = current();
+
+		switch (c) {
+			case 'c':
+				// Annex B: when not followed by a control letter, backslash is a literal
+				// and 'c' is parsed as a separate character
+				if (index + 1 < length && isControlLetter(pattern.charAt(index + 1))) {
+					index += 2;
+				}
+				return;
+
+			case 'x':
+				index += hexDigits(index + 1, 2) ? 3 : 1;
+				return;
+
+			case 'u':
+				index += hexDigits(index + 1, 4) ? 5 : 1;
+				return;
+
+			case 'k':
+				if (!groupNames.isEmpty()) {
+					int end = pattern.indexOf('>', index);
+					if (!lookingAt("k<") || end == -1 || !groupNames.contains(pattern.substring(index + 2, end))) {
+						throw new PatternException("Invalid named reference");
+					}
+					index = end + 1;
+					return;
+				}
+				index++;
+				return;
+
+			default:
+				// Back references to missing groups, legacy octal escapes and escapes of
+				// ordinary characters are all allowed by Annex B
+				index++;
+		}
+	}
+
+	private void characterClass() {
+		if (index < length && current() == '^') {
+			index++;
+		}
+
+		for (;;) {
+			if (index >= length) {
+				throw new PatternException("Unterminated character class");
+			}
+
+			if (current() == ']') {
+				index++;
+				return;
+			}
+
+			int from = classAtom();
+
+			if (index + 1 < length && current() == '-' && pattern.charAt(index + 1) != ']') {
+				index++;
+				int to = classAtom();
+
+				// Annex B: ranges with character class escapes are treated as union
+				if (from != -1 && to != -1 && from > to) {
+					throw new PatternException("Range out of order in character class");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Parses one atom of the character class.
+	 *
+	 * @return code of the character or -1 if atom is a character class escape
+	 */
+	private int classAtom() {
+		if (index >= length) {
+			throw new PatternException("Unterminated character class");
+		}
+
+		char c = current();
+		index++;
+
+		if (c != '\\') {
+			return c;
+		}
+
+		if (index >= length) {
+			throw new PatternException("\\ at end of pattern");
+		}
+
+		c = current();
+
+		switch (c) {
+			case 'd':
+			case 'D':
+			case 's':
+			case 'S':
+			case 'w':
+			case 'W':
+				index++;
+				return -1;
+
+			case 'b':
+				index++;
+				return '\b';
+
+			case 'c':
+				// Annex B also allows digits and underscore as control letters inside
+				// classes, otherwise backslash is a literal
+				if (index + 1 < length) {
+					char l = pattern.charAt(index + 1);
+					if (isControlLetter(l) || isDecimalDigit(l) || l == '_') {
+						index += 2;
+						return l % 32;
+					}
+				}
+				return '\\';
+
+			case 'x':
+				if (hexDigits(index + 1, 2)) {
+					index += 3;
+					return Integer.parseInt(pattern.substring(index - 2, index), 16);
+				}
+				index++;
+				return c;
+
+			case 'u':
+				if (hexDigits(index + 1, 4)) {
+					index += 5;
+					return Integer.parseInt(pattern.substring(index - 4, index), 16);
+				}
+				index++;
+				return c;
+
+			case 'k':
+				if (!groupNames.isEmpty()) {
+					throw new PatternException("Invalid escape");
+				}
+				index++;
+				return c;
+
+			default:
+				if (c >= '0' && c <= '7') {
+					// Legacy octal escape sequence
+					int value = 0;
+					int maxDigits = c <= '3' ? 3 : 2;
+					for (int i = 0; i < maxDigits && index < length && current() >= '0' && current() <= '7'; i++) {
+						value = value * 8 + (current() - '0');
+						index++;
+					}
+					return value;
+				}
+				index++;
+				return c;
+		}
+	}
+
+	private boolean hexDigits(int start, int count) {
+		if (start + count > length) {
+			return false;
+		}
+
+		for (int i = start; i < start + count; i++) {
+			char c = pattern.charAt(i);
+			if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isDecimalDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isControlLetter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	// Quantifier bounds can be bigger than any integer type, so they are compared
+	// as strings
+	private static int compareNumbers(String a, String b) {
+		a = a.replaceFirst("^0+(?=.)", "");
+		b = b.replaceFirst("^0+(?=.)", "");
+
+		if (a.length() != b.length()) {
+			return a.length() - b.length();
+		}
+
+		return a.compareTo(b);
+	}
+
+	private static class PatternException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private PatternException(String message) {
+			super(message);
+		}
+	}
+}
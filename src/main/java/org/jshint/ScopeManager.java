@@ -294,7 +294,7 @@ public class ScopeManager {
 	}
 
 	private void latedefWarning(String type, String labelName, Token token) {
-		if (state.getOption().test("latedef")) {
+		if (state.getCompiledOption().test(CompiledOptions.LATEDEF)) {
 			boolean isFunction = type.equals("function") || type.equals("generator function") ||
 					type.equals("async function");
 
@@ -366,7 +366,7 @@ public class ScopeManager {
 				String usedLabelType = usedLabel.getType();
 				isImmutable = usedLabelType.equals("const") || usedLabelType.equals("import");
 
-				if (usedLabel.isUseOutsideOfScope() && !state.getOption().test("funcscope")) {
+				if (usedLabel.isUseOutsideOfScope() && !state.getCompiledOption().test(CompiledOptions.FUNCSCOPE)) {
 					List<Token> usedTokens = usage.getTokens();
 					for (int j = 0; j < usedTokens.size(); j++) {
 						// Keep the consistency of https://github.com/jshint/jshint/issues/2409
@@ -452,7 +452,8 @@ public class ScopeManager {
 						// if its not a forgiven undefined (e.g. typof x)
 						if (!undefinedToken.isForgiveUndef()) {
 							// if undef is on and undef was on when the token was defined
-							if (state.getOption().test("undef") && !undefinedToken.isIgnoreUndef()) {
+							if (state.getCompiledOption().test(CompiledOptions.UNDEF) &&
+									!undefinedToken.isIgnoreUndef()) {
 								warning("W117", undefinedToken, usedLabelName);
 							}
 							if (impliedGlobals.containsKey(usedLabelName)) {
@@ -561,7 +562,7 @@ public class ScopeManager {
 			String previouslyDefinedLabelType = funct.labeltype(labelName, false, false, false);
 			if (StringUtils.isNotEmpty(previouslyDefinedLabelType) && !previouslyDefinedLabelType.equals("exception")) {
 				// and has not been used yet in the current function scope
-				if (!state.getOption().test("node")) {
+				if (!state.getCompiledOption().test(CompiledOptions.NODE)) {
 					warning("W002", state.nextToken(), labelName);
 				}
 			}
@@ -15,6 +15,7 @@ public final class State {
 	private Map<String, Token> syntax = new HashMap<String, Token>();
 
 	private UniversalContainer option = ContainerFactory.undefinedContainer();
+	private CompiledOptions compiledOption = null;
 	private int esVersion = 0;
 	private JSHint.Functor funct = null;
 	private UniversalContainer ignored = ContainerFactory.undefinedContainer();
@@ -48,6 +49,34 @@ public final class State {
 
 	void setOption(UniversalContainer option) {
 		this.option = option;
+		this.compiledOption = null;
+	}
+
+	/**
+	 * Replaces options together with their compiled version, which should be
+	 * either obtained before from the same container or from its prototype.
+	 */
+	void setOption(UniversalContainer option, CompiledOptions compiledOption) {
+		this.option = option;
+		this.compiledOption = compiledOption;
+	}
+
+	/**
+	 * Changes value of the option, it should be used instead of modifying
+	 * container directly, so that compiled options stay in sync.
+	 */
+	void setOptionValue(String name, Object value) {
+		option.set(name, value);
+		if (compiledOption != null) {
+			compiledOption = compiledOption.update(name, option);
+		}
+	}
+
+	CompiledOptions getCompiledOption() {
+		if (compiledOption == null) {
+			compiledOption = CompiledOptions.compile(option);
+		}
+		return compiledOption;
 	}
 
 	JSHint.Functor getFunct() {
@@ -173,7 +202,7 @@ public final class State {
 	 */
 	public boolean isStrict() {
 		return BooleanUtils.isTrue(getDirective().get("use strict")) || isInClassBody() ||
-				getOption().test("module") || getOption().get("strict").equals("implied");
+				getCompiledOption().test(CompiledOptions.MODULE) || getOption().get("strict").equals("implied");
 	}
 
 	/**
@@ -201,7 +230,7 @@ public final class State {
 			return false;
 		}
 
-		if (getOption().test("globalstrict")) {
+		if (getCompiledOption().test(CompiledOptions.GLOBALSTRICT)) {
 			return true;
 		}
 
@@ -209,8 +238,8 @@ public final class State {
 	}
 
 	public boolean allowsGlobalUsd() {
-		return getOption().get("strict").equals("global") || getOption().test("globalstrict") ||
-				getOption().test("module") || impliedClosure();
+		return getOption().get("strict").equals("global") ||
+				getCompiledOption().test(CompiledOptions.GLOBALSTRICT | CompiledOptions.MODULE) || impliedClosure();
 	}
 
 	/**
@@ -221,12 +250,12 @@ public final class State {
 	 *         expression, false otherwise.
 	 */
 	public boolean impliedClosure() {
-		return getOption().test("node") || getOption().test("phantom") || getOption().test("browserify");
+		return getCompiledOption().test(CompiledOptions.NODE | CompiledOptions.PHANTOM | CompiledOptions.BROWSERIFY);
 	}
 
 	// Assumption: chronologically ES3 < ES5 < ES6/ESNext < Moz
 	public boolean inMoz() {
-		return getOption().test("moz");
+		return getCompiledOption().test(CompiledOptions.MOZ);
 	}
 
 	/**
@@ -279,7 +308,7 @@ public final class State {
 	 *         false otherwise
 	 */
 	public boolean inES6(boolean strict) {
-		if (!strict && getOption().test("moz")) {
+		if (!strict && getCompiledOption().test(CompiledOptions.MOZ)) {
 			return true;
 		}
 
@@ -293,7 +322,7 @@ public final class State {
 	 *         false otherwise
 	 */
 	public boolean inES5() {
-		return esVersion == 0 || esVersion >= 5 || getOption().test("moz");
+		return esVersion == 0 || esVersion >= 5 || getCompiledOption().test(CompiledOptions.MOZ);
 	}
 
 	/**
@@ -340,6 +369,7 @@ public final class State {
 		next = null;
 		curr = null;
 		option = ContainerFactory.createObject("unstable", ContainerFactory.createObject());
+		compiledOption = null;
 		esVersion = 5;
 		funct = null;
 		ignored = ContainerFactory.createObject();
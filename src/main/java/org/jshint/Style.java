@@ -17,7 +17,7 @@ public class Style implements JSHintModule
 			@Override
 			public void accept(EventContext data) throws JSHintException
 			{
-				if (linter.getOption("proto").test())
+				if (linter.getCompiledOption().test(CompiledOptions.PROTO))
 				{
 					return;
 				}
@@ -38,7 +38,7 @@ public class Style implements JSHintModule
 			@Override
 			public void accept(EventContext data) throws JSHintException
 			{
-				if (linter.getOption("iterator").test())
+				if (linter.getCompiledOption().test(CompiledOptions.ITERATOR))
 				{
 					return;
 				}
@@ -57,7 +57,7 @@ public class Style implements JSHintModule
 			@Override
 			public void accept(EventContext data) throws JSHintException
 			{
-				if (!linter.getOption("camelcase").test())
+				if (!linter.getCompiledOption().test(CompiledOptions.CAMELCASE))
 				{
 					return;
 				}
@@ -150,7 +150,7 @@ public class Style implements JSHintModule
 			@Override
 			public void accept(EventContext data) throws JSHintException
 			{
-				if (linter.getOption("scripturl").test())
+				if (linter.getCompiledOption().test(CompiledOptions.SCRIPTURL))
 				{
 					return;
 				}
@@ -15,72 +15,60 @@ import org.jshint.utils.EventContext;
 
 public final class Token implements Cloneable
 {
-	private String id = "";
+	// Behaviour of the token kind (binding powers, denotations, reserved word
+	// metadata), shared by the syntax table entry and all tokens created from it
+	private Kind kind = new Kind();
+	
+	// All boolean properties of the token are packed into single bit set
+	private static final int IDENTIFIER = 1 << 0;
+	private static final int BLOCK = 1 << 1;
+	private static final int EXPS = 1 << 2;
+	private static final int IMMED = 1 << 3;
+	private static final int PAREN = 1 << 4;
+	private static final int IN_BRACELESS_BLOCK = 1 << 5;
+	private static final int FORGIVE_UNDEF = 1 << 6;
+	private static final int REACH = 1 << 7;
+	private static final int BEGINS_STMT = 1 << 8;
+	private static final int NO_SUBST = 1 << 9;
+	private static final int TEMPLATE = 1 << 10;
+	private static final int TAIL = 1 << 11;
+	private static final int UNCLOSED = 1 << 12;
+	private static final int CASE_FALLS_THROUGH = 1 << 13;
+	private static final int LABELLED = 1 << 14;
+	private static final int SPECIAL = 1 << 15;
+	private static final int PROPERTY = 1 << 16;
+	private static final int META_PROPERTY = 1 << 17;
+	private static final int DECLARATION = 1 << 18;
+	private static final int HAS_COMMA = 1 << 19;
+	private static final int HAS_INITIALIZER = 1 << 20;
+	private static final int FUNCTOR = 1 << 21;
+	private static final int IGNORE_UNDEF = 1 << 22;
+	private static final int IGNORE_W020 = 1 << 23;
+	private static final int IGNORE_W021 = 1 << 24;
+	private static final int KIND_SHARED = 1 << 25;
+	
+	private int flags = 0;
+	
+	// Properties, which are set only for several kinds of tokens, are kept
+	// in the side object, which is created on demand
+	private Extra extra = null;
+	
 	private String value = "";
 	private Type type = null;
 	private String name = "";
 	private ArityType arity = null;
 	private String raw_text = "";
-	private String body = "";
-	private String accessorType = "";
-	private BoundaryType ltBoundary = null;
 	
-	private int lbp = 0; // Left binding power
-	private int rbp = 0; // Right binding power
 	private int startLine = 0;
 	private int line = 0;
 	private int from = 0;
 	private int character = 0;
 	private int depth = 0;
 	
-	private boolean isIdentifier = false;
-	private boolean isInfix = false;
-	private boolean isBlock = false;
-	private boolean isAssign = false;
-	private boolean isExps = false;
-	private boolean isImmed = false;
-	private boolean isParen = false;
-	private boolean inBracelessBlock = false;
-	private boolean isForgiveUndef = false;
-	private boolean isReach = false;
-	private boolean isBeginsStmt = false;
-	private boolean isDelim = false; //JSHINT_BUG: this property only used to write values, not to read can be removed
-	private boolean isNoSubst = false;
-	private boolean isTemplate = false;
-	private boolean isTail = false;
-	private boolean isUnclosed = false;
-	private boolean isCaseFallsThrough = false;
-	private boolean isReserved = false;
-	private boolean isLabelled = false;
-	private boolean isSpecial = false;
-	private boolean isProperty = false;
-	private boolean isMetaProperty = false;
-	private boolean isDeclaration = false;
-	private boolean hasComma  = false;
-	private boolean hasInitializer  = false;
-	private boolean isFunctor = false;
-	
-	private boolean ignoreUndef = false;
-	private boolean ignoreW020 = false;
-	private boolean ignoreW021 = false;
-	
 	private Token left = null;
 	private Token right = null;
-	private Token tag = null;
-	private Token token = null;
 	private List<Token> exprs = null;
-	private List<Token> cases = null;
-	private List<Token> firstTokens = null;
-	private List<Token> destructAssign = null;
-	private ScopeManager.Scope function = null;
-	private Lexer.LexerContext context = null;
 	
-	private Meta meta = null;
-	private Function<Token, IntFunction<IntFunction<Token>>> nud = null; // Null denotation
-	private Function<Token, IntFunction<Token>> fud = null; // First null denotation
-	private Function<Token, IntFunction<Function<Token, Token>>> led = null; // Left denotation
-	private Function<Token, IntPredicate> useFud = null;
-	private Function<Token, IntPredicate> isFunc = null;
 	private Runnable check = null;
 	
 	public Token()
@@ -93,9 +81,11 @@ public final class Token implements Cloneable
 		setType(type);
 	}
 	
+	// Prototype token of the syntax table, its kind gets own integer id
 	public Token(String id, int lbp, int rpb, String value)
 	{
 		setId(id);
+		ownKind().kindId = TokenIds.register(getId());
 		setLbp(lbp);
 		setRbp(rpb);
 		setValue(value);
@@ -127,12 +117,20 @@ public final class Token implements Cloneable
 	
 	public String getId()
 	{
-		return id;
+		return kind.id;
 	}
 
 	public void setId(String id)
 	{
-		this.id = StringUtils.defaultString(id);
+		Kind kind = ownKind();
+		kind.id = StringUtils.defaultString(id);
+		kind.kindId = TokenIds.of(kind.id);
+	}
+	
+	// Integer identifier of the token kind, see TokenIds
+	int getKindId()
+	{
+		return kind.kindId;
 	}
 
 	public String getValue()
@@ -187,52 +185,52 @@ public final class Token implements Cloneable
 
 	public String getBody()
 	{
-		return body;
+		return extra != null ? extra.body : "";
 	}
 
 	public void setBody(String body)
 	{
-		this.body = StringUtils.defaultString(body);
+		extra().body = StringUtils.defaultString(body);
 	}
 
 	public String getAccessorType()
 	{
-		return accessorType;
+		return extra != null ? extra.accessorType : "";
 	}
 
 	public void setAccessorType(String accessorType)
 	{
-		this.accessorType = StringUtils.defaultString(accessorType);
+		extra().accessorType = StringUtils.defaultString(accessorType);
 	}
 
 	public BoundaryType getLtBoundary()
 	{
-		return ltBoundary;
+		return kind.ltBoundary;
 	}
 
 	public void setLtBoundary(BoundaryType ltBoundary)
 	{
-		this.ltBoundary = ltBoundary;
+		ownKind().ltBoundary = ltBoundary;
 	}
 
 	public int getLbp()
 	{
-		return lbp;
+		return kind.lbp;
 	}
 
 	public void setLbp(int lbp)
 	{
-		this.lbp = lbp;
+		ownKind().lbp = lbp;
 	}
 	
 	public int getRbp()
 	{
-		return rbp;
+		return kind.rbp;
 	}
 
 	public void setRbp(int rbp)
 	{
-		this.rbp = rbp;
+		ownKind().rbp = rbp;
 	}
 
 	public int getStartLine()
@@ -287,292 +285,292 @@ public final class Token implements Cloneable
 
 	public boolean isIdentifier()
 	{
-		return isIdentifier;
+		return hasFlag(IDENTIFIER);
 	}
 
 	public void setIdentifier(boolean isIdentifier)
 	{
-		this.isIdentifier = isIdentifier;
+		setFlag(IDENTIFIER, isIdentifier);
 	}
 
 	public boolean isInfix()
 	{
-		return isInfix;
+		return kind.isInfix;
 	}
 
 	public void setInfix(boolean isInfix)
 	{
-		this.isInfix = isInfix;
+		ownKind().isInfix = isInfix;
 	}
 
 	public boolean isBlock()
 	{
-		return isBlock;
+		return hasFlag(BLOCK);
 	}
 
 	public void setBlock(boolean isBlock)
 	{
-		this.isBlock = isBlock;
+		setFlag(BLOCK, isBlock);
 	}
 
 	public boolean isAssign()
 	{
-		return isAssign;
+		return kind.isAssign;
 	}
 
 	public void setAssign(boolean isAssign)
 	{
-		this.isAssign = isAssign;
+		ownKind().isAssign = isAssign;
 	}
 
 	public boolean isExps()
 	{
-		return isExps;
+		return hasFlag(EXPS);
 	}
 
 	public void setExps(boolean isExps)
 	{
-		this.isExps = isExps;
+		setFlag(EXPS, isExps);
 	}
 
 	public boolean isImmed()
 	{
-		return isImmed;
+		return hasFlag(IMMED);
 	}
 
 	public void setImmed(boolean isImmed)
 	{
-		this.isImmed = isImmed;
+		setFlag(IMMED, isImmed);
 	}
 
 	public boolean isParen()
 	{
-		return isParen;
+		return hasFlag(PAREN);
 	}
 
 	public void setParen(boolean isParen)
 	{
-		this.isParen = isParen;
+		setFlag(PAREN, isParen);
 	}
 
 	public boolean inBracelessBlock()
 	{
-		return inBracelessBlock;
+		return hasFlag(IN_BRACELESS_BLOCK);
 	}
 
 	public void setInBracelessBlock(boolean inBracelessBlock)
 	{
-		this.inBracelessBlock = inBracelessBlock;
+		setFlag(IN_BRACELESS_BLOCK, inBracelessBlock);
 	}
 
 	public boolean isForgiveUndef()
 	{
-		return isForgiveUndef;
+		return hasFlag(FORGIVE_UNDEF);
 	}
 
 	public void setForgiveUndef(boolean isForgiveUndef)
 	{
-		this.isForgiveUndef = isForgiveUndef;
+		setFlag(FORGIVE_UNDEF, isForgiveUndef);
 	}
 
 	public boolean isReach()
 	{
-		return isReach;
+		return hasFlag(REACH);
 	}
 
 	public void setReach(boolean isReach)
 	{
-		this.isReach = isReach;
+		setFlag(REACH, isReach);
 	}
 
 	public boolean isBeginsStmt()
 	{
-		return isBeginsStmt;
+		return hasFlag(BEGINS_STMT);
 	}
 
 	public void setBeginsStmt(boolean isBeginsStmt)
 	{
-		this.isBeginsStmt = isBeginsStmt;
+		setFlag(BEGINS_STMT, isBeginsStmt);
 	}
 
 	public boolean isDelim()
 	{
-		return isDelim;
+		return kind.isDelim;
 	}
 
 	public void setDelim(boolean isDelim)
 	{
-		this.isDelim = isDelim;
+		ownKind().isDelim = isDelim;
 	}
 
 	public boolean isNoSubst()
 	{
-		return isNoSubst;
+		return hasFlag(NO_SUBST);
 	}
 
 	public void setNoSubst(boolean isNoSubst)
 	{
-		this.isNoSubst = isNoSubst;
+		setFlag(NO_SUBST, isNoSubst);
 	}
 
 	public boolean isTemplate()
 	{
-		return isTemplate;
+		return hasFlag(TEMPLATE);
 	}
 
 	public void setTemplate(boolean isTemplate)
 	{
-		this.isTemplate = isTemplate;
+		setFlag(TEMPLATE, isTemplate);
 	}
 
 	public boolean isTail()
 	{
-		return isTail;
+		return hasFlag(TAIL);
 	}
 
 	public void setTail(boolean isTail)
 	{
-		this.isTail = isTail;
+		setFlag(TAIL, isTail);
 	}
 
 	public boolean isUnclosed()
 	{
-		return isUnclosed;
+		return hasFlag(UNCLOSED);
 	}
 
 	public void setUnclosed(boolean isUnclosed)
 	{
-		this.isUnclosed = isUnclosed;
+		setFlag(UNCLOSED, isUnclosed);
 	}
 
 	public boolean isCaseFallsThrough()
 	{
-		return isCaseFallsThrough;
+		return hasFlag(CASE_FALLS_THROUGH);
 	}
 
 	public void setCaseFallsThrough(boolean isCaseFallsThrough)
 	{
-		this.isCaseFallsThrough = isCaseFallsThrough;
+		setFlag(CASE_FALLS_THROUGH, isCaseFallsThrough);
 	}
 
 	public boolean isReserved()
 	{
-		return isReserved;
+		return kind.isReserved;
 	}
 
 	public void setReserved(boolean isReserved)
 	{
-		this.isReserved = isReserved;
+		ownKind().isReserved = isReserved;
 	}
 
 	public boolean isLabelled()
 	{
-		return isLabelled;
+		return hasFlag(LABELLED);
 	}
 
 	public void setLabelled(boolean isLabelled)
 	{
-		this.isLabelled = isLabelled;
+		setFlag(LABELLED, isLabelled);
 	}
 
 	public boolean isSpecial()
 	{
-		return isSpecial;
+		return hasFlag(SPECIAL);
 	}
 
 	public void setSpecial(boolean isSpecial)
 	{
-		this.isSpecial = isSpecial;
+		setFlag(SPECIAL, isSpecial);
 	}
 
 	public boolean isProperty()
 	{
-		return isProperty;
+		return hasFlag(PROPERTY);
 	}
 
 	public void setProperty(boolean isProperty)
 	{
-		this.isProperty = isProperty;
+		setFlag(PROPERTY, isProperty);
 	}
 
 	public boolean isMetaProperty()
 	{
-		return isMetaProperty;
+		return hasFlag(META_PROPERTY);
 	}
 
 	public void setMetaProperty(boolean isMetaProperty)
 	{
-		this.isMetaProperty = isMetaProperty;
+		setFlag(META_PROPERTY, isMetaProperty);
 	}
 	
 	public boolean isDeclaration()
 	{
-		return isDeclaration;
+		return hasFlag(DECLARATION);
 	}
 
 	public void setDeclaration(boolean isDeclaration)
 	{
-		this.isDeclaration = isDeclaration;
+		setFlag(DECLARATION, isDeclaration);
 	}
 	
 	public boolean hasComma()
 	{
-		return hasComma;
+		return hasFlag(HAS_COMMA);
 	}
 
 	public void setHasComma(boolean hasComma)
 	{
-		this.hasComma = hasComma;
+		setFlag(HAS_COMMA, hasComma);
 	}
 	
 	public boolean hasInitializer()
 	{
-		return hasInitializer;
+		return hasFlag(HAS_INITIALIZER);
 	}
 
 	public void setHasInitializer(boolean hasInitializer)
 	{
-		this.hasInitializer = hasInitializer;
+		setFlag(HAS_INITIALIZER, hasInitializer);
 	}
 	
 	public boolean isFunctor()
 	{
-		return isFunctor;
+		return hasFlag(FUNCTOR);
 	}
 	
 	public void setFunctor(boolean isFunctor)
 	{
-		this.isFunctor = isFunctor;
+		setFlag(FUNCTOR, isFunctor);
 	}
 
 	public boolean isIgnoreUndef()
 	{
-		return ignoreUndef;
+		return hasFlag(IGNORE_UNDEF);
 	}
 
 	public void setIgnoreUndef(boolean ignoreUndef)
 	{
-		this.ignoreUndef = ignoreUndef;
+		setFlag(IGNORE_UNDEF, ignoreUndef);
 	}
 
 	public boolean isIgnoreW020()
 	{
-		return ignoreW020;
+		return hasFlag(IGNORE_W020);
 	}
 
 	public void setIgnoreW020(boolean ignoreW020)
 	{
-		this.ignoreW020 = ignoreW020;
+		setFlag(IGNORE_W020, ignoreW020);
 	}
 
 	public boolean isIgnoreW021()
 	{
-		return ignoreW021;
+		return hasFlag(IGNORE_W021);
 	}
 
 	public void setIgnoreW021(boolean ignoreW021)
 	{
-		this.ignoreW021 = ignoreW021;
+		setFlag(IGNORE_W021, ignoreW021);
 	}
 
 	public Token getLeft()
@@ -597,22 +595,22 @@ public final class Token implements Cloneable
 
 	public Token getTag()
 	{
-		return tag;
+		return extra != null ? extra.tag : null;
 	}
 
 	public void setTag(Token tag)
 	{
-		this.tag = tag;
+		extra().tag = tag;
 	}
 	
 	public Token getToken()
 	{
-		return token;
+		return extra != null ? extra.token : null;
 	}
 
 	public void setToken(Token token)
 	{
-		this.token = token;
+		extra().token = token;
 	}
 
 	public List<Token> getExprs()
@@ -627,103 +625,105 @@ public final class Token implements Cloneable
 
 	public List<Token> getCases()
 	{
-		return cases;
+		return extra != null ? extra.cases : null;
 	}
 
 	public void setCases(List<Token> cases)
 	{
-		this.cases = cases;
+		extra().cases = cases;
 	}
 
 	public Token getFirstToken()
 	{
+		List<Token> firstTokens = extra != null ? extra.firstTokens : null;
 		return firstTokens != null && firstTokens.size() == 1 ? firstTokens.get(0) : null; 
 	}
 	
 	public List<Token> getFirstTokens()
 	{
+		List<Token> firstTokens = extra != null ? extra.firstTokens : null;
 		return firstTokens != null ? Collections.unmodifiableList(firstTokens) : Collections.<Token>emptyList();
 	}
 	
 	public void setFirstTokens(Token... tokens)
 	{
-		firstTokens = tokens != null ? new ArrayList<Token>(Arrays.asList(tokens)) : new ArrayList<Token>();
+		extra().firstTokens = tokens != null ? new ArrayList<Token>(Arrays.asList(tokens)) : new ArrayList<Token>();
 	}
 	
 	public void setFirstTokens(List<Token> tokens)
 	{
-		firstTokens = tokens != null ? new ArrayList<Token>(tokens) : new ArrayList<Token>();
+		extra().firstTokens = tokens != null ? new ArrayList<Token>(tokens) : new ArrayList<Token>();
 	}
 	
 	public void addFirstTokens(Token... tokens)
 	{
-		if (firstTokens == null)
+		if (extra == null || extra.firstTokens == null)
 		{
 			setFirstTokens(tokens);
 		}
 		else if (tokens != null)
 		{
-			firstTokens.addAll(Arrays.asList(tokens));
+			extra.firstTokens.addAll(Arrays.asList(tokens));
 		}
 	}
 	
 	public void addFirstTokens(List<Token> tokens)
 	{
-		if (firstTokens == null)
+		if (extra == null || extra.firstTokens == null)
 		{
 			setFirstTokens(tokens);
 		}
 		else if (tokens != null)
 		{
-			firstTokens.addAll(tokens);
+			extra.firstTokens.addAll(tokens);
 		}
 	}
 	
 	public List<Token> getDestructAssign()
 	{
-		return destructAssign;
+		return extra != null ? extra.destructAssign : null;
 	}
 
 	public void setDestructAssign(List<Token> destructAssign)
 	{
-		this.destructAssign = destructAssign;
+		extra().destructAssign = destructAssign;
 	}
 
 	public ScopeManager.Scope getFunction()
 	{
-		return function;
+		return extra != null ? extra.function : null;
 	}
 
 	public void setFunction(ScopeManager.Scope function)
 	{
-		this.function = function;
+		extra().function = function;
 	}
 
 	public Lexer.LexerContext getContext()
 	{
-		return context;
+		return extra != null ? extra.context : null;
 	}
 
 	public void setContext(Lexer.LexerContext context)
 	{
-		this.context = context;
+		extra().context = context;
 	}
 	
 	@Override
     public int hashCode()
 	{
         return Objects.hash(
-        	id,
+        	kind.id,
         	value,
     		type,
     		name,
     		arity,
     		raw_text,
-    		body,
-    		accessorType,
-    		ltBoundary,
-	    	lbp,
-    		rbp,
+    		getBody(),
+    		getAccessorType(),
+    		kind.ltBoundary,
+	    	kind.lbp,
+    		kind.rbp,
     		startLine,
     		line,
     		from,
@@ -739,17 +739,17 @@ public final class Token implements Cloneable
 		
 		Token other = (Token) obj;
 		return new EqualsBuilder()
-			.append(this.id, other.id)
+			.append(this.kind.id, other.kind.id)
 			.append(this.value, other.value)
 			.append(this.type, other.type)
 			.append(this.name, other.name)
 			.append(this.arity, other.arity)
 			.append(this.raw_text, other.raw_text)
-			.append(this.body, other.body)
-			.append(this.accessorType, other.accessorType)
-			.append(this.ltBoundary, other.ltBoundary)
-			.append(this.lbp, other.lbp)
-			.append(this.rbp, other.rbp)
+			.append(this.getBody(), other.getBody())
+			.append(this.getAccessorType(), other.getAccessorType())
+			.append(this.kind.ltBoundary, other.kind.ltBoundary)
+			.append(this.kind.lbp, other.kind.lbp)
+			.append(this.kind.rbp, other.kind.rbp)
 			.append(this.startLine, other.startLine)
 			.append(this.line, other.line)
 			.append(this.from, other.from)
@@ -758,12 +758,23 @@ public final class Token implements Cloneable
 			.isEquals();
 	}
 	
+	/**
+	 * Creates a copy of the token. Kind of the token isn't copied: both tokens
+	 * share it until one of them changes any of its properties.
+	 */
 	@Override
 	public Token clone()
 	{
 		try
 		{
-			return (Token)super.clone();
+			Token token = (Token)super.clone();
+			if (extra != null)
+			{
+				token.extra = extra.clone();
+			}
+			setFlag(KIND_SHARED, true);
+			token.setFlag(KIND_SHARED, true);
+			return token;
 		}
 		catch (CloneNotSupportedException e)
 		{
@@ -771,6 +782,93 @@ public final class Token implements Cloneable
 		}
 	}
 	
+	private boolean hasFlag(int flag)
+	{
+		return (flags & flag) != 0;
+	}
+	
+	private void setFlag(int flag, boolean value)
+	{
+		flags = value ? flags | flag : flags & ~flag;
+	}
+	
+	private Extra extra()
+	{
+		if (extra == null)
+		{
+			extra = new Extra();
+		}
+		return extra;
+	}
+	
+	private static class Extra implements Cloneable
+	{
+		private String body = "";
+		private String accessorType = "";
+		private Token tag = null;
+		private Token token = null;
+		private List<Token> cases = null;
+		private List<Token> firstTokens = null;
+		private List<Token> destructAssign = null;
+		private ScopeManager.Scope function = null;
+		private Lexer.LexerContext context = null;
+		
+		@Override
+		protected Extra clone()
+		{
+			try
+			{
+				return (Extra)super.clone();
+			}
+			catch (CloneNotSupportedException e)
+			{
+				return null;
+			}
+		}
+	}
+	
+	private Kind ownKind()
+	{
+		if (hasFlag(KIND_SHARED))
+		{
+			kind = kind.clone();
+			setFlag(KIND_SHARED, false);
+		}
+		return kind;
+	}
+	
+	private static class Kind implements Cloneable
+	{
+		private String id = "";
+		private int kindId = TokenIds.NONE;
+		private BoundaryType ltBoundary = null;
+		private int lbp = 0; // Left binding power
+		private int rbp = 0; // Right binding power
+		private boolean isInfix = false;
+		private boolean isAssign = false;
+		private boolean isDelim = false; //JSHINT_BUG: this property only used to write values, not to read can be removed
+		private boolean isReserved = false;
+		private Meta meta = null;
+		private Function<Token, IntFunction<IntFunction<Token>>> nud = null; // Null denotation
+		private Function<Token, IntFunction<Token>> fud = null; // First null denotation
+		private Function<Token, IntFunction<Function<Token, Token>>> led = null; // Left denotation
+		private Function<Token, IntPredicate> useFud = null;
+		private Function<Token, IntPredicate> isFunc = null;
+		
+		@Override
+		protected Kind clone()
+		{
+			try
+			{
+				return (Kind)super.clone();
+			}
+			catch (CloneNotSupportedException e)
+			{
+				return null;
+			}
+		}
+	}
+	
 	// PORT INFO: special setter, which is used to mark, that there is functor object in property 'right'
 	void setRight(JSHint.Functor functor)
 	{
@@ -781,12 +879,12 @@ public final class Token implements Cloneable
 
 	Meta getMeta()
 	{
-		return meta;
+		return kind.meta;
 	}
 
 	void setMeta(Meta meta)
 	{
-		this.meta = meta;
+		ownKind().meta = meta;
 	}
 	
 	static class Meta
@@ -866,12 +964,12 @@ public final class Token implements Cloneable
 
 	Function<Token, IntFunction<IntFunction<Token>>> getNud()
 	{
-		return nud;
+		return kind.nud;
 	}
 
 	void setNud(Function<Token, IntFunction<IntFunction<Token>>> nud)
 	{
-		this.nud = nud;
+		ownKind().nud = nud;
 	}
 	
 	Token nud(int context, int rbp) throws JSHintException
@@ -881,75 +979,75 @@ public final class Token implements Cloneable
 	
 	Token nud(Token _this, int context, int rbp) throws JSHintException
 	{
-		return nud.apply(_this).apply(context).apply(rbp);
+		return kind.nud.apply(_this).apply(context).apply(rbp);
 	}
 	
 	// FIRST NULL DENOTATION
 
 	Function<Token, IntFunction<Token>> getFud()
 	{
-		return fud;
+		return kind.fud;
 	}
 
 	void setFud(Function<Token, IntFunction<Token>> fud)
 	{
-		this.fud = fud;
+		ownKind().fud = fud;
 	}
 	
 	Token fud(int context) throws JSHintException
 	{
-		return fud.apply(this).apply(context);
+		return kind.fud.apply(this).apply(context);
 	}
 	
 	// LEFT DENOTATION
 
 	Function<Token, IntFunction<Function<Token, Token>>> getLed()
 	{
-		return led;
+		return kind.led;
 	}
 
 	void setLed(Function<Token, IntFunction<Function<Token, Token>>> led)
 	{
-		this.led = led;
+		ownKind().led = led;
 	}
 	
 	Token led(int context, Token t) throws JSHintException
 	{
-		return led.apply(this).apply(context).apply(t);
+		return kind.led.apply(this).apply(context).apply(t);
 	}
 	
 	// USE FIRST NULL DENOTATION
 	
 	Function<Token, IntPredicate> getUseFud()
 	{
-		return useFud;
+		return kind.useFud;
 	}
 
 	void setUseFud(Function<Token, IntPredicate> useFud)
 	{
-		this.useFud = useFud;
+		ownKind().useFud = useFud;
 	}
 	
 	boolean useFud(int context) throws JSHintException
 	{
-		return useFud.apply(this).test(context);
+		return kind.useFud.apply(this).test(context);
 	}
 	
 	// IS FUNCTION
 	
 	Function<Token, IntPredicate> getIsFunc()
 	{
-		return isFunc;
+		return kind.isFunc;
 	}
 
 	void setIsFunc(Function<Token, IntPredicate> isFunc)
 	{
-		this.isFunc = isFunc;
+		ownKind().isFunc = isFunc;
 	}
 	
 	boolean isFunc(int context) throws JSHintException
 	{
-		return isFunc.apply(this).test(context);
+		return kind.isFunc.apply(this).test(context);
 	}
 
 	Runnable getCheck()
@@ -0,0 +1,69 @@
+package org.jshint;
+
+/**
+ * Queue of the lookahead tokens between lexer and parser.
+ * 
+ * Tokens are kept in the circular array, so that both taking the first token
+ * and peeking any buffered token are constant time operations. Usually only
+ * several tokens are buffered, but lookahead can be arbitrary deep (e.g. when
+ * parser looks for the arrow after parentheses), so array grows when it's full.
+ */
+final class TokenBuffer {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	// Capacity is always a power of two, so that index can be wrapped with a mask
+	private Token[] tokens = new Token[INITIAL_CAPACITY];
+	private int head = 0;
+	private int size = 0;
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns buffered token without removing it.
+	 * 
+	 * @param index offset from the first buffered token.
+	 * @return token.
+	 */
+	Token get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		return tokens[(head + index) & (tokens.length - 1)];
+	}
+
+	void add(Token token) {
+		if (size == tokens.length) {
+			grow();
+		}
+		tokens[(head + size) & (tokens.length - 1)] = token;
+		size++;
+	}
+
+	/**
+	 * Removes the first buffered token.
+	 * 
+	 * @return removed token or null if buffer is empty.
+	 */
+	Token poll() {
+		if (size == 0) {
+			return null;
+		}
+		Token token = tokens[head];
+		tokens[head] = null;
+		head = (head + 1) & (tokens.length - 1);
+		size--;
+		return token;
+	}
+
+	private void grow() {
+		Token[] grown = new Token[tokens.length * 2];
+		for (int i = 0; i < size; i++) {
+			grown[i] = tokens[(head + i) & (tokens.length - 1)];
+		}
+		tokens = grown;
+		head = 0;
+	}
+}
@@ -0,0 +1,130 @@
+package org.jshint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dense integer identifiers of the token kinds.
+ * 
+ * PORT INFO: original JSHint compares `id` strings of the tokens, here every
+ * kind from the syntax table gets an integer when the table is built, so that
+ * the parser can compare integers instead. Strings are still used for
+ * reporting. Other strings, e.g. names of the identifiers, which are also
+ * stored as ids, are only looked up and all share {@link #OTHER}, so the
+ * registry doesn't grow with the linted sources.
+ */
+final class TokenIds {
+
+	private static final Map<String, Integer> ids = new ConcurrentHashMap<String, Integer>();
+	private static final Map<Integer, String> names = new ConcurrentHashMap<Integer, String>();
+	private static final AtomicInteger lastId = new AtomicInteger(0);
+
+	private TokenIds() {
+	}
+
+	/**
+	 * Returns integer identifier of the token kind, new identifier is
+	 * assigned to the id, which wasn't registered before. It must be called
+	 * only for the kinds of the syntax table, which is finite.
+	 * 
+	 * @param id string id of the token.
+	 * @return integer identifier.
+	 */
+	static int register(String id) {
+		Integer result = ids.get(id);
+		if (result == null) {
+			result = ids.computeIfAbsent(id, k -> {
+				int kind = lastId.incrementAndGet();
+				names.put(kind, k);
+				return kind;
+			});
+		}
+		return result;
+	}
+
+	/**
+	 * Returns string id of the registered token kind, it's used for reporting.
+	 * 
+	 * @param kind integer identifier.
+	 * @return string id of the token.
+	 */
+	static String idOf(int kind) {
+		return names.get(kind);
+	}
+
+	/**
+	 * Returns integer identifier of the registered token kind.
+	 * 
+	 * @param id string id of the token.
+	 * @return integer identifier or {@link #OTHER} if kind isn't registered.
+	 */
+	static int of(String id) {
+		Integer result = ids.get(id);
+		return result != null ? result : OTHER;
+	}
+
+	static final int NONE = register("");
+	// Shared by all ids, which are not registered
+	static final int OTHER = register("(other)");
+
+	static final int END = register("(end)");
+	static final int ENDLINE = register("(endline)");
+	static final int ERROR = register("(error)");
+	static final int COMMENT = register("(comment)");
+	static final int IDENTIFIER = register("(identifier)");
+	static final int NUMBER = register("(number)");
+	static final int STRING = register("(string)");
+	static final int REGEXP = register("(regexp)");
+	static final int TEMPLATE = register("(template)");
+
+	static final int COMMA = register(",");
+	static final int SEMICOLON = register(";");
+	static final int COLON = register(":");
+	static final int QUESTION = register("?");
+	static final int DOT = register(".");
+	static final int LPAREN = register("(");
+	static final int RPAREN = register(")");
+	static final int LBRACKET = register("[");
+	static final int RBRACKET = register("]");
+	static final int LBRACE = register("{");
+	static final int RBRACE = register("}");
+	static final int ASSIGN = register("=");
+	static final int ARROW = register("=>");
+	static final int NOT = register("!");
+	static final int AND = register("&&");
+	static final int OR = register("||");
+	static final int PLUS = register("+");
+	static final int MINUS = register("-");
+	static final int MULTIPLY = register("*");
+	static final int EXPONENT = register("**");
+	static final int INCREMENT = register("++");
+	static final int DECREMENT = register("--");
+
+	static final int ASYNC = register("async");
+	static final int AWAIT = register("await");
+	static final int CASE = register("case");
+	static final int CATCH = register("catch");
+	static final int CLASS = register("class");
+	static final int CONST = register("const");
+	static final int DEFAULT = register("default");
+	static final int DO = register("do");
+	static final int ELSE = register("else");
+	static final int EXTENDS = register("extends");
+	static final int FINALLY = register("finally");
+	static final int FOR = register("for");
+	static final int FUNCTION = register("function");
+	static final int IF = register("if");
+	static final int IN = register("in");
+	static final int LET = register("let");
+	static final int NEW = register("new");
+	static final int SWITCH = register("switch");
+	static final int VAR = register("var");
+	static final int WHILE = register("while");
+	static final int YIELD = register("yield");
+
+	// Contextual keywords, which are expected by the parser, but are lexed as identifiers
+	static final int AS = register("as");
+	static final int EACH = register("each");
+	static final int FROM = register("from");
+}
@@ -32,6 +32,25 @@ public class ES5IdentifierNames
 	
 	public static boolean test(String value)
 	{
+		// ASCII names are the same in all editions, so the large pattern is
+		// matched only for the names with other characters
+		if (isAsciiIdentifier(value)) return true;
+		
 		return pattern.matcher(StringUtils.defaultString(value)).find();
 	}
+	
+	private static boolean isAsciiIdentifier(String value)
+	{
+		if (StringUtils.isEmpty(value)) return false;
+		
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '$' || c == '_' || (i > 0 && c >= '0' && c <= '9')))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
 }
\ No newline at end of file
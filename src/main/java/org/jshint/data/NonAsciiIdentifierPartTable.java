@@ -1,28 +1,39 @@
 package org.jshint.data;
 
-import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.BitSet;
 
 public class NonAsciiIdentifierPartTable
 {
 	private NonAsciiIdentifierPartTable() {}
 	
-	private static final List<Integer> arr;
+	// Resource file contains sorted ranges of character codes, each range is stored
+	// as a pair of big-endian 16-bit values (first and last codes inclusive)
+	private static final BitSet table = new BitSet(Character.MAX_VALUE + 1);
 	
 	static
 	{
 		try (
-			InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream("non-ascii-identifier-part-only.txt");
-			BufferedReader reader = new BufferedReader(new InputStreamReader(in));
+			InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream("non-ascii-identifier-part-only.bin");
+			DataInputStream reader = new DataInputStream(in);
 		)
 		{
-			String str = reader.readLine();
-			arr = Arrays.stream(str.split(",")).map(code -> Integer.parseInt(code, 10)).collect(Collectors.toList());
+			while (true)
+			{
+				char first;
+				try
+				{
+					first = reader.readChar();
+				}
+				catch (EOFException e)
+				{
+					break;
+				}
+				table.set(first, reader.readChar() + 1);
+			}
 		}
 		catch (IOException e)
 		{
@@ -30,8 +41,8 @@ public class NonAsciiIdentifierPartTable
 		}
 	}
 	
-	public static int indexOf(int code)
+	public static boolean contains(int code)
 	{
-		return arr.indexOf(code);
+		return code >= 0 && table.get(code);
 	}
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package org.jshint.reporters;
 
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -10,7 +11,7 @@ import org.jshint.DataSummary;
 
 //Author: Boy Baukema
 //http://github.com/relaxnow
-public class CheckstyleReporter implements JSHintReporter
+public class CheckstyleReporter extends WriterReporter
 {
 	private static class Issue
 	{
@@ -30,6 +31,8 @@ public class CheckstyleReporter implements JSHintReporter
 		}
 	}
 	
+	private String verbose;
+	
 	private static final Map<String, String> pairs = new HashMap<String, String>();
 	static
 	{
@@ -52,21 +55,39 @@ public class CheckstyleReporter implements JSHintReporter
 		return s != null ? s : "";
 	}
 	
+	public CheckstyleReporter()
+	{
+		super();
+	}
+	
+	public CheckstyleReporter(Writer writer)
+	{
+		super(writer);
+	}
+	
 	@Override
-	public void generate(List<ReporterResult> results, List<DataSummary> data, String verbose)
-	{	
-		Map<String, List<Issue>> files = new HashMap<String, List<Issue>>();
+	public void start(String verbose)
+	{
+		this.verbose = verbose;
+		
+		write("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
+		write("\n<checkstyle version=\"4.3\">");
+		flush();
+	}
+	
+	@Override
+	public void fileResult(String fileName, List<ReporterResult> results, DataSummary data)
+	{
+		if (results.isEmpty())
+		{
+			return;
+		}
+		
+		List<Issue> issues = new ArrayList<Issue>();
 		List<String> out = new ArrayList<String>();
 		
 		for (ReporterResult result : results)
 		{
-			// Register the file
-			String file = StringUtils.removeStart(result.getFile(), "./");
-			if (!files.containsKey(file))
-			{
-				files.put(file, new ArrayList<Issue>());
-			}
-			
 			// Create the error message
 			String errorMessage = result.getError().getReason();
 			if (StringUtils.isNotEmpty(verbose))
@@ -90,7 +111,7 @@ public class CheckstyleReporter implements JSHintReporter
 			}
 			
 			// Add the error
-			files.get(file).add(new Issue(
+			issues.add(new Issue(
 					severity,
 					result.getError().getLine(),
 					result.getError().getCharacter(),
@@ -99,30 +120,29 @@ public class CheckstyleReporter implements JSHintReporter
 			));
 		}
 		
-		out.add("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
-		out.add("<checkstyle version=\"4.3\">");
-		
-		for (String fileName : files.keySet())
+		out.add("\t<file name=\"" + StringUtils.removeStart(fileName, "./") + "\">");
+		for (Issue issue : issues)
 		{
-			out.add("\t<file name=\"" + fileName + "\">");
-			for (int i = 0; i < files.get(fileName).size(); i++)
-			{
-				Issue issue = files.get(fileName).get(i);
-				out.add(
-					"\t\t<error " +
-					"line=\"" + issue.line + "\" " +
-					"column=\"" + issue.column + "\" " +
-					"severity=\"" + issue.severity + "\" " +
-					"message=\"" + encode(issue.message) + "\" " +
-					"source=\"" + encode(issue.source) + "\" " +
-					"/>"
-				);
-			}
-			out.add("\t</file>");
+			out.add(
+				"\t\t<error " +
+				"line=\"" + issue.line + "\" " +
+				"column=\"" + issue.column + "\" " +
+				"severity=\"" + issue.severity + "\" " +
+				"message=\"" + encode(issue.message) + "\" " +
+				"source=\"" + encode(issue.source) + "\" " +
+				"/>"
+			);
 		}
+		out.add("\t</file>");
 		
-		out.add("</checkstyle>");
-		
-		System.out.println(StringUtils.join(out, "\n"));
+		write("\n" + StringUtils.join(out, "\n"));
+		flush();
+	}
+	
+	@Override
+	public void end()
+	{
+		writeln("\n</checkstyle>");
+		finish();
 	}
 }
\ No newline at end of file
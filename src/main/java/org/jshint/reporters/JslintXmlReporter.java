@@ -1,5 +1,6 @@
 package org.jshint.reporters;
 
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -9,7 +10,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.jshint.DataSummary;
 import org.jshint.LinterWarning;
 
-public class JslintXmlReporter implements JSHintReporter
+public class JslintXmlReporter extends WriterReporter
 {
 	private static final Map<String, String> pairs = new HashMap<String, String>();
 	static
@@ -33,44 +34,55 @@ public class JslintXmlReporter implements JSHintReporter
 		return s != null ? s : "";
 	}
 	
+	public JslintXmlReporter()
+	{
+		super();
+	}
+	
+	public JslintXmlReporter(Writer writer)
+	{
+		super(writer);
+	}
+	
 	@Override
-	public void generate(List<ReporterResult> results, List<DataSummary> data, String verbose)
+	public void start(String verbose)
 	{
-		Map<String, List<LinterWarning>> files = new HashMap<String, List<LinterWarning>>();
-		List<String> out = new ArrayList<String>();
-		
-		for (ReporterResult result : results)
+		write("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
+		write("\n<jslint>");
+		flush();
+	}
+	
+	@Override
+	public void fileResult(String fileName, List<ReporterResult> results, DataSummary data)
+	{
+		if (results.isEmpty())
 		{
-			String file = StringUtils.removeStart(result.getFile(), "./");
-			if (!files.containsKey(file))
-			{
-				files.put(file, new ArrayList<LinterWarning>());
-			}
-			
-			files.get(file).add(result.getError());
+			return;
 		}
 		
-		out.add("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
-		out.add("<jslint>");
+		List<String> out = new ArrayList<String>();
 		
-		for (String file : files.keySet())
+		out.add("\t<file name=\"" + StringUtils.removeStart(fileName, "./") + "\">");
+		for (ReporterResult result : results)
 		{
-			out.add("\t<file name=\"" + file + "\">");
-			for (int i = 0; i < files.get(file).size(); i++)
-			{
-				LinterWarning issue = files.get(file).get(i);
-				out.add("\t\t<issue line=\"" + issue.getLine() +
-						"\" char=\"" + issue.getCharacter() +
-					"\" reason=\"" + encode(issue.getReason()) +
-					"\" evidence=\"" + encode(issue.getEvidence()) +
-					(StringUtils.isNotEmpty(issue.getCode()) ? "\" severity=\"" + encode(String.valueOf(issue.getCode().charAt(0))) : "") +
-					"\" />");
-			}
-			out.add("\t</file>");
+			LinterWarning issue = result.getError();
+			out.add("\t\t<issue line=\"" + issue.getLine() +
+					"\" char=\"" + issue.getCharacter() +
+				"\" reason=\"" + encode(issue.getReason()) +
+				"\" evidence=\"" + encode(issue.getEvidence()) +
+				(StringUtils.isNotEmpty(issue.getCode()) ? "\" severity=\"" + encode(String.valueOf(issue.getCode().charAt(0))) : "") +
+				"\" />");
 		}
+		out.add("\t</file>");
 		
-		out.add("</jslint>");
-		
-		System.out.println(StringUtils.join(out, "\n") + "\n");
+		write("\n" + StringUtils.join(out, "\n"));
+		flush();
+	}
+	
+	@Override
+	public void end()
+	{
+		writeln("\n</jslint>\n");
+		finish();
 	}
 }
\ No newline at end of file
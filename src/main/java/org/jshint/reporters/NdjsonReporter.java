@@ -0,0 +1,191 @@
+package org.jshint.reporters;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.jshint.DataSummary;
+import org.jshint.ImpliedGlobal;
+import org.jshint.LinterWarning;
+import org.jshint.Token;
+
+/**
+ * Reporter, which writes newline-delimited JSON: one compact object per line,
+ * so the output can be parsed line by line without reading it all.
+ *
+ * Every warning is written as:
+ * <pre>
+ * {"type":"warning","file":"a.js","line":1,"character":4,"code":"W033","reason":"Missing semicolon."}
+ * </pre>
+ * If data summaries are enabled, every file is followed by:
+ * <pre>
+ * {"type":"data","file":"a.js","implieds":[{"name":"x","lines":[1]}],"unused":[{"name":"a","line":2}],
+ *  "functions":[{"name":"f","line":3,"character":10,"complexity":1,"parameters":0,"statements":1}]}
+ * </pre>
+ * Standard output is always written in UTF-8, as JSON requires.
+ */
+public class NdjsonReporter extends WriterReporter
+{
+	private final boolean summaries;
+	
+	public NdjsonReporter()
+	{
+		this(false);
+	}
+	
+	/**
+	 * @param summaries true to write data summaries of the files.
+	 */
+	public NdjsonReporter(boolean summaries)
+	{
+		super(StandardCharsets.UTF_8);
+		this.summaries = summaries;
+	}
+	
+	public NdjsonReporter(Writer writer, boolean summaries)
+	{
+		super(writer);
+		this.summaries = summaries;
+	}
+	
+	@Override
+	public void start(String verbose)
+	{
+	}
+	
+	@Override
+	public void fileResult(String file, List<ReporterResult> results, DataSummary data)
+	{
+		StringBuilder str = new StringBuilder();
+		
+		for (ReporterResult result : results)
+		{
+			LinterWarning error = result.getError();
+			str.append("{\"type\":\"warning\",\"file\":");
+			quote(str, result.getFile());
+			str.append(",\"line\":").append(error.getLine());
+			str.append(",\"character\":").append(error.getCharacter());
+			str.append(",\"code\":");
+			quote(str, error.getCode());
+			str.append(",\"reason\":");
+			quote(str, error.getReason());
+			str.append("}\n");
+		}
+		
+		if (summaries && data != null)
+		{
+			str.append("{\"type\":\"data\",\"file\":");
+			quote(str, data.getFile());
+			
+			str.append(",\"implieds\":[");
+			for (int i = 0; i < data.getImplieds().size(); i++)
+			{
+				ImpliedGlobal global = data.getImplieds().get(i);
+				str.append(i > 0 ? ",{\"name\":" : "{\"name\":");
+				quote(str, global.getName());
+				str.append(",\"lines\":[");
+				for (int j = 0; j < global.getLines().size(); j++)
+				{
+					str.append(j > 0 ? "," : "").append(global.getLines().get(j));
+				}
+				str.append("]}");
+			}
+			
+			str.append("],\"unused\":[");
+			for (int i = 0; i < data.getUnused().size(); i++)
+			{
+				Token unused = data.getUnused().get(i);
+				str.append(i > 0 ? ",{\"name\":" : "{\"name\":");
+				quote(str, unused.getName());
+				str.append(",\"line\":").append(unused.getLine()).append("}");
+			}
+			
+			str.append("],\"functions\":[");
+			for (int i = 0; i < data.getFunctions().size(); i++)
+			{
+				DataSummary.Function function = data.getFunctions().get(i);
+				str.append(i > 0 ? ",{\"name\":" : "{\"name\":");
+				quote(str, function.getName());
+				str.append(",\"line\":").append(function.getLine());
+				str.append(",\"character\":").append(function.getCharacter());
+				str.append(",\"complexity\":").append(function.getMetrics().getComplexity());
+				str.append(",\"parameters\":").append(function.getMetrics().getParameters());
+				str.append(",\"statements\":").append(function.getMetrics().getStatements());
+				str.append("}");
+			}
+			
+			str.append("]}\n");
+		}
+		
+		if (str.length() > 0)
+		{
+			write(str.toString());
+			flush();
+		}
+	}
+	
+	@Override
+	public void end()
+	{
+		finish();
+	}
+	
+	// Writes JSON string, line separators are escaped as well, so every object stays on its own line.
+	// Lone surrogates can't be encoded in UTF-8, so they are escaped too.
+	private static void quote(StringBuilder str, String s)
+	{
+		if (s == null)
+		{
+			str.append("null");
+			return;
+		}
+		
+		str.append('"');
+		for (int i = 0; i < s.length(); i++)
+		{
+			char c = s.charAt(i);
+			switch (c)
+			{
+			case '"':
+				str.append("\\\"");
+				break;
+			case '\\':
+				str.append("\\\\");
+				break;
+			case '\n':
+				str.append("\\n");
+				break;
+			case '\r':
+				str.append("\\r");
+				break;
+			case '\t':
+				str.append("\\t");
+				break;
+			default:
+				if (c < 0x20 || c == '\u2028' || c == '\u2029' || isLoneSurrogate(s, i))
+				{
+					str.append(String.format("\\u%04x", (int) c));
+				}
+				else
+				{
+					str.append(c);
+				}
+			}
+		}
+		str.append('"');
+	}
+	
+	private static boolean isLoneSurrogate(String s, int i)
+	{
+		char c = s.charAt(i);
+		if (Character.isHighSurrogate(c))
+		{
+			return i + 1 == s.length() || !Character.isLowSurrogate(s.charAt(i + 1));
+		}
+		if (Character.isLowSurrogate(c))
+		{
+			return i == 0 || !Character.isHighSurrogate(s.charAt(i - 1));
+		}
+		return false;
+	}
+}
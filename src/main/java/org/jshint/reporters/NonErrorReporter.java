@@ -1,5 +1,6 @@
 package org.jshint.reporters;
 
+import java.io.Writer;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
@@ -8,12 +9,34 @@ import org.jshint.ImpliedGlobal;
 import org.jshint.LinterWarning;
 import org.jshint.Token;
 
-public class NonErrorReporter implements JSHintReporter
+public class NonErrorReporter extends WriterReporter
 {
+	private String verbose;
+	private int len;
+	// Implied globals and unused variables are printed after all errors
+	private StringBuilder summary;
+	
+	public NonErrorReporter()
+	{
+		super();
+	}
+	
+	public NonErrorReporter(Writer writer)
+	{
+		super(writer);
+	}
+	
 	@Override
-	public void generate(List<ReporterResult> results, List<DataSummary> data, String verbose)
+	public void start(String verbose)
+	{
+		this.verbose = verbose;
+		this.len = 0;
+		this.summary = new StringBuilder();
+	}
+	
+	@Override
+	public void fileResult(String fileName, List<ReporterResult> results, DataSummary data)
 	{
-		int len = results.size();
 		StringBuilder str = new StringBuilder();
 		
 		for (ReporterResult result : results)
@@ -31,41 +54,52 @@ public class NonErrorReporter implements JSHintReporter
 			str.append("\n");
 		}
 		
-		str.append(len > 0 ? ("\n" + len + " error" + (len == 1 ? "" : "s")) : "");
+		if (str.length() > 0)
+		{
+			len += results.size();
+			write(str.toString());
+			flush();
+		}
 		
-		for (DataSummary d : data)
+		if (data != null)
 		{
-			String file = d.getFile();
-			List<ImpliedGlobal> globals = d.getImplieds();
-			List<Token> unuseds = d.getUnused();
+			String file = data.getFile();
+			List<ImpliedGlobal> globals = data.getImplieds();
+			List<Token> unuseds = data.getUnused();
 			
 			if (globals.size() > 0 || unuseds.size() > 0)
 			{
-				str.append("\n\n" + file  + " :\n");
+				summary.append("\n\n" + file  + " :\n");
 			}
 			
 			if (globals.size() > 0)
 			{
-				str.append("\tImplied globals:\n");
+				summary.append("\tImplied globals:\n");
 				for (ImpliedGlobal global : globals)
 				{
-					str.append("\t\t" + global.getName()  + ": " + global.getLines() + "\n");
+					summary.append("\t\t" + global.getName()  + ": " + global.getLines() + "\n");
 				}
 			}
 			
 			if (unuseds.size() > 0)
 			{
-				str.append("\tUnused Variables:\n\t\t");
+				summary.append("\tUnused Variables:\n\t\t");
 				for (Token unused : unuseds)
 				{
-					str.append(unused.getName() + "(" + unused.getLine() + "), ");
+					summary.append(unused.getName() + "(" + unused.getLine() + "), ");
 				}
 			}
 		}
-		
-		if (str.length() > 0)
+	}
+	
+	@Override
+	public void end()
+	{
+		if (len > 0 || summary.length() > 0)
 		{
-			System.out.println(str + "\n");
+			writeln((len > 0 ? ("\n" + len + " error" + (len == 1 ? "" : "s")) : "") + summary + "\n");
 		}
+		summary = null;
+		finish();
 	}
-}
\ No newline at end of file
+}
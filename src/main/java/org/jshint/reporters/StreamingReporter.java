@@ -0,0 +1,67 @@
+package org.jshint.reporters;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jshint.DataSummary;
+
+/**
+ * Reporter, which gets results file by file as soon as they are ready, so it
+ * can write them out right away instead of keeping the whole run in memory.
+ *
+ * CLI calls {@link #start(String)} once, then {@link #fileResult} for every
+ * linted file in the order of files and then {@link #end()}. Streaming reporter
+ * still can be used as a regular {@link JSHintReporter}, collected results are
+ * passed to it in the same way.
+ */
+public interface StreamingReporter extends JSHintReporter
+{
+	/**
+	 * Called once before any file is reported.
+	 *
+	 * @param verbose value of the --verbose option.
+	 */
+	public void start(String verbose);
+	
+	/**
+	 * Called once for every linted file.
+	 *
+	 * @param file name of the file.
+	 * @param results errors found in the file, it can be empty.
+	 * @param data data summary of the file, it can be null.
+	 */
+	public void fileResult(String file, List<ReporterResult> results, DataSummary data);
+	
+	/**
+	 * Called once after all files are reported.
+	 */
+	public void end();
+	
+	@Override
+	public default void generate(List<ReporterResult> results, List<DataSummary> data, String verbose)
+	{
+		Map<String, List<ReporterResult>> resultsByFile = new LinkedHashMap<String, List<ReporterResult>>();
+		for (ReporterResult result : results)
+		{
+			resultsByFile.computeIfAbsent(result.getFile(), k -> new ArrayList<ReporterResult>()).add(result);
+		}
+		
+		start(verbose);
+		
+		for (DataSummary d : data)
+		{
+			List<ReporterResult> fileResults = resultsByFile.remove(d.getFile());
+			fileResult(d.getFile(), fileResults != null ? fileResults : new ArrayList<ReporterResult>(), d);
+		}
+		
+		// Files, which have errors, but no data summary
+		for (Map.Entry<String, List<ReporterResult>> entry : resultsByFile.entrySet())
+		{
+			fileResult(entry.getKey(), entry.getValue(), null);
+		}
+		
+		end();
+	}
+}
@@ -1,5 +1,6 @@
 package org.jshint.reporters;
 
+import java.io.Writer;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
@@ -10,14 +11,34 @@ import org.jshint.LinterWarning;
 //frequently employed by preprocessors and compilers.
 //The format is "FILENAME:LINE:COL: MESSAGE".
 
-public class UnixReporter implements JSHintReporter
+public class UnixReporter extends WriterReporter
 {
+	private String verbose;
+	private int len;
+	private String prevfile;
+	
+	public UnixReporter()
+	{
+		super();
+	}
+	
+	public UnixReporter(Writer writer)
+	{
+		super(writer);
+	}
+	
+	@Override
+	public void start(String verbose)
+	{
+		this.verbose = verbose;
+		this.len = 0;
+		this.prevfile = null;
+	}
+	
 	@Override
-	public void generate(List<ReporterResult> results, List<DataSummary> data, String verbose)
+	public void fileResult(String fileName, List<ReporterResult> results, DataSummary data)
 	{
-		int len = results.size();
 		StringBuilder str = new StringBuilder();
-		String prevfile = null;
 		
 		for (ReporterResult result : results)
 		{
@@ -42,7 +63,19 @@ public class UnixReporter implements JSHintReporter
 		
 		if (str.length() > 0)
 		{
-			System.out.println(str + "\n" + len + " error" + (len == 1 ? "" : "s"));
+			len += results.size();
+			write(str.toString());
+			flush();
+		}
+	}
+	
+	@Override
+	public void end()
+	{
+		if (len > 0)
+		{
+			writeln("\n" + len + " error" + (len == 1 ? "" : "s"));
 		}
+		finish();
 	}
-}
\ No newline at end of file
+}
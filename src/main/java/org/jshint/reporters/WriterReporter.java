@@ -0,0 +1,88 @@
+package org.jshint.reporters;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Base class of the streaming reporters, which write their output through a
+ * buffered {@link Writer}. Output is flushed after every file, so it appears
+ * as soon as the file is reported. If writer isn't given, standard output,
+ * which is current at the start of the report, is used with the given charset
+ * (platform one by default).
+ */
+public abstract class WriterReporter implements StreamingReporter
+{
+	private final Writer writer;
+	private final Charset charset;
+	private Writer out;
+	
+	protected WriterReporter()
+	{
+		this(Charset.defaultCharset());
+	}
+	
+	protected WriterReporter(Charset charset)
+	{
+		this.writer = null;
+		this.charset = charset;
+	}
+	
+	protected WriterReporter(Writer writer)
+	{
+		this.writer = writer;
+		this.charset = null;
+	}
+	
+	protected void write(String s)
+	{
+		try
+		{
+			if (out == null)
+			{
+				out = writer != null ? writer : new BufferedWriter(new OutputStreamWriter(System.out, charset));
+			}
+			out.write(s);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Writes the string and line separator, same as {@link java.io.PrintStream#println(String)}.
+	 */
+	protected void writeln(String s)
+	{
+		write(s + System.lineSeparator());
+	}
+	
+	protected void flush()
+	{
+		try
+		{
+			if (out != null)
+			{
+				out.flush();
+			}
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Flushes the output at the end of the report, standard output is looked up
+	 * again for the next report.
+	 */
+	protected void finish()
+	{
+		flush();
+		out = null;
+	}
+}
@@ -181,6 +181,33 @@ public class EventContext
 		this.data = new SubstitutionMap(data);
 	}
 	
+	/**
+	 * Creates copy of the context, which is moved by several lines.
+	 * 
+	 * @param lineDelta number of lines, which is added to the line numbers.
+	 * @return moved copy of the context.
+	 */
+	public EventContext shiftLines(int lineDelta)
+	{
+		EventContext copy = new EventContext();
+		copy.code = code;
+		copy.value = value;
+		copy.quote = quote;
+		copy.name = name;
+		copy.raw_name = raw_name;
+		copy.line = line != 0 ? line + lineDelta : 0;
+		copy.character = character;
+		copy.from = from;
+		copy.startLine = startLine != 0 ? startLine + lineDelta : 0;
+		copy.startChar = startChar;
+		copy.base = base;
+		copy.isProperty = isProperty;
+		copy.isMalformed = isMalformed;
+		copy.token = token;
+		copy.data = data;
+		return copy;
+	}
+	
 	@Override
     public int hashCode()
 	{
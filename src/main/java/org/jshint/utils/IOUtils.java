@@ -5,10 +5,17 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -457,7 +464,7 @@ public class IOUtils
 		//shjs.cat(path)
 		public String cat(String path) throws IOException
 		{
-			return new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+			return new String(Files.readAllBytes(Paths.get(pathUtils.resolve(path))), StandardCharsets.UTF_8);
 		}
 		
 		//shjs.ls(path)
@@ -492,6 +499,104 @@ public class IOUtils
 		{
 			return Files.isDirectory(Paths.get(pathUtils.resolve(path)));
 		}
+		
+		/**
+		 * Walks the directory tree depth-first, entries of every directory are
+		 * visited in the same order as they are returned by {@link #ls(String)}.
+		 * Every entry is checked only once and subtrees, which are rejected by
+		 * the visitor, are never listed. Symbolic links are followed.
+		 * 
+		 * @param root directory, where walk starts, it's not passed to the visitor.
+		 * @param visitor receives paths, which are joined to the root the same way
+		 *                as {@link PathUtils#join(String...)} does.
+		 */
+		public void walk(String root, TreeVisitor visitor)
+		{
+			Path start = Paths.get(pathUtils.resolve(root));
+			Deque<String> dirs = new ArrayDeque<String>();
+			
+			try
+			{
+				Files.walkFileTree(start, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>()
+				{
+					@Override
+					public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+					{
+						if (dirs.isEmpty())
+						{
+							dirs.push(root);
+							return FileVisitResult.CONTINUE;
+						}
+						
+						String fp = pathUtils.join(dirs.peek(), dir.getFileName().toString());
+						if (!visitor.visitDirectory(fp)) return FileVisitResult.SKIP_SUBTREE;
+						
+						dirs.push(fp);
+						return FileVisitResult.CONTINUE;
+					}
+					
+					@Override
+					public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+					{
+						visitor.visitFile(pathUtils.join(dirs.peek(), file.getFileName().toString()));
+						return FileVisitResult.CONTINUE;
+					}
+					
+					@Override
+					public FileVisitResult visitFileFailed(Path file, IOException exc)
+					{
+						if (!dirs.isEmpty())
+						{
+							visitor.visitFailed(pathUtils.join(dirs.peek(), file.getFileName().toString()));
+						}
+						return FileVisitResult.CONTINUE;
+					}
+					
+					@Override
+					public FileVisitResult postVisitDirectory(Path dir, IOException exc)
+					{
+						dirs.pop();
+						return FileVisitResult.CONTINUE;
+					}
+				});
+			}
+			catch (IOException e)
+			{
+				// unreadable directories are skipped, like in ls()
+			}
+		}
+		
+		//fs.statSync(path).mtimeMs
+		public long lastModified(String path)
+		{
+			try
+			{
+				return Files.getLastModifiedTime(Paths.get(pathUtils.resolve(path))).toMillis();
+			}
+			catch (IOException e)
+			{
+				return -1;
+			}
+		}
+	}
+	
+	public interface TreeVisitor
+	{
+		/**
+		 * @param path path to the directory.
+		 * @return true if directory should be walked into.
+		 */
+		boolean visitDirectory(String path);
+		
+		/**
+		 * @param path path to the file or other entry, which isn't a directory.
+		 */
+		void visitFile(String path);
+		
+		/**
+		 * @param path path to the entry, which can't be read, e.g. broken link.
+		 */
+		void visitFailed(String path);
 	}
 	
 	public static class CliUtils
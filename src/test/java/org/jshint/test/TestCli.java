@@ -1,13 +1,27 @@
 package org.jshint.test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
@@ -18,14 +32,19 @@ import org.apache.commons.lang3.StringUtils;
 import org.jshint.Cli;
 import org.jshint.Cli.RunOptions;
 import org.jshint.JSHintException;
+import org.jshint.LintClient;
+import org.jshint.LintDaemon;
 import org.jshint.DataSummary;
 import org.jshint.LinterWarning;
 import org.jshint.Reg;
 import org.jshint.reporters.CheckstyleReporter;
 import org.jshint.reporters.JSHintReporter;
 import org.jshint.reporters.JslintXmlReporter;
+import org.jshint.reporters.NdjsonReporter;
 import org.jshint.reporters.NonErrorReporter;
 import org.jshint.reporters.ReporterResult;
+import org.jshint.reporters.StreamingReporter;
+import org.jshint.reporters.UnixReporter;
 import org.jshint.test.helpers.CliWrapper;
 import org.jshint.utils.IOUtils;
 import org.testng.Assert;
@@ -274,6 +293,39 @@ public class TestCli extends Assert
 		assertEquals(cli.getTestReporter().getResults().get(0).getError().getCode(), "W033");
 	}
 	
+	@Test(groups = {"group"})
+	public void testGroupOverridesDontLeakBetweenFiles()
+	{
+		CliWrapper cli = setUpGroupCli();
+		
+		String dir = System.getProperty("user.dir") + "/src/test/resources/examples/";
+		String config = "{ \"undef\": true, \"overrides\": { \"bar.js\": { \"globals\": { \"b\": true } } } }";
+		
+		cli.stubCwd(() -> dir);
+		
+		cli.stubCat(path -> {
+			if (path.endsWith("foo.js") || path.endsWith("bar.js") || path.endsWith("baz.js")) return "b();";
+			if (path.endsWith("config.json")) return config;
+			throw new UncheckedIOException(new IOException("Method 'cat' is overridden for testing purposes"));
+		});
+		
+		cli.stubExists(path -> {
+			if (path.endsWith("foo.js") || path.endsWith("bar.js") || path.endsWith("baz.js")) return true;
+			if (path.endsWith("config.json")) return true;
+			return false;
+		});
+		
+		cli.interpret("foo.js", "bar.js", "baz.js", "--config", "config.json", "--reporter", "SimpleReporter");
+		assertEquals(cli.getExitCode(), 2);
+		
+		List<ReporterResult> results = cli.getTestReporter().getResults();
+		assertEquals(results.size(), 2);
+		assertEquals(results.get(0).getFile(), "foo.js");
+		assertEquals(results.get(0).getError().getCode(), "W117");
+		assertEquals(results.get(1).getFile(), "baz.js", "globals of the override are not kept for the next file");
+		assertEquals(results.get(1).getError().getCode(), "W117");
+	}
+	
 	@Test(groups = {"group"})
 	public void testGroupOverridesMatchesRelativePaths()
 	{
@@ -366,6 +418,42 @@ public class TestCli extends Assert
 		assertEquals(cli.getReporter().getClass(), CheckstyleReporter.class);
 	}
 	
+	@Test(groups = {"group"})
+	public void testGroupNdjsonReporter() throws Exception
+	{
+		CliWrapper cli = setUpGroupCli();
+		cli.stubRun();
+		
+		cli.interpret("file.js", "--reporter", "ndjson");
+		assertEquals(cli.getReporter().getClass(), NdjsonReporter.class);
+		
+		cli.interpret("file.js", "--reporter", "ndjson", "--show-non-errors");
+		assertEquals(cli.getReporter().getClass(), NdjsonReporter.class);
+		
+		cli = setUpGroupCli();
+		String dir = System.getProperty("user.dir") + "/src/test/resources/examples/";
+		cli.stubCwd(() -> dir);
+		cli.stubGather(opts -> Arrays.asList("a.js", "b.js", "c\uD800.js"));
+		cli.stubExists(path -> false);
+		cli.stubCat(path -> path.endsWith("a.js") ? "x = \"\\\"\"" : "");
+		
+		StringWriter out = new StringWriter();
+		Cli.RunOptions opts = new Cli.RunOptions();
+		opts.setArgs(new String[]{"a.js"});
+		opts.setCwd(dir);
+		opts.setReporter(new NdjsonReporter(out, true));
+		
+		assertFalse(cli.run(opts));
+		
+		String[] lines = out.toString().split("\n");
+		assertEquals(lines.length, 4, out.toString());
+		assertTrue(lines[0].matches("\\{\"type\":\"warning\",\"file\":\"a\\.js\",\"line\":1,\"character\":\\d+,\"code\":\"W033\",\"reason\":\"Missing semicolon\\.\"\\}"), lines[0]);
+		assertTrue(lines[1].startsWith("{\"type\":\"data\",\"file\":\"a.js\",\"implieds\":["), lines[1]);
+		assertEquals(lines[2], "{\"type\":\"data\",\"file\":\"b.js\",\"implieds\":[],\"unused\":[],\"functions\":[]}");
+		// lone surrogate can't be encoded in UTF-8
+		assertTrue(lines[3].startsWith("{\"type\":\"data\",\"file\":\"c\\ud800.js\","), lines[3]);
+	}
+	
 	@Test(groups = {"group"})
 	public void testGroupShowNonErrors()
 	{
@@ -888,6 +976,47 @@ public class TestCli extends Assert
 		assertEquals(files.get(0), IOUtils.getPathUtils().join("examples", "reporter.js"));
 	}
 	
+	@Test(groups = {"group"})
+	public void testGroupGatherSkipsIgnoredDirectories() throws IOException
+	{
+		CliWrapper cli = setUpGroupCli();
+		
+		String dir = System.getProperty("user.dir") + "/src/test/resources/examples/";
+		cli.stubCwd(() -> dir);
+		
+		List<String> listed = new ArrayList<String>();
+		
+		cli.stubExists(path -> true);
+		
+		cli.stubIsDirectory(path -> {
+			if (path.endsWith("src")) return true;
+			if (Reg.test(Pattern.compile("src[\\/\\\\](node_modules|lib)$"), path)) return true;
+			return false;
+		});
+		
+		cli.stubLs(path -> {
+			listed.add(path);
+			if (path.endsWith("src")) return Arrays.asList("node_modules", "lib", "file1.js", "file2.min.js");
+			if (path.endsWith("node_modules")) return Arrays.asList("dep.js");
+			if (path.endsWith("lib")) return Arrays.asList("file3.js");
+			return null;
+		});
+		
+		Cli.RunOptions opts = new Cli.RunOptions();
+		opts.setArgs(new String[]{"src"});
+		opts.setIgnores(Arrays.asList(
+			IOUtils.getPathUtils().join("src", "node_modules"),
+			IOUtils.getPathUtils().join("src", "*.min.js")
+		));
+		List<String> files = cli.gather(opts);
+		
+		assertEquals(files, Arrays.asList(
+			IOUtils.getPathUtils().join("src", "lib", "file3.js"),
+			IOUtils.getPathUtils().join("src", "file1.js")
+		));
+		assertEquals(listed, Arrays.asList("src", IOUtils.getPathUtils().join("src", "lib")), "ignored directory isn't listed");
+	}
+	
 	@Test(groups = {"group"})
 	public void testGroupStatusCode()
 	{
@@ -915,6 +1044,316 @@ public class TestCli extends Assert
 		assertEquals(cli.getExitCode(), 2);
 	}
 	
+	@Test(groups = {"group"})
+	public void testGroupCache() throws IOException
+	{
+		CliWrapper cli = setUpGroupCli();
+		
+		String dir = System.getProperty("user.dir") + "/src/test/resources/examples/";
+		cli.stubCwd(() -> dir);
+		
+		Path cacheDir = Files.createTempDirectory("jshintcache");
+		AtomicReference<String> code = new AtomicReference<String>("console.log('Hello')");
+		
+		cli.stubExists(path -> path.endsWith("fail.js"));
+		
+		cli.stubCat(path -> {
+			if (path.endsWith("fail.js")) return code.get();
+			throw new UncheckedIOException(new IOException("Method 'cat' is overridden for testing purposes"));
+		});
+		
+		cli.interpret("fail.js", "--reporter=SimpleReporter", "--cache", "--cache-location", cacheDir.toString());
+		assertEquals(cli.getExitCode(), 2);
+		List<ReporterResult> linted = cli.getTestReporter().getResults();
+		assertEquals(Files.list(cacheDir).count(), 1L, "result is cached");
+		
+		cli.interpret("fail.js", "--reporter=SimpleReporter", "--cache", "--cache-location", cacheDir.toString());
+		assertEquals(cli.getExitCode(), 2);
+		List<ReporterResult> cached = cli.getTestReporter().getResults();
+		assertEquals(cached.size(), linted.size());
+		for (int i = 0; i < cached.size(); i++)
+		{
+			assertEquals(cached.get(i).getFile(), linted.get(i).getFile());
+			assertEquals(cached.get(i).getError(), linted.get(i).getError());
+		}
+		assertEquals(Files.list(cacheDir).count(), 1L, "cached result is reused");
+		
+		code.set("function test() { return 0; }");
+		cli.interpret("fail.js", "--reporter=SimpleReporter", "--cache", "--cache-location", cacheDir.toString());
+		assertEquals(cli.getExitCode(), 0, "changed file is linted again");
+		assertEquals(Files.list(cacheDir).count(), 2L);
+	}
+	
+	@Test(groups = {"group"})
+	public void testGroupConfigResolvedOncePerDirectory() throws IOException
+	{
+		CliWrapper cli = setUpGroupCli();
+		
+		String examples = System.getProperty("user.dir") + "/src/test/resources/examples/";
+		cli.stubCwd(() -> examples);
+		
+		Path dir = Files.createTempDirectory("jshintconfig");
+		Path rc = dir.resolve(".jshintrc");
+		Files.write(rc, "{\"evil\": true}".getBytes(StandardCharsets.UTF_8));
+		for (String name : new String[] {"a.js", "b.js", "c.js"})
+		{
+			Files.write(dir.resolve(name), "eval('a=2');".getBytes(StandardCharsets.UTF_8));
+		}
+		
+		AtomicInteger rcReads = new AtomicInteger();
+		cli.stubCat(path -> {
+			if (path.endsWith(".jshintrc")) rcReads.incrementAndGet();
+			try
+			{
+				return new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+		});
+		
+		cli.interpret(dir.toString(), "--reporter=SimpleReporter");
+		assertEquals(cli.getExitCode(), 0, "eval allowed = rc file found");
+		assertEquals(rcReads.get(), 1, "rc file is read once for all files in the directory");
+		
+		cli.interpret(dir.toString(), "--reporter=SimpleReporter");
+		assertEquals(rcReads.get(), 1, "unchanged rc file is not read again");
+		
+		Files.write(rc, "{\"evil\": false}".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(rc, FileTime.fromMillis(Files.getLastModifiedTime(rc).toMillis() + 10000));
+		
+		cli.interpret(dir.toString(), "--reporter=SimpleReporter");
+		assertEquals(cli.getExitCode(), 2, "changed rc file is read again");
+		assertEquals(rcReads.get(), 2);
+	}
+	
+	@Test(groups = {"group"})
+	public void testGroupJobs()
+	{
+		CliWrapper cli = setUpGroupCli();
+		
+		String dir = System.getProperty("user.dir") + "/src/test/resources/examples/";
+		cli.stubCwd(() -> dir);
+		
+		List<String> files = new ArrayList<String>();
+		for (int i = 0; i < 40; i++)
+		{
+			files.add("file" + i + ".js");
+		}
+		
+		cli.stubGather(opts -> files);
+		cli.stubExists(path -> false);
+		cli.stubCat(path -> {
+			int i = Integer.parseInt(path.replaceAll("^.*file(\\d+)\\.js$", "$1"));
+			// every third file passes, others have different number of warnings
+			return i % 3 == 0 ? "var a = 1;" : StringUtils.repeat("x()\n", i % 5 + 1);
+		});
+		
+		cli.interpret("file0.js", "--reporter=SimpleReporter", "--jobs", "1");
+		assertEquals(cli.getExitCode(), 2);
+		List<ReporterResult> serial = cli.getTestReporter().getResults();
+		
+		cli.interpret("file0.js", "--reporter=SimpleReporter", "--jobs", "8");
+		assertEquals(cli.getExitCode(), 2);
+		List<ReporterResult> parallel = cli.getTestReporter().getResults();
+		
+		assertEquals(parallel.size(), serial.size());
+		for (int i = 0; i < serial.size(); i++)
+		{
+			assertEquals(parallel.get(i).getFile(), serial.get(i).getFile(), "results are in the order of files");
+			assertEquals(parallel.get(i).getError(), serial.get(i).getError());
+		}
+		
+		// with stubbed exit CLI would go on and lint the files
+		cli.restoreExit();
+		assertEquals(cli.interpret("file0.js", "--reporter=SimpleReporter", "--jobs", "none"), 1);
+		assertTrue(cli.getErrorMessages().contains("Invalid number of jobs: none"), cli.getErrorMessages().toString());
+	}
+	
+	@Test(groups = {"group"})
+	public void testGroupStreamingReporter() throws Exception
+	{
+		CliWrapper cli = setUpGroupCli();
+		
+		String dir = System.getProperty("user.dir") + "/src/test/resources/examples/";
+		cli.stubCwd(() -> dir);
+		
+		List<String> files = new ArrayList<String>();
+		for (int i = 0; i < 10; i++)
+		{
+			files.add("file" + i + ".js");
+		}
+		
+		AtomicInteger reads = new AtomicInteger();
+		cli.stubGather(opts -> files);
+		cli.stubExists(path -> false);
+		cli.stubCat(path -> {
+			reads.incrementAndGet();
+			int i = Integer.parseInt(path.replaceAll("^.*file(\\d+)\\.js$", "$1"));
+			return i % 2 == 0 ? "var a = 1;" : "x()";
+		});
+		
+		List<String> events = new ArrayList<String>();
+		StreamingReporter reporter = new StreamingReporter()
+		{
+			@Override
+			public void start(String verbose)
+			{
+				events.add("start");
+			}
+			
+			@Override
+			public void fileResult(String file, List<ReporterResult> results, DataSummary data)
+			{
+				events.add(file + ":" + results.size() + ":" + reads.get());
+			}
+			
+			@Override
+			public void end()
+			{
+				events.add("end");
+			}
+		};
+		
+		Cli.RunOptions opts = new Cli.RunOptions();
+		opts.setArgs(new String[]{"file0.js"});
+		opts.setCwd(dir);
+		opts.setReporter(reporter);
+		
+		assertFalse(cli.run(opts));
+		assertEquals(events.size(), files.size() + 2);
+		assertEquals(events.get(0), "start");
+		for (int i = 0; i < files.size(); i++)
+		{
+			// every file is reported before the next one is read
+			assertEquals(events.get(i + 1), files.get(i) + ":" + (i % 2) + ":" + (i + 1));
+		}
+		assertEquals(events.get(events.size() - 1), "end");
+		
+		events.clear();
+		opts.setJobs(4);
+		
+		assertFalse(cli.run(opts));
+		assertEquals(events.size(), files.size() + 2);
+		for (int i = 0; i < files.size(); i++)
+		{
+			assertTrue(events.get(i + 1).startsWith(files.get(i) + ":" + (i % 2) + ":"), "files are reported in order");
+		}
+		
+		// Bundled reporters write through the given writer
+		StringWriter out = new StringWriter();
+		opts.setJobs(1);
+		opts.setReporter(new UnixReporter(out));
+		
+		cli.run(opts);
+		assertTrue(Pattern.compile("^(file[13579]\\.js:1:\\d+: Missing semicolon\\.\n\n){5}5 errors" + System.lineSeparator() + "$")
+			.matcher(out.toString()).matches(), out.toString());
+	}
+	
+	@Test(groups = {"group"})
+	public void testGroupUnreadableFileWithStreamingReporter() throws Exception
+	{
+		CliWrapper cli = new CliWrapper();
+		
+		String dir = System.getProperty("user.dir") + "/src/test/resources/examples/";
+		cli.stubCwd(() -> dir);
+		cli.stubExists(path -> false);
+		cli.stubCat(path -> {
+			if (path.endsWith("b.js")) throw new UncheckedIOException(new IOException("Permission denied"));
+			return "x()";
+		});
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PrintStream stdout = System.out;
+		System.setOut(new PrintStream(out, true, "UTF-8"));
+		try
+		{
+			// Report isn't started, if the first file can't be read
+			cli.stubGather(opts -> Arrays.asList("b.js", "a.js"));
+			assertEquals(cli.interpret("b.js", "--reporter=checkstyle", "--jobs", "1"), 1);
+			assertEquals(out.size(), 0, out.toString("UTF-8"));
+			assertTrue(cli.getErrorMessages().contains("Can't open b.js"), cli.getErrorMessages().toString());
+			
+			// Files reported before the failure still make a complete document
+			cli.stubGather(opts -> Arrays.asList("a.js", "b.js"));
+			assertEquals(cli.interpret("a.js", "--reporter=checkstyle", "--jobs", "1"), 1);
+			String xml = out.toString("UTF-8");
+			assertTrue(xml.startsWith("<?xml"), xml);
+			assertTrue(xml.contains("<file name=\"a.js\">"), xml);
+			assertTrue(xml.trim().endsWith("</checkstyle>"), xml);
+		}
+		finally
+		{
+			System.setOut(stdout);
+		}
+	}
+	
+	@Test(groups = {"daemon"})
+	public void testDaemon() throws Exception
+	{
+		Path dir = Files.createTempDirectory("jshint-daemon");
+		Files.write(dir.resolve("a.js"), "x()\n".getBytes(StandardCharsets.UTF_8));
+		Files.write(dir.resolve("b.js"), "var b = 1;\n".getBytes(StandardCharsets.UTF_8));
+		Path infoFile = dir.resolve("info");
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		
+		try (LintDaemon daemon = new LintDaemon(infoFile))
+		{
+			Thread server = new Thread(daemon::serve);
+			server.setDaemon(true);
+			server.start();
+			
+			// relative paths are resolved against directory of the client
+			assertEquals(LintClient.run(infoFile, dir.toString(), new String[]{"--reporter=unix", "a.js"}, null, out, err), 2);
+			assertTrue(out.toString("UTF-8").startsWith("a.js:1:"), out.toString("UTF-8"));
+			assertTrue(out.toString("UTF-8").contains("Missing semicolon."));
+			
+			out.reset();
+			assertEquals(LintClient.run(infoFile, dir.toString(), new String[]{"b.js"}, null, out, err), 0);
+			assertEquals(out.size(), 0);
+			
+			out.reset();
+			assertEquals(LintClient.run(infoFile, dir.toString(), new String[]{"--reporter=unix", "-"}, "x()\n", out, err), 2);
+			assertTrue(out.toString("UTF-8").startsWith("stdin:1:"), out.toString("UTF-8"));
+			
+			out.reset();
+			assertEquals(LintClient.run(infoFile, dir.toString(), new String[]{"c.js"}, null, out, err), 0);
+			assertTrue(err.toString("UTF-8").contains("Can't open c.js"), err.toString("UTF-8"));
+			
+			// invalid requests are dropped without stopping the daemon, silent client only delays the next one
+			Properties info = new Properties();
+			info.load(new StringReader(new String(Files.readAllBytes(infoFile), StandardCharsets.ISO_8859_1)));
+			int port = Integer.parseInt(info.getProperty("port"));
+			try (Socket invalid = new Socket(InetAddress.getLoopbackAddress(), port);
+				Socket silent = new Socket(InetAddress.getLoopbackAddress(), port))
+			{
+				DataOutputStream request = new DataOutputStream(invalid.getOutputStream());
+				request.writeInt(0x4A534844); // magic
+				request.writeInt(1); // protocol version
+				request.writeInt(-5); // length of the token
+				request.flush();
+				assertEquals(invalid.getInputStream().read(), -1);
+				
+				out.reset();
+				assertEquals(LintClient.run(infoFile, dir.toString(), new String[]{"--reporter=unix", "a.js"}, null, out, err), 2);
+				assertTrue(out.toString("UTF-8").startsWith("a.js:1:"), out.toString("UTF-8"));
+				assertEquals(silent.getInputStream().read(), -1);
+			}
+			
+			// requests with wrong token are rejected
+			Path forged = dir.resolve("forged");
+			Files.write(forged, new String(Files.readAllBytes(infoFile), StandardCharsets.ISO_8859_1)
+				.replaceAll("token=\\w+", "token=forged").getBytes(StandardCharsets.ISO_8859_1));
+			assertEquals(LintClient.run(forged, dir.toString(), new String[]{"a.js"}, null, out, err), LintClient.NOT_AVAILABLE);
+		}
+		
+		assertFalse(Files.exists(infoFile), "info file is removed when daemon is closed");
+		assertEquals(LintClient.run(infoFile, dir.toString(), new String[]{"a.js"}, null, out, err), LintClient.NOT_AVAILABLE);
+	}
+	
 	@Test(groups = {"extract"})
 	public void testExtractBasic()
 	{
@@ -0,0 +1,76 @@
+package org.jshint.test.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Simple timing helpers for the benchmarks, which are run with Gradle tasks
+ * instead of JMH, since the build has no JMH setup.
+ */
+final class BenchmarkUtils
+{
+	interface Action
+	{
+		void run() throws Exception;
+	}
+	
+	private BenchmarkUtils()
+	{
+		
+	}
+	
+	/**
+	 * Runs action first without timing, so that the code is compiled, then
+	 * times every measured run.
+	 *
+	 * @return time of every measured run in nanoseconds.
+	 */
+	static List<Long> measure(int warmUps, int runs, Action action) throws Exception
+	{
+		for (int i = 0; i < warmUps; i++)
+		{
+			action.run();
+		}
+		
+		List<Long> times = new ArrayList<Long>();
+		for (int i = 0; i < runs; i++)
+		{
+			long start = System.nanoTime();
+			action.run();
+			times.add(System.nanoTime() - start);
+		}
+		return times;
+	}
+	
+	static long median(List<Long> times)
+	{
+		List<Long> sorted = new ArrayList<Long>(times);
+		Collections.sort(sorted);
+		return sorted.get(sorted.size() / 2);
+	}
+	
+	/**
+	 * @return sources of the bundled libraries, which are used as a corpus.
+	 */
+	static List<String> loadCorpus() throws IOException
+	{
+		Path dir = Paths.get(System.getProperty("user.dir"), "src/test/resources/libs");
+		try (Stream<Path> files = Files.list(dir))
+		{
+			List<String> sources = new ArrayList<String>();
+			for (Path file : files.filter(p -> p.toString().endsWith(".js")).sorted().collect(Collectors.toList()))
+			{
+				sources.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+			}
+			return sources;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package org.jshint.test.benchmark;
+
+import java.util.List;
+
+import org.jshint.JSHint;
+import org.jshint.LinterConfig;
+import org.jshint.LinterOptions;
+
+/**
+ * Measures throughput of the linter on the bundled libraries from
+ * src/test/resources/libs. Lexer and parser run together, since the public
+ * API can't run one without the other, throughput is reported in characters
+ * and lines per second.
+ *
+ * Number of measured passes over the corpus can be set with "runs" system
+ * property.
+ */
+public class CorpusBenchmark
+{
+	public static void main(String[] args) throws Exception
+	{
+		int runs = Integer.getInteger("runs", 20);
+		List<String> corpus = BenchmarkUtils.loadCorpus();
+		
+		long chars = 0;
+		long lines = 0;
+		for (String source : corpus)
+		{
+			chars += source.length();
+			lines += source.split("\n", -1).length;
+		}
+		
+		// Linter stops after maxerr warnings, which would skip the rest of a file
+		LinterConfig config = new LinterConfig(new LinterOptions().set("maxerr", Integer.MAX_VALUE));
+		JSHint jshint = new JSHint();
+		
+		List<Long> times = BenchmarkUtils.measure(runs / 2 + 1, runs, () -> {
+			for (String source : corpus)
+			{
+				jshint.lint(source, config);
+			}
+		});
+		
+		double seconds = BenchmarkUtils.median(times) / 1e9;
+		System.out.println(String.format("Linted %d files, %d lines, %d characters", corpus.size(), lines, chars));
+		System.out.println(String.format("median %8.1f ms per pass, %10.0f lines/s, %8.2f MB/s",
+			seconds * 1e3, lines / seconds, chars / seconds / 1e6));
+	}
+}
@@ -0,0 +1,125 @@
+package org.jshint.test.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jshint.LintClient;
+import org.jshint.LintDaemon;
+
+/**
+ * Compares latency of the cold CLI, which is started in a new JVM for every
+ * run, with the thin client of the warm daemon, also started in a new JVM, and
+ * with the request to the daemon without JVM startup at all.
+ *
+ * Arguments are passed to the CLI as is, by default a few test fixtures are
+ * linted. Number of runs can be set with "runs" system property.
+ */
+public class DaemonBenchmark
+{
+	private static final OutputStream DISCARD = new OutputStream()
+	{
+		@Override
+		public void write(int b) {}
+		
+		@Override
+		public void write(byte[] b, int off, int len) {}
+	};
+	
+	public static void main(String[] args) throws Exception
+	{
+		int runs = Integer.getInteger("runs", 10);
+		String cwd = System.getProperty("user.dir");
+		String[] cliArgs = args.length > 0 ? args : new String[] {
+			"src/test/resources/fixtures/asi.js",
+			"src/test/resources/fixtures/blocks.js",
+			"src/test/resources/fixtures/es6-import-export.js",
+			"src/test/resources/fixtures/gh-226.js"
+		};
+		
+		Path infoFile = Files.createTempDirectory("jshint-benchmark").resolve("daemon");
+		
+		List<Long> cold = new ArrayList<Long>();
+		for (int i = 0; i < runs; i++)
+		{
+			cold.add(spawn("org.jshint.Cli", infoFile, cliArgs));
+		}
+		
+		List<Long> client = new ArrayList<Long>();
+		List<Long> request = new ArrayList<Long>();
+		
+		try (LintDaemon daemon = new LintDaemon(infoFile))
+		{
+			Thread server = new Thread(daemon::serve);
+			server.setDaemon(true);
+			server.start();
+			daemon.warmUp();
+			
+			for (int i = 0; i < runs; i++)
+			{
+				client.add(spawn("org.jshint.LintClient", infoFile, cliArgs));
+			}
+			
+			for (int i = 0; i < runs; i++)
+			{
+				long start = System.nanoTime();
+				if (LintClient.run(infoFile, cwd, cliArgs, null, DISCARD, DISCARD) == LintClient.NOT_AVAILABLE)
+				{
+					throw new IllegalStateException("Daemon is not available");
+				}
+				request.add(System.nanoTime() - start);
+			}
+		}
+		
+		System.out.println("Linted " + Arrays.toString(cliArgs) + " " + runs + " times");
+		report("cold CLI", cold);
+		report("daemon client", client);
+		report("daemon request", request);
+	}
+	
+	// Runs class in a new JVM with the same classpath and returns wall time in nanoseconds
+	private static long spawn(String mainClass, Path infoFile, String[] args) throws IOException, InterruptedException
+	{
+		List<String> command = new ArrayList<String>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add("-Djshint.daemon.info=" + infoFile);
+		command.add(mainClass);
+		command.addAll(Arrays.asList(args));
+		
+		File nowhere = new File(System.getProperty("os.name").toLowerCase().startsWith("win") ? "NUL" : "/dev/null");
+		ProcessBuilder builder = new ProcessBuilder(command)
+			.redirectOutput(nowhere)
+			.redirectError(nowhere);
+		
+		long start = System.nanoTime();
+		builder.start().waitFor();
+		return System.nanoTime() - start;
+	}
+	
+	private static void report(String name, List<Long> times)
+	{
+		List<Long> sorted = new ArrayList<Long>(times);
+		Collections.sort(sorted);
+		
+		long total = 0;
+		for (long t : sorted)
+		{
+			total += t;
+		}
+		
+		System.out.println(String.format("%-16s median %8.1f ms, mean %8.1f ms, min %8.1f ms",
+			name,
+			sorted.get(sorted.size() / 2) / 1e6,
+			total / (double) sorted.size() / 1e6,
+			sorted.get(0) / 1e6));
+	}
+}
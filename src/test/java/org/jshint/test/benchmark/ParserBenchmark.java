@@ -0,0 +1,92 @@
+package org.jshint.test.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jshint.JSHint;
+import org.jshint.Lexer;
+import org.jshint.LinterConfig;
+import org.jshint.LinterOptions;
+import org.jshint.Reg;
+import org.jshint.State;
+
+/**
+ * Measures time, which parser takes on the bundled libraries from
+ * src/test/resources/libs.
+ *
+ * Parser pulls tokens from the lexer one by one and both of them share the
+ * linter state, so parser can't be run on the prepared tokens. Instead, every
+ * pass is timed twice: only lexing all the files with the state of the linter
+ * and full linting of the same files. Time of the parser is the median of the
+ * differences.
+ * State is private to the linter, so it's taken by reflection.
+ *
+ * Number of measured passes over the corpus can be set with "runs" system
+ * property.
+ */
+public class ParserBenchmark
+{
+	public static void main(String[] args) throws Exception
+	{
+		int runs = Integer.getInteger("runs", 20);
+		List<String[]> corpus = new ArrayList<String[]>();
+		long lines = 0;
+		for (String source : BenchmarkUtils.loadCorpus())
+		{
+			String[] split = Reg.splitByEOL(source);
+			corpus.add(split);
+			lines += split.length;
+		}
+		
+		// Linter stops after maxerr warnings, which would skip the rest of a file
+		LinterConfig config = new LinterConfig(new LinterOptions().set("maxerr", Integer.MAX_VALUE));
+		JSHint jshint = new JSHint();
+		// Options of the state are applied by the first run
+		jshint.lint("", config);
+		
+		Field field = JSHint.class.getDeclaredField("state");
+		field.setAccessible(true);
+		State state = (State) field.get(jshint);
+		
+		// Both parts are timed in every run, so that parser time is taken from the
+		// runs under the same conditions
+		List<Long> lexTimes = new ArrayList<Long>();
+		List<Long> lintTimes = new ArrayList<Long>();
+		List<Long> parseTimes = new ArrayList<Long>();
+		for (int i = -(runs / 2 + 1); i < runs; i++)
+		{
+			long start = System.nanoTime();
+			for (String[] source : corpus)
+			{
+				// Lexer can blank out shebang line, so it gets its own array
+				Lexer lexer = new Lexer(state, source.clone());
+				while (lexer.token() != null)
+				{
+					
+				}
+			}
+			long lexed = System.nanoTime();
+			for (String[] source : corpus)
+			{
+				jshint.lint(source.clone(), config);
+			}
+			long linted = System.nanoTime();
+			
+			if (i >= 0)
+			{
+				lexTimes.add(lexed - start);
+				lintTimes.add(linted - lexed);
+				parseTimes.add((linted - lexed) - (lexed - start));
+			}
+		}
+		
+		double lex = BenchmarkUtils.median(lexTimes) / 1e9;
+		double lint = BenchmarkUtils.median(lintTimes) / 1e9;
+		double parse = BenchmarkUtils.median(parseTimes) / 1e9;
+		System.out.println(String.format("Linted %d files, %d lines", corpus.size(), lines));
+		System.out.println(String.format("lexer  median %8.1f ms per pass, %10.0f lines/s", lex * 1e3, lines / lex));
+		System.out.println(String.format("lint   median %8.1f ms per pass, %10.0f lines/s", lint * 1e3, lines / lint));
+		System.out.println(String.format("parser          %8.1f ms per pass, %10.0f lines/s", parse * 1e3, lines / parse));
+	}
+}
@@ -0,0 +1,78 @@
+package org.jshint.test.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jshint.LinterConfig;
+import org.jshint.LinterOptions;
+import org.jshint.LinterPool;
+
+/**
+ * Measures throughput of the {@link LinterPool}, when sources are linted from
+ * several threads at once. Every thread count lints the same number of files
+ * from the src/test/resources/libs corpus, throughput and speedup over a
+ * single thread are reported.
+ *
+ * Number of linted files per thread count can be set with "files" system
+ * property, the largest thread count with "threads".
+ */
+public class PoolBenchmark
+{
+	public static void main(String[] args) throws Exception
+	{
+		int files = Integer.getInteger("files", 240);
+		int maxThreads = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+		List<String> corpus = BenchmarkUtils.loadCorpus();
+		
+		LinterConfig config = new LinterConfig(new LinterOptions().set("maxerr", Integer.MAX_VALUE));
+		LinterPool pool = new LinterPool();
+		
+		// 1, 2, 4... and the largest count
+		List<Integer> threadCounts = new ArrayList<Integer>();
+		for (int threads = 1; threads < maxThreads; threads *= 2)
+		{
+			threadCounts.add(threads);
+		}
+		threadCounts.add(maxThreads);
+		
+		double single = 0;
+		for (int threads : threadCounts)
+		{
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try
+			{
+				List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+				for (int i = 0; i < files; i++)
+				{
+					String source = corpus.get(i % corpus.size());
+					tasks.add(() -> {
+						pool.lint(source, config);
+						return null;
+					});
+				}
+				
+				List<Long> times = BenchmarkUtils.measure(1, 3, () -> {
+					for (Future<Void> task : executor.invokeAll(tasks))
+					{
+						task.get();
+					}
+				});
+				
+				double perSecond = files / (BenchmarkUtils.median(times) / 1e9);
+				if (threads == 1)
+				{
+					single = perSecond;
+				}
+				System.out.println(String.format("%3d threads: %8.1f files/s, speedup %5.2f", threads, perSecond, perSecond / single));
+			}
+			finally
+			{
+				executor.shutdownNow();
+			}
+		}
+	}
+}
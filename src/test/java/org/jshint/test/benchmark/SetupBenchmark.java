@@ -0,0 +1,43 @@
+package org.jshint.test.benchmark;
+
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jshint.JSHint;
+
+/**
+ * Measures fixed cost of a single lint() call: empty source and a small
+ * snippet are linted with a reused linter and with a new linter per call,
+ * which has to build the syntax table first.
+ *
+ * Number of measured calls can be set with "runs" system property.
+ */
+public class SetupBenchmark
+{
+	// About 2 KB of ordinary code
+	private static final String SNIPPET = StringUtils.repeat(
+		"function add(list, value) {\n" +
+		"  var result = [];\n" +
+		"  for (var i = 0; i < list.length; i++) {\n" +
+		"    result.push(list[i] + value);\n" +
+		"  }\n" +
+		"  return result;\n" +
+		"}\n", 12);
+	
+	public static void main(String[] args) throws Exception
+	{
+		int runs = Integer.getInteger("runs", 2000);
+		int warmUps = runs;
+		JSHint reused = new JSHint();
+		
+		report("empty, reused linter", BenchmarkUtils.measure(warmUps, runs, () -> reused.lint("")));
+		report("empty, new linter", BenchmarkUtils.measure(warmUps, runs, () -> new JSHint().lint("")));
+		report("2 KB, reused linter", BenchmarkUtils.measure(warmUps, runs, () -> reused.lint(SNIPPET)));
+		report("2 KB, new linter", BenchmarkUtils.measure(warmUps, runs, () -> new JSHint().lint(SNIPPET)));
+	}
+	
+	private static void report(String name, List<Long> times)
+	{
+		System.out.println(String.format("%-22s median %8.1f us per call", name, BenchmarkUtils.median(times) / 1e3));
+	}
+}
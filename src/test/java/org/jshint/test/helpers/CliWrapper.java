@@ -83,6 +83,34 @@ public class CliWrapper extends Cli
 			{
 				return isDirectoryStub == null ? super.isDirectory(path) : isDirectoryStub.test(path);
 			}
+			
+			@Override
+			public void walk(String root, IOUtils.TreeVisitor visitor)
+			{
+				if (lsStub == null && isDirectoryStub == null)
+				{
+					super.walk(root, visitor);
+					return;
+				}
+				
+				// stubbed tree is walked with stubbed methods
+				for (String item : ls(root))
+				{
+					String itempath = path.join(root, item);
+					if (isDirectory(itempath))
+					{
+						if (visitor.visitDirectory(itempath)) walk(itempath, visitor);
+					}
+					else if (exists(itempath))
+					{
+						visitor.visitFile(itempath);
+					}
+					else
+					{
+						visitor.visitFailed(itempath);
+					}
+				}
+			}
 		};
 		
 		IOUtils.CliUtils cli = new IOUtils.CliUtils()
@@ -1,20 +1,33 @@
 package org.jshint.test.unit;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jshint.JSHint;
 import org.jshint.JSHintException;
 import org.jshint.LinterGlobals;
 import org.jshint.LinterOptions;
+import org.jshint.LintBuffer;
+import org.jshint.LinterCache;
+import org.jshint.LinterConfig;
+import org.jshint.LinterPool;
+import org.jshint.LinterResult;
 import org.jshint.DataSummary;
 import org.jshint.ImpliedGlobal;
 import org.jshint.LinterWarning;
+import org.jshint.Token;
 import org.jshint.test.helpers.TestHelper;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
@@ -1620,6 +1633,264 @@ public class TestCore extends Assert
 		assertTrue(options.getPredefineds().size() == 1);
 	}
 	
+	@Test
+	public void testReusedInstance()
+	{
+		JSHint jshint = new JSHint();
+		
+		String code = "var not_camel_case = 1;";
+		LinterOptions options = new LinterOptions().set("camelcase", true);
+		
+		assertFalse(jshint.lint(code, options));
+		List<LinterWarning> first = jshint.getErrors();
+		
+		// Subsequent runs on the same instance shouldn't pick up anything left from
+		// previous ones, e.g. style checks shouldn't be registered twice.
+		assertFalse(jshint.lint(code, options));
+		List<LinterWarning> second = jshint.getErrors();
+		
+		assertEquals(first.size(), 1);
+		assertEquals(second, first);
+	}
+	
+	@Test
+	public void testTokenChangesDontAffectSyntaxTable()
+	{
+		JSHint jshint = new JSHint();
+		
+		// Bracket of computed property name is reclassified as delimiter,
+		// it shouldn't change other brackets, which are lexed later.
+		String code = "var a = 'b', o = { [a]: 1 }; var c = o[a] + o [a];";
+		LinterOptions options = new LinterOptions().set("esversion", 6);
+		
+		assertTrue(jshint.lint(code, options));
+		assertTrue(jshint.lint(code, options));
+	}
+	
+	@Test
+	public void testLinterPool() throws Exception
+	{
+		LinterPool pool = new LinterPool(JSHint::new, 2);
+		LinterOptions options = new LinterOptions().set("camelcase", true).set("undef", true);
+		
+		String[] sources = {
+			"var not_camel_case = 1;",
+			"var a = b;",
+			"function f() { return x_y; }",
+			"var c = 1;"
+		};
+		
+		List<List<LinterWarning>> expected = new ArrayList<List<LinterWarning>>();
+		for (String source : sources)
+		{
+			JSHint jshint = new JSHint();
+			jshint.lint(source, options);
+			expected.add(jshint.getErrors());
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			List<Future<LinterResult>> results = new ArrayList<Future<LinterResult>>();
+			for (int i = 0; i < 200; i++)
+			{
+				String source = sources[i % sources.length];
+				results.add(executor.submit(() -> pool.lint(source, options)));
+			}
+			
+			for (int i = 0; i < results.size(); i++)
+			{
+				LinterResult result = results.get(i).get();
+				assertEquals(result.getErrors(), expected.get(i % sources.length));
+				assertEquals(result.isSuccess(), result.getErrors().isEmpty());
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testLinterCache() throws Exception
+	{
+		LinterCache cache = LinterCache.withMaximumSize(new LinterPool(), 10);
+		LinterConfig config = new LinterConfig(new LinterOptions().set("undef", true));
+		
+		LinterResult first = cache.lint("var a = b;", config);
+		LinterResult second = cache.lint("var a = b;", new LinterConfig(new LinterOptions().set("undef", true)));
+		assertSame(second, first, "equal configuration gets cached result");
+		assertEquals(first.getErrors().size(), 1);
+		assertEquals(cache.getHitCount(), 1);
+		assertEquals(cache.getMissCount(), 1);
+		
+		LinterResult other = cache.lint("var a = b;", new LinterConfig(new LinterOptions().set("undef", false)));
+		assertNotSame(other, first, "different configuration is linted again");
+		assertTrue(other.isSuccess());
+		assertEquals(cache.getMissCount(), 2);
+		
+		LinterConfig unused = new LinterConfig(new LinterOptions().set("unused", true));
+		LinterResult result = cache.lint("var c;", unused);
+		result.getData().getOptions().set("unused", false);
+		result.getData().getUnused().get(0).setName("d");
+		assertEquals(cache.lint("var c;", unused).getData().getOptions().asBoolean("unused"), true, "options are copied");
+		assertEquals(cache.lint("var c;", unused).getData().getUnused().get(0).getName(), "c", "unused variables are copied");
+		assertEquals(result.getData().getUnused().get(0).getLine(), 1);
+		assertEquals(result.getData().getUnused().get(0).getCharacter(), 5);
+		
+		cache = LinterCache.withMaximumWeight(new LinterPool(), 15);
+		cache.lint("var a = 1;", config);
+		cache.lint("var b = 2;", config);
+		assertEquals(cache.getEvictionCount(), 0, "clean results are light");
+		cache.clear();
+		cache.lint("var a = b;", config);
+		cache.lint("var b = c;", config);
+		assertEquals(cache.getEvictionCount(), 1, "results are weighed by their warnings");
+		assertEquals(cache.size(), 1);
+	}
+	
+	@Test
+	public void testLintAll() throws Exception
+	{
+		LinterOptions options = new LinterOptions()
+			.set("undef", true)
+			.set("unused", true)
+			.set("-W117", true)
+			.setPredefineds("-Array", "foo")
+			.addIgnoreDelimiter("<%", "%>");
+		LinterGlobals globals = new LinterGlobals(true, "bar");
+		
+		List<String> sources = Arrays.asList(
+			"var a = foo + bar;",
+			"var b = <% template %>;",
+			"var c = new Array(1);",
+			"function f(x) { return y; }",
+			"var d = 1;"
+		);
+		
+		JSHint jshint = new JSHint();
+		List<LinterResult> results = jshint.lintAll(sources, options, globals);
+		
+		assertEquals(results.size(), sources.size());
+		for (int i = 0; i < sources.size(); i++)
+		{
+			JSHint single = new JSHint();
+			boolean success = single.lint(sources.get(i), options, globals);
+			
+			assertEquals(results.get(i).isSuccess(), success);
+			assertEquals(results.get(i).getErrors(), single.getErrors());
+			assertEquals(results.get(i).getData().getImplieds(), single.generateSummary().getImplieds());
+		}
+		
+		// Options can be changed after configuration is prepared
+		LinterOptions undef = new LinterOptions().set("undef", true);
+		LinterConfig config = new LinterConfig(undef);
+		undef.set("undef", false);
+		assertEquals(new LinterPool().lint("var e = baz;", config).isSuccess(), false);
+	}
+	
+	@Test
+	public void testLintBuffer() throws Exception
+	{
+		LinterOptions options = new LinterOptions().set("undef", true).set("unused", true).set("maxlen", 60);
+		String[] replacements = {"", " ", "\n", "\r\n", "var a_b = c;", "}", "{\n", "(", "\"", "/*", "*/", "function f(x) {\n  return y;\n}\n"};
+		
+		LintBuffer buffer = new LintBuffer(th.readFile("src/test/resources/fixtures/unused.js"), new LinterConfig(options));
+		assertLintBufferEdits(buffer, options, replacements, 42);
+		
+		buffer.edit(1, 1, buffer.getLineCount(), buffer.getText().length() - buffer.getText().lastIndexOf('\n'), "var x;\r\ny = x;");
+		assertEquals(buffer.getText(), "var x;\ny = x;");
+		assertEquals(buffer.lint().getErrors().size(), 1);
+		assertTrue(buffer.lint() == buffer.lint(), "Result is reused until the next edit");
+	}
+	
+	@Test
+	public void testLintBufferTemplates() throws Exception
+	{
+		// Lines, which are lexed again after the edit, can be inside of template
+		// literals or scanned with the options changed by the inline directives
+		LinterOptions options = new LinterOptions().set("undef", true).set("esversion", 6);
+		String[] replacements = {"", "\n", "`", "${", "}", "`\n${x}\n`", "/*", "*/", "\u00a0",
+			"/* jshint esversion: 5 */", "/* jshint esversion: 9, nonbsp: true */", "// jshint ignore:line"};
+			
+		LintBuffer buffer = new LintBuffer(th.readFile("src/test/resources/fixtures/es6-template-literal.js"), new LinterConfig(options));
+		assertLintBufferEdits(buffer, options, replacements, 7);
+	}
+	
+	@Test
+	public void testLintBufferIgnoreDelimiters() throws Exception
+	{
+		LinterOptions options = new LinterOptions()
+			.addIgnoreDelimiter("<%=", "%>")
+			.addIgnoreDelimiter("<%", "%>")
+			.addIgnoreDelimiter("<?php", "?>");
+		String[] replacements = {"", "\n", "<%", "%>", "<?php", "?>", "'", "/*", "*/"};
+		
+		LintBuffer buffer = new LintBuffer(th.readFile("src/test/resources/fixtures/ignoreDelimiters.js"), new LinterConfig(options));
+		assertLintBufferEdits(buffer, options, replacements, 3);
+	}
+	
+	// Applies random edits to the buffer and compares its results with the linting of the whole text
+	private void assertLintBufferEdits(LintBuffer buffer, LinterOptions options, String[] replacements, long seed)
+	{
+		Random random = new Random(seed);
+		
+		for (int i = 0; i < 200; i++)
+		{
+			int startLine = 1 + random.nextInt(buffer.getLineCount());
+			int endLine = Math.min(buffer.getLineCount(), startLine + random.nextInt(3));
+			String[] lines = buffer.getText().split("\n", -1);
+			int startCharacter = 1 + random.nextInt(lines[startLine - 1].length() + 1);
+			int endCharacter = 1 + random.nextInt(lines[endLine - 1].length() + 1);
+			if (startLine == endLine && endCharacter < startCharacter)
+			{
+				int tmp = startCharacter;
+				startCharacter = endCharacter;
+				endCharacter = tmp;
+			}
+			
+			buffer.edit(startLine, startCharacter, endLine, endCharacter, replacements[random.nextInt(replacements.length)]);
+			
+			JSHint jshint = new JSHint();
+			boolean success = jshint.lint(buffer.getText(), options);
+			LinterResult result = buffer.lint();
+			
+			assertEquals(result.isSuccess(), success, "Edit " + i);
+			assertEquals(result.getErrors(), jshint.getErrors(), "Edit " + i);
+			assertEquals(result.getData().getImplieds(), jshint.generateSummary().getImplieds(), "Edit " + i);
+		}
+	}
+	
+	@Test
+	public void testTokenFootprint()
+	{
+		// Estimate of the instance size reported by JOL for 64-bit JVM with
+		// compressed references: 12 bytes of header, 4 bytes per reference,
+		// fields of primitive types take their own size, instance is aligned to 8 bytes.
+		// Parser keeps most of the tokens until linting is finished, so their
+		// size should grow only deliberately.
+		int size = 12;
+		for (Field field : Token.class.getDeclaredFields())
+		{
+			if (Modifier.isStatic(field.getModifiers())) continue;
+			
+			Class<?> type = field.getType();
+			if (type == long.class || type == double.class)
+				size += 8;
+			else if (type == int.class || type == float.class)
+				size += 4;
+			else if (type == short.class || type == char.class)
+				size += 2;
+			else if (type == byte.class || type == boolean.class)
+				size += 1;
+			else
+				size += 4;
+		}
+		size = (size + 7) / 8 * 8;
+		
+		assertTrue(size <= 80, "Token instance size is " + size + " bytes");
+	}
+	
 	@Test
 	public void testMagicProtoVariable()
 	{
@@ -1637,7 +1908,7 @@ public class TestCore extends Assert
 				"	 var bar = 3;\n" +
 				"  }\n"+
 				"}";
-		
+				
 		th.addError(1, 9, "Expected '===' and instead saw '=='.");
 		th.addError(3, 11, "Expected '!==' and instead saw '!='.");
 		th.test(src, new LinterOptions().set("eqeqeq", true));
@@ -2194,13 +2465,13 @@ public class TestCore extends Assert
 			"for (const b in b);",
 			"for (let c   of c);",
 			"for (const d of d);",
-
+			
 			// line 5
 			"for (let e   in { e });",
 			"for (const f in { f });",
 			"for (let g   of { g });",
 			"for (const h of { h });",
-
+			
 			// line 9
 			"for (let i   in { method() { return i; } });",
 			"for (const j in { method() { return j; } });",
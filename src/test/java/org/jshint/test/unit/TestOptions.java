@@ -468,6 +468,19 @@ public class TestOptions extends Assert
 	    th.addError(6, 25, "Identifier 'test_me' is not in camel case.");
 	    th.addError(13, 26, "Identifier 'test_1' is not in camel case.");
 		th.test(source, new LinterOptions().set("es3", true).set("camelcase", true));
+		
+		// Inline option is applied only to the function, where it was set
+		String[] code = {
+			"function a() {",
+			"  /*jshint camelcase:true */",
+			"  var inner_name;",
+			"}",
+			"var outer_name;"
+		};
+		
+		th.newTest();
+		th.addError(3, 17, "Identifier 'inner_name' is not in camel case.");
+		th.test(code);
 	}
 	
 	/**
@@ -2592,6 +2605,19 @@ public class TestOptions extends Assert
 	    th.addError(4, 9, "'foo' is not defined.");
 	    th.addError(5, 9, "'btoa' is not defined.");
 		th.test(code, new LinterOptions().set("es3", true).set("undef", true));
+		
+		// inline directives override and hide variables of the environments
+		String[] overrides = {
+			"/*global -require, Array: true */",
+			"Array = 1;",
+			"Object = 1;",
+			"require('fs');"
+		};
+		
+		th.newTest();
+		th.addError(3, 1, "Read only.");
+		th.addError(4, 1, "'require' is not defined.");
+		th.test(overrides, new LinterOptions().set("undef", true).set("node", true));
 	};
 	
 	/**
@@ -516,6 +516,20 @@ public class TestParser extends Assert
 		th.test(src);
 		th.test(th.readFile("src/test/resources/fixtures/gruntComment.js"));
 		
+		// Comment right after the end of unbegun comment is lexed as a comment,
+		// not as a regular expression or a division
+		th.newTest();
+		th.addError(1, 12, "Unbegun comment.");
+		th.test("var a = 1; *//* comment */");
+		
+		th.newTest();
+		th.addError(1, 11, "Unbegun comment.");
+		th.addError(1, 10, "Missing semicolon.");
+		th.test(new String[] {
+			"var a = 1 *///comment",
+			"var b = 2;"
+		});
+		
 		th.newTest();
 		th.addError(1, 2, "Unmatched '{'.");
 	    th.addError(1, 2, "Unrecoverable syntax error. (100% scanned).");
@@ -659,9 +673,8 @@ public class TestParser extends Assert
 			"a = /\\u{110000}/u;"
 		}, new LinterOptions().set("esnext", true));
 		
-		//PORT INFO: this test is not possible to implement at the moment due to different RegExp engine 
-		//th.newTest("Guard against regression from escape sequence substitution");
-		//th.test("void /\\u{3f}/u;", new LinterOptions().set("esversion", 6));
+		th.newTest("Guard against regression from escape sequence substitution");
+		th.test("void /\\u{3f}/u;", new LinterOptions().set("esversion", 6));
 		
 		// Hexidecimal in range patterns
 		th.newTest();
@@ -710,14 +723,12 @@ public class TestParser extends Assert
 		th.newTest("Invalid character escape (permitted without flag)");
 		th.test("void /\\m/;", new LinterOptions().set("esversion", 6));
 		
-		//PORT INFO: this test is not possible to implement at the moment due to different RegExp engine
-		//th.newTest("Invalid quantifed group");
-		//th.addError(1, 6, "Invalid regular expression.");
-		//th.test("void /(?=.)?/u;", new LinterOptions().set("esversion", 6));
+		th.newTest("Invalid quantifed group");
+		th.addError(1, 6, "Invalid regular expression.");
+		th.test("void /(?=.)?/u;", new LinterOptions().set("esversion", 6));
 		
-		//PORT INFO: this test is not possible to implement at the moment due to different RegExp engine
-		//th.newTest("Invalid quantifed group (permitted without flag)");
-		//th.test("void /(?=.)?/;", new LinterOptions().set("esversion", 6));
+		th.newTest("Invalid quantifed group (permitted without flag)");
+		th.test("void /(?=.)?/;", new LinterOptions().set("esversion", 6));
 		
 		th.newTest("Invalid quantifier - unclosed");
 		th.addError(1, 6, "Invalid regular expression.");
@@ -747,14 +758,12 @@ public class TestParser extends Assert
 		th.addError(1, 6, "Invalid regular expression.");
 		th.test("void /[\\s-1]/u;", new LinterOptions().set("esversion", 6));
 		
-		//PORT INFO: this test is not possible to implement at the moment due to different RegExp engine
-		//th.newTest("Character class in upper bound of range (permitted without flag)");
-		//th.test("void /[1-\\W]/;", new LinterOptions().set("esversion", 6));
+		th.newTest("Character class in upper bound of range (permitted without flag)");
+		th.test("void /[1-\\W]/;", new LinterOptions().set("esversion", 6));
 		
-		//PORT INFO: this test is not possible to implement at the moment due to different RegExp engine
-		//th.newTest("Character class in upper bound of range");
-		//th.addError(1, 6, "Invalid regular expression.");
-		//th.test("void /[1-\\W]/u;", new LinterOptions().set("esversion", 6));
+		th.newTest("Character class in upper bound of range");
+		th.addError(1, 6, "Invalid regular expression.");
+		th.test("void /[1-\\W]/u;", new LinterOptions().set("esversion", 6));
 		
 		th.newTest();
 		th.test("void /[\\s0-1\\s2-3\\s]/u;", new LinterOptions().set("esversion", 6));
@@ -858,6 +867,108 @@ public class TestParser extends Assert
 		th.test("var exp = /\\[\\]/;", new LinterOptions().set("moz", true));
 	}
 	
+	@Test(groups = {"regexp"})
+	public void testRegexpValidator()
+	{
+		String[] invalid = {
+			// Unterminated groups and classes
+			"(",
+			"(a|b",
+			"(?:a",
+			"(?<a>x",
+			"a)",
+			"[a",
+			"[a\\]",
+			
+			// Nothing to repeat
+			"a|*",
+			"(*)",
+			"+",
+			"?",
+			"{1}",
+			"a**",
+			"a{1}{2}",
+			"^*",
+			"$+",
+			"\\b*",
+			"\\B{2}",
+			"(?<=a)*",
+			"(?<!a)+",
+			
+			// Quantifier bounds and class ranges out of order
+			"a{3,1}",
+			"[z-a]",
+			"[\\x62-\\x61]",
+			
+			// Named groups and references
+			"\\k<b>(?<a>x)",
+			"(?<a>x)\\k",
+			"(?<a>x)\\k<a",
+			"(?<a>x)[\\k]",
+			"(?<a>x)(?<a>y)",
+			"(?<1a>x)",
+			"(?<>x)",
+			"(?<a-b>x)",
+			"(?(a)b)"
+		};
+		
+		String[] valid = {
+			// Quantifiers
+			"a{1,3}",
+			"a{3}",
+			"a{3,}",
+			"a{1,1}",
+			"a{01,1}",
+			"(?=a)*",
+			"(?!a){2}",
+			
+			// Class ranges
+			"[a-z]",
+			"[\\d-a]",
+			"[a-\\d]",
+			
+			// Named groups and references
+			"(?<a>x)\\k<a>",
+			"\\k<a>(?<a>x)",
+			"(?<$_a1>x)",
+			"\\k<a>",
+			"\\k",
+			"[\\k]",
+			
+			// Annex B literals
+			"{",
+			"}",
+			"a{",
+			"a}",
+			"x{1",
+			"x{1,",
+			"{a}",
+			"a{,5}",
+			"\\c",
+			"\\c1",
+			"\\cA",
+			"[\\c]",
+			"[\\c_]",
+			"[\\c1]",
+			"\\1",
+			"(a)\\2",
+			"\\8"
+		};
+		
+		for (String pattern : invalid)
+		{
+			th.newTest("/" + pattern + "/");
+			th.addError(1, 6, "Invalid regular expression.");
+			th.test("void /" + pattern + "/;", new LinterOptions().set("esversion", 9));
+		}
+		
+		for (String pattern : valid)
+		{
+			th.newTest("/" + pattern + "/");
+			th.test("void /" + pattern + "/;", new LinterOptions().set("esversion", 9));
+		}
+	}
+	
 	@Test
 	public void testRegexpSticky()
 	{
@@ -9485,4 +9596,19 @@ public class TestParser extends Assert
 			"}"	
 		}, new LinterOptions().set("esversion", 9));
 	}
+	
+	@Test
+	public void testLongLine()
+	{
+		// Minified bundles usually consist of the one very long line, so positions of
+		// the tokens near the end of such line should be still reported correctly.
+		StringBuilder prefix = new StringBuilder();
+		for (int i = 0; i < 20000; i++)
+		{
+			prefix.append("a = 'x' /* c */ + " + i + "; ");
+		}
+		
+		th.addError(1, prefix.length() + 9, "Expected '===' and instead saw '=='.");
+		th.test(prefix + "if (a == 1) {}", new LinterOptions().set("eqeqeq", true));
+	}
 }
\ No newline at end of file